@@ -22,15 +22,20 @@
 
 package com.api.json;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Serializable;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
-import java.util.regex.Matcher;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 public class JSON implements Serializable {
 
@@ -42,20 +47,33 @@ public class JSON implements Serializable {
 
    // used to escape solidus (/) as (\/)
    protected static boolean ESCAPE_SOLIDUS = false; // was true in v2.0.1
+   // used to escape characters beyond ASCII as \\u sequences
+   protected static boolean ESCAPE_UNICODE = true;
+   // used to escape the line and paragraph separators when ESCAPE_UNICODE is
+   // not set
+   protected static boolean ESCAPE_LINE_SEPARATORS = true;
 
    // private static final char BSH = '\\';
-   private static final char BSP = '\b';
 
    private static final char CLN = ':';
    private static final char CMA = ',';
    // private static final char CRT = '\r';
    private static final char DQTE = '"';
-   private static final char FFD = '\f';
+   // states of the containers read by doContainer
+   private static final int ARRAY_VALUE = 0;
+   private static final int ARRAY_DELIMITER = 1;
+   private static final int OBJECT_KEY = 2;
+   private static final int OBJECT_COLON = 3;
+   private static final int OBJECT_VALUE = 4;
+   private static final int OBJECT_DELIMITER = 5;
+   private static final int CLOSED = 6;
    public static int INCR = BLANKS.length();
    private static final char LBKT = '[';
    private static final char LBRC = '{';
    public static int LN_CNTR = 0;
    public static int LN_OFFSET = 1;
+   // shared parser used by the static parse methods
+   static final JSONParser PARSER = new JSONParser();
    // private static final char NLN = '\n';
    private static final char RBKT = ']';
    private static final char RBRC = '}';
@@ -76,179 +94,297 @@ public class JSON implements Serializable {
       if (obj == null) {
          return null;
       }
-      String str = obj.toString();
-      /**
-       * The following statements are required to output content with
-       * appropriate escape sequences for special characters so the
-       * corresponding JSON remains valid.
-       */
-      str = str.replace("\\", "\\\\");
-      if (ESCAPE_SOLIDUS) {
-         str = str.replace("/", "\\/"); // turn solidus / into escaped \/
-      }
-      str = str.replaceAll("\"", Matcher.quoteReplacement("\\\""));
-      str = str.replace("\n", "\\n");
-      str = str.replace("\r", "\\r");
-      str = str.replace("\t", "\\t");
-      str = expandUnicode(str);
-      return str;
+      return JSONEscaper.escape(obj.toString());
    }
 
    /**
-    * Process stream to parse a {@link JSONArray} object
+    * Reads the remainder of the array whose opening bracket was just read.
     * 
     * @param jtok
     *           Input stream to be parsed.
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
+    * @param depth
+    *           number of objects and arrays open, including this array
     * @return {@link JSONArray} parsed from the input stream.
     * @throws IOException
     *            If a parsing error occurs.
     */
-   private static Object doArray(JSONStreamTokenizer jtok, Integer[] location)
+   static Object doArray(JSONStreamTokenizer jtok, int depth)
       throws IOException {
-      JSONArray array = new JSONArray();
-      boolean keepGoing = true;
-      while (keepGoing) {
-         int tokType = getNextToken(jtok, location);
-         switch (tokType) {
-            case JSONStreamTokenizer.TT_EOF: {
-               throw new IOException("Unterminated object on line "
-                  + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
-            }
-            case JSONStreamTokenizer.TT_CR:
-            case JSONStreamTokenizer.TT_EOL: {
-               location[LN_CNTR] = location[LN_CNTR] + 1;
-               location[LN_OFFSET] = 0;
-               break;
-            }
-            case RBKT: {
-               // reached end of array
-               keepGoing = false;
-               break;
-            }
-            default: {
-               // check for comma delimiter
-               doPushBack(jtok, location);
-               Object nextObj = recurseParser(jtok, location);
-               array.add(nextObj);
-               tokType = getNextToken(jtok, location);
-               if (tokType == JSONStreamTokenizer.TT_EOF) {
-                  break;
-               } else if (tokType == JSONStreamTokenizer.TT_EOL || tokType == JSONStreamTokenizer.TT_CR) {
-                  location[LN_CNTR] = location[LN_CNTR] + 1;
-                  location[LN_OFFSET] = 0;
-                  break;
-               } else if (tokType == RBRC) {
-                  keepGoing = false;
-                  break;
-               } else if (tokType == RBKT) {
-                  doPushBack(jtok, location);
-               } else if (tokType != CMA) {
-                  throw new IOException("Array missing comma delimiter in line "
-                     + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
-               }
-            }
-         }
-      }
-      return array;
+      return doContainer(jtok, LBKT, new JSONArray(), depth);
    }
 
    /**
-    * Parses a {@link JSONObject} from the supplied input stream.
+    * Reads the remainder of the object or array just opened, along with all
+    * of the objects and arrays nested within it. Rather than recursing for
+    * each nested object or array, the containers being read are kept on an
+    * explicit stack along with the state of each, so the Java stack used does
+    * not grow with the nesting of the input. The depth of nesting is limited
+    * by the tokenizer's {@link JSONStreamTokenizer#_maxDepth}. When the root
+    * is null, the content is only validated: no containers are built and the
+    * tokenizer (set {@link JSONStreamTokenizer#_validating}) skips the values.
     * 
     * @param jtok
     *           Input stream to be parsed.
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
-    * @return {@link JSONObject} parsed from the input stream.
+    * @param open
+    *           the bracket or brace just read
+    * @param root
+    *           the empty {@link JSONObject} or {@link JSONArray} just opened,
+    *           or null to validate the content without building it
+    * @param depth
+    *           number of objects and arrays open, including the root
+    * @return the root, filled with the content read
     * @throws IOException
     *            If a parsing error occurs.
     */
-   private static Object doObject(JSONStreamTokenizer jtok, Integer[] location)
-      throws IOException {
-      JSONObject jobj = new JSONObject();
-      boolean keepGoing = true;
-      while (keepGoing) {
-         int tokType = getNextToken(jtok, location);
-         switch (tokType) {
-            case JSONStreamTokenizer.TT_EOF: {
-               throw new IOException("Underminated object on line "
-                  + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
+   private static Object doContainer(JSONStreamTokenizer jtok, int open,
+      JSONArtifact root, int depth) throws IOException {
+      boolean build = (root != null);
+      // enclosing containers, with the state and key awaiting their value
+      JSONArtifact[] parents = new JSONArtifact[16];
+      int[] parentStates = new int[16];
+      String[] parentKeys = new String[16];
+      int top = 0;
+      JSONArtifact container = root;
+      int state = (open == LBRC ? OBJECT_KEY : ARRAY_VALUE);
+      String key = null;
+      // true while a line end has stood in for a comma, which may still follow
+      boolean lineDelimited = false;
+      while (true) {
+         // the next quoted string is a key
+         jtok._keyExpected = (state == OBJECT_KEY);
+         int tokType = getNextToken(jtok);
+         jtok._keyExpected = false;
+         if (lineDelimited) {
+            if (tokType == CMA) {
+               lineDelimited = false;
+               continue;
             }
-            case JSONStreamTokenizer.TT_CR:
-            case JSONStreamTokenizer.TT_EOL: {
-               location[LN_CNTR] = location[LN_CNTR] + 1;
-               location[LN_OFFSET] = 0;
+            lineDelimited = (tokType == JSONStreamTokenizer.TT_EOL
+               || tokType == JSONStreamTokenizer.TT_CR);
+         }
+         int opened = 0;
+         Object value = null;
+         switch (state) {
+            case ARRAY_VALUE: {
+               switch (tokType) {
+                  case JSONStreamTokenizer.TT_EOF: {
+                     throw new IOException("Unterminated object on line "
+                        + jtok.getLineNumber() + ", column "
+                        + jtok.getColumnNumber());
+                  }
+                  case JSONStreamTokenizer.TT_CR:
+                  case JSONStreamTokenizer.TT_EOL: {
+                     jtok.newLine();
+                     continue;
+                  }
+                  case RBKT: {
+                     // reached end of array
+                     state = CLOSED;
+                     break;
+                  }
+                  default: {
+                     opened = startValue(jtok, tokType);
+                     if (opened == 0) {
+                        if (build) {
+                           ((JSONArray) container).add(doValue(jtok));
+                        }
+                        state = ARRAY_DELIMITER;
+                     }
+                     break;
+                  }
+               }
                break;
             }
-            case RBRC: {
-               // done with this object
-               keepGoing = false;
+            case ARRAY_DELIMITER: {
+               if (tokType == JSONStreamTokenizer.TT_EOL
+                  || tokType == JSONStreamTokenizer.TT_CR) {
+                  jtok.newLine();
+                  state = ARRAY_VALUE;
+                  lineDelimited = true;
+               } else if (tokType == RBRC || tokType == RBKT) {
+                  state = CLOSED;
+               } else if (tokType == CMA
+                  || tokType == JSONStreamTokenizer.TT_EOF) {
+                  // the end of the input is reported as an unterminated array
+                  state = ARRAY_VALUE;
+               } else {
+                  throw new IOException("Array missing comma delimiter in line "
+                     + jtok.getLineNumber() + ", column "
+                     + jtok.getColumnNumber());
+               }
                break;
             }
-            default: {
-            	doPushBack(jtok, location);
-               Object key = recurseParser(jtok, location);
-               if (key == null) {
-                  throw new IOException("Expecting string key on line "
-                     + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
-               }
-               if (jtok.ttype == JSONStreamTokenizer.TT_EOF) {
-                  break;
-               }
-               if ((key instanceof String) || //
-                  (key instanceof Number) || //
-                  (key instanceof Boolean)) {
-                  tokType = getNextToken(jtok, location);
-                  if (tokType != CLN) {
-                     throw new IOException("Expected ':'; found: " + tokType
-                        + " on line " + location[LN_CNTR] + ", column "
-                        + location[LN_OFFSET]);
+            case OBJECT_KEY: {
+               switch (tokType) {
+                  case JSONStreamTokenizer.TT_EOF: {
+                     throw new IOException("Underminated object on line "
+                        + jtok.getLineNumber() + ", column "
+                        + jtok.getColumnNumber());
+                  }
+                  case JSONStreamTokenizer.TT_CR:
+                  case JSONStreamTokenizer.TT_EOL: {
+                     jtok.newLine();
+                     continue;
                   }
-                  // get the corresponding value
-                  Object value = recurseParser(jtok, location);
-                  jobj.put(key.toString(), value);
-                  tokType = getNextToken(jtok, location);
-                  if (tokType == JSONStreamTokenizer.TT_EOF) {
+                  case RBRC: {
+                     // done with this object
+                     state = CLOSED;
                      break;
-                  } else if (tokType == JSONStreamTokenizer.TT_EOL || tokType == JSONStreamTokenizer.TT_CR) {
-                     location[LN_CNTR] = location[LN_CNTR] + 1;
-                     location[LN_OFFSET] = 0;
+                  }
+                  default: {
+                     // an object or array is read, then rejected as a key
+                     opened = startValue(jtok, tokType);
+                     if (opened == 0) {
+                        boolean isKey;
+                        if (build) {
+                           Object name = doValue(jtok);
+                           isKey = (name instanceof String
+                              || name instanceof Number
+                              || name instanceof Boolean);
+                           key = (isKey ? name.toString() : null);
+                        } else {
+                           // any value skipped other than null is a key
+                           isKey = (tokType != JSONStreamTokenizer.TT_WORD
+                              || !jtok._nullWord);
+                        }
+                        if (!isKey) {
+                           throw new IOException("Expecting string key on line "
+                              + jtok.getLineNumber() + ", column "
+                              + jtok.getColumnNumber());
+                        }
+                        state = OBJECT_COLON;
+                     }
                      break;
-                  } else if (tokType == RBRC) {
-                     doPushBack(jtok, location);
-                  } else if (tokType != CMA) {
-                     throw new IOException(
-                        "Missing comma delimiter or an unquoted string value on line " + location[LN_CNTR]
-                           + ", near column " + location[LN_OFFSET]);
                   }
+               }
+               break;
+            }
+            case OBJECT_COLON: {
+               if (tokType == JSONStreamTokenizer.TT_EOL
+                  || tokType == JSONStreamTokenizer.TT_CR) {
+                  jtok.newLine();
+                  continue;
+               }
+               if (tokType != CLN) {
+                  throw new IOException("Expected ':'; found: " + tokType
+                     + " on line " + jtok.getLineNumber() + ", column "
+                     + jtok.getColumnNumber());
+               }
+               state = OBJECT_VALUE;
+               break;
+            }
+            case OBJECT_VALUE: {
+               if (tokType == JSONStreamTokenizer.TT_EOL
+                  || tokType == JSONStreamTokenizer.TT_CR) {
+                  jtok.newLine();
+                  continue;
+               }
+               if (tokType != JSONStreamTokenizer.TT_EOF) {
+                  opened = startValue(jtok, tokType);
+                  if (opened == 0 && build) {
+                     value = doValue(jtok);
+                  }
+               }
+               if (opened == 0) {
+                  // a value missing at the end of the input is null, and the
+                  // object is then reported as unterminated
+                  if (build) {
+                     ((JSONObject) container).put(key, value);
+                  }
+                  state = OBJECT_DELIMITER;
+               }
+               break;
+            }
+            default: {
+               // OBJECT_DELIMITER
+               if (tokType == JSONStreamTokenizer.TT_EOL
+                  || tokType == JSONStreamTokenizer.TT_CR) {
+                  jtok.newLine();
+                  state = OBJECT_KEY;
+                  lineDelimited = true;
+               } else if (tokType == RBRC) {
+                  state = CLOSED;
+               } else if (tokType == CMA
+                  || tokType == JSONStreamTokenizer.TT_EOF) {
+                  // the end of the input is reported as an unterminated object
+                  state = OBJECT_KEY;
                } else {
-                  // can't make the key a String
-                  throw new IOException("Expecting string key on line "
-                     + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
+                  throw new IOException(
+                     "Missing comma delimiter or an unquoted string value on line "
+                        + jtok.getLineNumber() + ", near column "
+                        + jtok.getColumnNumber());
                }
-            } // end default
-         } // end switch
-      } // end while(true)
-      return jobj;
+               break;
+            }
+         }
+         if (opened != 0) {
+            // descend into the object or array just opened
+            if (depth + top >= jtok._maxDepth) {
+               throw tooDeep(jtok);
+            }
+            if (top == parents.length) {
+               parents = Arrays.copyOf(parents, top * 2);
+               parentStates = Arrays.copyOf(parentStates, top * 2);
+               parentKeys = Arrays.copyOf(parentKeys, top * 2);
+            }
+            parents[top] = container;
+            parentStates[top] = state;
+            parentKeys[top] = key;
+            top++;
+            if (opened == LBRC) {
+               container = (build ? new JSONObject() : null);
+               state = OBJECT_KEY;
+            } else {
+               container = (build ? new JSONArray() : null);
+               state = ARRAY_VALUE;
+            }
+            key = null;
+         } else if (state == CLOSED) {
+            if (top == 0) {
+               return container;
+            }
+            // return to the enclosing container with the one just closed
+            JSONArtifact closed = container;
+            top--;
+            container = parents[top];
+            state = parentStates[top];
+            key = parentKeys[top];
+            parents[top] = null;
+            parentKeys[top] = null;
+            if (state == ARRAY_VALUE) {
+               if (build) {
+                  ((JSONArray) container).add(closed);
+               }
+               state = ARRAY_DELIMITER;
+            } else if (state == OBJECT_VALUE) {
+               if (build) {
+                  ((JSONObject) container).put(key, closed);
+               }
+               state = OBJECT_DELIMITER;
+            } else {
+               // can't make the key a String
+               throw new IOException("Expecting string key on line "
+                  + jtok.getLineNumber() + ", column "
+                  + jtok.getColumnNumber());
+            }
+         }
+      }
    }
 
    /**
-    * Causes the next call to the nextToken method of this tokenizer to return
-    * the current value in the ttype field, and not to modify the value in the
-    * nval or sval field. Updates the line column location.
+    * Reads the remainder of the object whose opening brace was just read.
     * 
     * @param jtok
-    *           Input stream being parsed.
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
+    *           Input stream to be parsed.
+    * @param depth
+    *           number of objects and arrays open, including this object
+    * @return {@link JSONObject} parsed from the input stream.
+    * @throws IOException
+    *            If a parsing error occurs.
     */
-   private static void doPushBack(JSONStreamTokenizer jtok, Integer[] location) throws IOException {
-      jtok.pushBack();
+   static Object doObject(JSONStreamTokenizer jtok, int depth)
+      throws IOException {
+      return doContainer(jtok, LBRC, new JSONObject(), depth);
    }
 
    /**
@@ -256,25 +392,19 @@ public class JSON implements Serializable {
     * 
     * @param jtok
     *           Input stream being parsed.
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
-    * @return The object parsed from the input stream. Note: Numbers will either
-    *         be converted to {@link Long} or {@link Double}.
-    */
-   private static Object doValue(JSONStreamTokenizer jtok, Integer[] location) {
-      // location[LN_OFFSET] = location[LN_OFFSET] + (jtok.sval == null ? 0 : jtok.sval.length());
+    * @return The object parsed from the input stream. Note: Numbers are
+    *         represented as described by the tokenizer's
+    *         {@link JSONParser.NumberPolicy}.
+    */
+   static Object doValue(JSONStreamTokenizer jtok) {
       if (jtok.ttype == DQTE) {
          return jtok.sval;
       }
-      // else could be a pure number or a string
-      String test = jtok.sval;
-      try {
-         Double dTest = Double.valueOf(test);
-         return getNumber(dTest, test);
-      } catch (Exception e) {
-         ; // signifies we have a string or boolean
+      if (jtok.ttype == JSONStreamTokenizer.TT_NUMBER) {
+         return getNumber(jtok);
       }
+      // else a string or boolean
+      String test = jtok.sval;
       if (test.equalsIgnoreCase("true")) {
          return Boolean.TRUE;
       }
@@ -288,6 +418,70 @@ public class JSON implements Serializable {
       return test;
    }
 
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * UTF-8 encoded input stream as a sequence of events.
+    * 
+    * @param is
+    *           The input stream to be read.
+    * @return reader of events from the supplied input stream
+    */
+   public static JSONEventReader createEventReader(InputStream is) {
+      return PARSER.createEventReader(is);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the UTF-8
+    * encoded file at the supplied path as a sequence of events. Larger files
+    * are memory mapped and remain open until the event reader is closed.
+    * 
+    * @param path
+    *           The path of the file to be read.
+    * @return reader of events from the supplied file
+    * @throws IOException
+    *            If the file can not be opened.
+    */
+   public static JSONEventReader createEventReader(Path path)
+      throws IOException {
+      return PARSER.createEventReader(path);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * reader as a sequence of events.
+    * 
+    * @param reader
+    *           The reader to be read.
+    * @return reader of events from the supplied reader
+    */
+   public static JSONEventReader createEventReader(Reader reader) {
+      return PARSER.createEventReader(reader);
+   }
+
+   /**
+    * Creates a {@link JSONFeedParser} reading UTF-8 encoded content fed to it
+    * in chunks as it arrives, without blocking.
+    * 
+    * @return parser of the content fed to it
+    */
+   public static JSONFeedParser createFeedParser() {
+      return PARSER.createFeedParser();
+   }
+
+   /**
+    * Use to set or unset escaping the line separator (U+2028) and paragraph
+    * separator (U+2029) characters in the output when characters beyond ASCII
+    * are not escaped (see {@link #escapeUnicode(boolean)}). JavaScript before
+    * ES2019 does not allow these characters within string literals, so they
+    * are escaped by default to keep the output safe to embed in scripts.
+    * 
+    * @param set
+    *           If true, the separators are printed as \\u2028 and \\u2029
+    */
+   public static void escapeLineSeparators(boolean set) {
+      ESCAPE_LINE_SEPARATORS = set;
+   }
+
    /**
     * Use to set or unset escaping solidus characters in the output. By default,
     * this is set to true for compatibility.
@@ -299,6 +493,22 @@ public class JSON implements Serializable {
       ESCAPE_SOLIDUS = set;
    }
 
+   /**
+    * Use to set or unset escaping characters beyond ASCII in the output. By
+    * default, this is set to true so the output is ASCII, with every other
+    * character printed as a \\u sequence. When unset, these characters are
+    * output as they are (UTF-8 encoded when written to an OutputStream), so
+    * only quotes, backslashes and control characters are escaped as RFC 8259
+    * requires, and the output of non-Latin text is far smaller. Unpaired
+    * surrogates are still escaped, as they can not be encoded.
+    * 
+    * @param set
+    *           If true, characters beyond ASCII are printed as \\u sequences
+    */
+   public static void escapeUnicode(boolean set) {
+      ESCAPE_UNICODE = set;
+   }
+
    /**
     * Expands the input String content to unicode sequences for non ASCII characters
     * 
@@ -307,29 +517,44 @@ public class JSON implements Serializable {
     * @return Formatted output String
     */
    protected static String expandUnicode(String input) {
-      StringBuilder sb = new StringBuilder();
-      char[] chars = input.toCharArray();
-      for (int i = 0; i < chars.length; i++) {
-         char ch = chars[i];
-         if (ch < 0x100) {
-            if (ch > 0x1F && ch < 0x7F) {
-               sb.append(ch);
-            } else {
-               if (ch > 0x0f) {
-                  sb.append("\\u00"+Integer.toHexString(ch));
-               } else {
-                  sb.append("\\u000"+Integer.toHexString(ch));
-               }
-            }
-         } else if (ch < 0x1000) {
-            sb.append("\\u0" + Integer.toHexString(ch));
+      StringBuilder sb = new StringBuilder(input.length() + 16);
+      for (int i = 0; i < input.length(); i++) {
+         char ch = input.charAt(i);
+         if (ch > 0x1F && ch < 0x7F) {
+            sb.append(ch);
          } else {
-            sb.append("\\u" + Integer.toHexString(ch));
+            try {
+               JSONEscaper.writeUnicode(sb, ch);
+            } catch (IOException e) {
+               // not thrown when appending to a StringBuilder
+               throw new UncheckedIOException(e);
+            }
          }
       }
       return sb.toString();
    }
 
+   /**
+    * Reads the first token of a value, skipping the spaces, tabs and line ends
+    * before it, as the {@link JSONEventReader} does
+    * 
+    * @param jtok
+    *           Input stream being parsed
+    * @return Value of the ttype field describing the first token of the value.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private static int getFirstToken(JSONStreamTokenizer jtok)
+      throws IOException {
+      int tokType = getNextToken(jtok);
+      while (tokType == JSONStreamTokenizer.TT_EOL
+         || tokType == JSONStreamTokenizer.TT_CR) {
+         jtok.newLine();
+         tokType = getNextToken(jtok);
+      }
+      return tokType;
+   }
+
    /**
     * Parses the next token from the input stream of this tokenizer. The type of
     * the next token is returned in the ttype field. Additional information
@@ -340,21 +565,81 @@ public class JSON implements Serializable {
     * in a loop calling nextToken to parse successive tokens until TT_EOF is
     * returned.
     * 
-    * Updates the line column offset.
+    * Skips spaces and tabs, updating the line column offset.
     * 
     * @param jtok
     *           Input stream being parsed
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
     * @return Value of the ttype field describing the next token.
     * @throws IOException
     *            If a parsing error occurs.
     */
-   private static int getNextToken(JSONStreamTokenizer jtok, Integer[] location)
+   private static int getNextToken(JSONStreamTokenizer jtok)
       throws IOException {
-      skipWhitespace(jtok, location);
-      return jtok.nextToken(location);
+      int tokType = jtok.nextToken();
+      while (tokType == SPC || tokType == TAB) {
+         jtok.skipBlanks();
+         tokType = jtok.nextToken(); // keep eating spaces
+      }
+      return tokType;
+   }
+
+   /**
+    * Provides the number the supplied tokenizer has just scanned, represented
+    * as described by its {@link JSONParser.NumberPolicy}. The text of the
+    * number is only used when the number is not read as a long or a double.
+    * 
+    * @param jtok
+    *           tokenizer whose current token is a TT_NUMBER
+    * @return A {@link Long}, {@link Double}, {@link BigInteger},
+    *         {@link BigDecimal} or {@link JSONNumber} holding the number
+    */
+   static Object getNumber(JSONStreamTokenizer jtok) {
+      switch (jtok._numberPolicy) {
+         case EXACT: {
+            if (jtok._isDecimal) {
+               return new BigDecimal(jtok._currentValue.toString());
+            }
+            if (jtok._isIntegral) {
+               return Long.valueOf(jtok._lval);
+            }
+            // an integer beyond the range of a long
+            return new BigInteger(jtok._currentValue.toString());
+         }
+         case LAZY: {
+            return new JSONNumber(jtok._currentValue.toString());
+         }
+         default: {
+            // the tokenizer has already scanned the number
+            if (jtok._isIntegral) {
+               return Long.valueOf(jtok._lval);
+            }
+            return Double.valueOf(jtok.nval);
+         }
+      }
+   }
+
+   /**
+    * Provides the supplied number as either a {@link Long} or a {@link Double}.
+    * Integral types are widened to a Long directly (so values beyond 2^53 are
+    * kept exactly), and a Long or a Double produced by the parser is returned
+    * as is. A {@link BigInteger}, {@link BigDecimal} or {@link JSONNumber} is
+    * also returned as is, so no precision is lost. Other numbers are converted
+    * through their double value as by {@link #getNumber(Double, String)}.
+    * 
+    * @param number
+    *           the number to be stored as a JSON value
+    * @return The number to be stored, holding the supplied number's value
+    */
+   static Object getNumber(Number number) {
+      if (number instanceof Long || number instanceof BigInteger
+         || number instanceof BigDecimal || number instanceof JSONNumber) {
+         return number;
+      }
+      if (number instanceof Integer || number instanceof Short
+         || number instanceof Byte) {
+         return Long.valueOf(number.longValue());
+      }
+      return getNumber(number.doubleValue(), number.toString());
    }
 
    /**
@@ -414,7 +699,8 @@ public class JSON implements Serializable {
     * Used to determine in the supplied Class is a valid type for JSON objects.
     * Valid types are: {@link String}, {@link Boolean}, {@link Integer},
     * {@link Double}, {@link Long}, {@link Byte}, {@link Short}, {@link Float},
-    * {@link JSONObject}, or {@link JSONArray}
+    * {@link BigInteger}, {@link BigDecimal}, {@link JSONNumber},
+    * {@link JSONObject}, or {@link JSONArray} (including those read lazily)
     * 
     * @param clazz
     *           The Class to be tested.
@@ -433,9 +719,306 @@ public class JSON implements Serializable {
          (clazz.getName().equals(Byte.class.getName())) || //
          (clazz.getName().equals(Short.class.getName())) || //
          (clazz.getName().equals(Float.class.getName())) || //
+         (clazz.getName().equals(BigInteger.class.getName())) || //
+         (clazz.getName().equals(BigDecimal.class.getName())) || //
+         (clazz.getName().equals(JSONNumber.class.getName())) || //
          // do the JSONArtifact classes
          (clazz.getName().equals(JSONObject.class.getName())) || //
-         (clazz.getName().equals(JSONArray.class.getName())));
+         (clazz.getName().equals(JSONArray.class.getName())) || //
+         // and those read by a lazy parse
+         (clazz.getName().equals(JSONLazyObject.class.getName())) || //
+         (clazz.getName().equals(JSONLazyArray.class.getName())));
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the
+    * supplied UTF-8 encoded input stream, parsing one element at a time.
+    * 
+    * @param is
+    *           The input stream containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the input
+    *         stream when closed
+    * @throws IOException
+    *            If the input stream does not start with an array.
+    * @see JSONParser#iterateArray(InputStream)
+    */
+   public static JSONArrayIterator iterateArray(InputStream is)
+      throws IOException {
+      return PARSER.iterateArray(is);
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the UTF-8
+    * encoded file at the supplied path, parsing one element at a time.
+    * 
+    * @param path
+    *           The path of the file containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the file
+    *         when closed
+    * @throws IOException
+    *            If the file can not be opened or does not start with an array.
+    * @see JSONParser#iterateArray(Path)
+    */
+   public static JSONArrayIterator iterateArray(Path path) throws IOException {
+      return PARSER.iterateArray(path);
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the content
+    * of the supplied reader, parsing one element at a time.
+    * 
+    * @param reader
+    *           The reader containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the reader
+    *         when closed
+    * @throws IOException
+    *            If the reader does not start with an array.
+    * @see JSONParser#iterateArray(Reader)
+    */
+   public static JSONArrayIterator iterateArray(Reader reader)
+      throws IOException {
+      return PARSER.iterateArray(reader);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray}.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(byte[] bytes) throws IOException {
+      return PARSER.parse(bytes);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied range of an array to
+    * produce either a {@link JSONObject} or a {@link JSONArray}.
+    * 
+    * @param bytes
+    *           Array containing the UTF-8 encoded bytes to be parsed.
+    * @param offset
+    *           Index of the first byte to be parsed.
+    * @param length
+    *           Number of bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(byte[] bytes, int offset, int length)
+      throws IOException {
+      return PARSER.parse(bytes, offset, length);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes between the position and limit of the
+    * supplied buffer to produce either a {@link JSONObject} or a
+    * {@link JSONArray}. The position of the buffer is not changed.
+    * 
+    * @param buffer
+    *           Buffer containing the UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         buffer.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(ByteBuffer buffer) throws IOException {
+      return PARSER.parse(buffer);
+   }
+
+   /**
+    * Parses the supplied characters, passing the content read to the supplied
+    * handler rather than building a {@link JSONObject} or {@link JSONArray}.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public static void parse(CharSequence chars, JSONHandler handler)
+      throws IOException {
+      PARSER.parse(chars, handler);
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded bytes, passing the content read to the
+    * supplied handler rather than building a {@link JSONObject} or
+    * {@link JSONArray}.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public static void parse(byte[] bytes, JSONHandler handler)
+      throws IOException {
+      PARSER.parse(bytes, handler);
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path, passing the content
+    * read to the supplied handler rather than building a {@link JSONObject}
+    * or {@link JSONArray}.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If the file can not be read, a parsing error occurs, or thrown
+    *            by the handler.
+    */
+   public static void parse(Path path, JSONHandler handler)
+      throws IOException {
+      PARSER.parse(path, handler);
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded input stream, passing the content read
+    * to the supplied handler rather than building a {@link JSONObject} or
+    * {@link JSONArray}.
+    * 
+    * @param is
+    *           The input stream to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public static void parse(InputStream is, JSONHandler handler)
+      throws IOException {
+      PARSER.parse(is, handler);
+   }
+
+   /**
+    * Parses the supplied reader, passing the content read to the supplied
+    * handler rather than building a {@link JSONObject} or {@link JSONArray}.
+    * 
+    * @param reader
+    *           The reader to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public static void parse(Reader reader, JSONHandler handler)
+      throws IOException {
+      PARSER.parse(reader, handler);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray} holding only the values on the paths of the supplied
+    * projection. Other values are skipped without being materialized.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(CharSequence chars,
+      JSONProjection projection) throws IOException {
+      return PARSER.parse(chars, projection);
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded bytes to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(byte[] bytes, JSONProjection projection)
+      throws IOException {
+      return PARSER.parse(bytes, projection);
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If the file can not be read or a parsing error occurs.
+    */
+   public static JSONArtifact parse(Path path, JSONProjection projection)
+      throws IOException {
+      return PARSER.parse(path, projection);
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded input stream to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection.
+    * 
+    * @param is
+    *           The input stream to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(InputStream is, JSONProjection projection)
+      throws IOException {
+      return PARSER.parse(is, projection);
+   }
+
+   /**
+    * Parses the supplied reader to produce either a {@link JSONObject} or a
+    * {@link JSONArray} holding only the values on the paths of the supplied
+    * projection.
+    * 
+    * @param reader
+    *           The reader to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(Reader reader, JSONProjection projection)
+      throws IOException {
+      return PARSER.parse(reader, projection);
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path to produce either a
+    * {@link JSONObject} or a {@link JSONArray}. Larger files are memory mapped
+    * rather than read.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         file.
+    * @throws IOException
+    *            If the file can not be read or a parsing error occurs.
+    */
+   public static JSONArtifact parse(Path path) throws IOException {
+      return PARSER.parse(path);
    }
 
    /**
@@ -450,10 +1033,7 @@ public class JSON implements Serializable {
     *            If a parsing error occurs.
     */
    public static JSONArtifact parse(InputStream is) throws IOException {
-      // note: also UNICODE of the form "\uFFFF" is not allowed in strings
-      Reader r = new BufferedReader(
-         new InputStreamReader(is, StandardCharsets.UTF_8));
-      return parse(r);
+      return PARSER.parse(is);
    }
 
    /**
@@ -468,37 +1048,54 @@ public class JSON implements Serializable {
     *            If a parsing error occurs.
     */
    public static JSONArtifact parse(Reader reader) throws IOException {
-      JSONStreamTokenizer jtok = new JSONStreamTokenizer(reader);
-      Object jobj;
-      jtok.resetSyntax();
-      // set up word characters (all but special chars above are included)
-      jtok.wordChars(';', 'Z'); // ;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ
-      jtok.wordChars('^', 'z'); // ^_`abcdefghijklmnopqrstuvwxyz
-      jtok.wordChars('|', '|'); // |
-      jtok.wordChars('!', '!'); // !
-      jtok.wordChars('#', '&'); // #$%&
-      jtok.wordChars('~', '~'); // ~
-      jtok.wordChars('(', ' '); // ()*+
-      jtok.wordChars('-', '9'); // -./0123456789
-      // jtok.wordChars(BSH, BSH); // \
-
-      // know when stream ends
-      jtok.eolIsSignificant(true);
-      jtok.quoteChar(DQTE);
-      // Note: we are handling number parsing in doValue
-      // jtok.parseNumbers();
-      // Note: took out tab so offset can be incremented
-      // jtok.whitespaceChars(TAB, TAB); // \t
-      jtok.whitespaceChars(FFD, FFD); // \f
-      jtok.whitespaceChars(BSP, BSP); // \b
-      // Note: took out space so offset can be incremented
-      // jtok.whitespaceChars(SPC, SPC); // space
-      // one-based counters
-      Integer[] location = new Integer[2];
-      location[LN_CNTR] = 1;
-      location[LN_OFFSET] = 0;
-      jobj = recurseParser(jtok, location);
-      return (JSONArtifact) jobj;
+      return PARSER.parse(reader);
+   }
+
+   /**
+    * Parses the supplied characters to produce a {@link JSONObject} or a
+    * {@link JSONArray}.
+    * 
+    * @param chars
+    *           Supplied characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(char[] chars) throws IOException {
+      return PARSER.parse(chars);
+   }
+
+   /**
+    * Parses the characters in the supplied range of an array to produce a
+    * {@link JSONObject} or a {@link JSONArray}.
+    * 
+    * @param chars
+    *           Array containing the characters to be parsed.
+    * @param offset
+    *           Index of the first character to be parsed.
+    * @param length
+    *           Number of characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(char[] chars, int offset, int length)
+      throws IOException {
+      return PARSER.parse(chars, offset, length);
+   }
+
+   /**
+    * Parses the supplied characters to produce a {@link JSONObject} or a
+    * {@link JSONArray}.
+    * 
+    * @param chars
+    *           Supplied characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public static JSONArtifact parse(CharSequence chars) throws IOException {
+      return PARSER.parse(chars);
    }
 
    /**
@@ -512,51 +1109,275 @@ public class JSON implements Serializable {
     *            If a parsing error occurs.
     */
    public static JSONArtifact parse(String str) throws IOException {
-      if (str == null) {
-         throw new NullPointerException("str cannot be null");
-      }
-      return parse(new StringReader(str));
+      return PARSER.parse(str);
    }
 
    /**
-    * Recursive parser to identify JSON keys and values from the input stream.
+    * Parses the next JSON value from the input stream. Objects and arrays are
+    * read along with everything nested within them, without recursing.
     * 
     * @param jtok
     *           reader being parsed.
-    * @param location
     * @return The next JSON value, or {@link JSONObject}, or {@link JSONArray}
-    *         parsed from the reader
+    *         parsed from the reader, or null at the end of the input
     * @throws IOException
     *            If a parsing error occurs.
     */
-   private static Object recurseParser(JSONStreamTokenizer jtok, Integer[] location)
+   static Object parseValue(JSONStreamTokenizer jtok) throws IOException {
+      int tokType = getFirstToken(jtok);
+      if (tokType == JSONStreamTokenizer.TT_EOF) {
+         return null;
+      }
+      int opened = startValue(jtok, tokType);
+      if (opened == 0) {
+         return doValue(jtok);
+      }
+      if (jtok._maxDepth < 1) {
+         throw tooDeep(jtok);
+      }
+      return doContainer(jtok, opened,
+         (opened == LBRC ? new JSONObject() : new JSONArray()), 1);
+   }
+
+   /**
+    * Validates the next JSON value from the input stream, which must be an
+    * object or array, by reading it as {@link #parseValue(JSONStreamTokenizer)}
+    * would but without building it. The tokenizer should be set
+    * {@link JSONStreamTokenizer#_validating} so no Strings or Numbers are
+    * created for the values skipped.
+    * 
+    * @param jtok
+    *           reader being validated.
+    * @throws IOException
+    *            If a parsing error occurs, or the next value is not an object
+    *            or array.
+    */
+   static void validateValue(JSONStreamTokenizer jtok) throws IOException {
+      int tokType = getFirstToken(jtok);
+      if (tokType == JSONStreamTokenizer.TT_EOF) {
+         throw new IOException(
+            "Does not parse as a JSONObject or JSONArray. It has no content");
+      }
+      int opened = startValue(jtok, tokType);
+      if (opened == 0) {
+         throw new IOException(
+            "Does not parse as a JSONObject or JSONArray. See line "
+               + jtok.getLineNumber() + ", column " + jtok.getColumnNumber());
+      }
+      if (jtok._maxDepth < 1) {
+         throw tooDeep(jtok);
+      }
+      doContainer(jtok, opened, null, 1);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray} whose nested objects and arrays
+    * are only parsed when first accessed. The array is retained by the nested
+    * objects and arrays, so it must not be changed afterward.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs in the top level object or array, or
+    *            an object or array is not terminated.
+    */
+   public static JSONArtifact parseLazy(byte[] bytes) throws IOException {
+      return PARSER.parseLazy(bytes);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray} whose nested objects and arrays are only parsed when
+    * first accessed. The characters are retained by the nested objects and
+    * arrays, so they must not be changed afterward.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs in the top level object or array, or
+    *            an object or array is not terminated.
+    */
+   public static JSONArtifact parseLazy(CharSequence chars)
       throws IOException {
-      int tokType = getNextToken(jtok, location);
-      // check what we are starting with, functions continue the work
-      switch (tokType) {
-         case JSONStreamTokenizer.TT_WORD: {
-            return doValue(jtok, location);
-         }
-         case JSONStreamTokenizer.TT_NUMBER: {
-            return doValue(jtok, location);
-         }
-         case LBKT: {
-            return doArray(jtok, location);
-         }
-         case LBRC: {
-            return doObject(jtok, location);
-         }
-         case DQTE: {
-            return doValue(jtok, location);
-         }
-         case JSONStreamTokenizer.TT_EOF: {
-            return null;
-         }
-         default: {
-            throw new IOException("Unexpected character [" + ((char) tokType)
-               + "] while scanning JSON String for JSON type.  Invalid JSON. See line "
-               + location[LN_CNTR] + ", column " + location[LN_OFFSET]);
-         }
+      return PARSER.parseLazy(chars);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray}, using the supplied pool to
+    * parse the nested objects and arrays of a large document in parallel.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the bytes (e.g.,
+    *           {@link ForkJoinPool#commonPool()}).
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @see JSONParser#parseParallel(byte[], ForkJoinPool)
+    */
+   public static JSONArtifact parseParallel(byte[] bytes, ForkJoinPool pool)
+      throws IOException {
+      return PARSER.parseParallel(bytes, pool);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray}, using the supplied pool to parse the nested objects
+    * and arrays of a large document in parallel.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the characters.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @see JSONParser#parseParallel(byte[], ForkJoinPool)
+    */
+   public static JSONArtifact parseParallel(CharSequence chars,
+      ForkJoinPool pool) throws IOException {
+      return PARSER.parseParallel(chars, pool);
+   }
+
+   /**
+    * Parses the UTF-8 encoded content of the file at the supplied path to
+    * produce either a {@link JSONObject} or a {@link JSONArray}, using the
+    * supplied pool to parse the nested objects and arrays of a large document
+    * in parallel.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the file.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         file.
+    * @throws IOException
+    *            If the file cannot be read or a parsing error occurs.
+    * @see JSONParser#parseParallel(byte[], ForkJoinPool)
+    */
+   public static JSONArtifact parseParallel(Path path, ForkJoinPool pool)
+      throws IOException {
+      return PARSER.parseParallel(path, pool);
+   }
+
+   /**
+    * Writes the JSON text of the supplied object or array to the remaining
+    * space of the supplied buffer, encoded as UTF-8 as it is generated
+    * 
+    * @param artifact
+    *           the object or array to be serialized
+    * @param buffer
+    *           the buffer receiving the UTF-8 encoded text
+    * @param verbose
+    *           whether the text is formatted with line breaks and indentation
+    * @return the number of bytes written
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    * @throws java.nio.BufferOverflowException
+    *            If the text does not fit in the buffer, whose position is then
+    *            unchanged.
+    */
+   static int serialize(JSONArtifact artifact, ByteBuffer buffer,
+      boolean verbose) throws IOException {
+      int start = buffer.position();
+      serialize(artifact, JSONUTF8Output.acquire(buffer), verbose);
+      return buffer.position() - start;
+   }
+
+   /**
+    * Writes the JSON text of the supplied object or array through the
+    * supplied output, releasing it once done
+    * 
+    * @param artifact
+    *           the object or array to be serialized
+    * @param output
+    *           output acquired for this serialization
+    * @param verbose
+    *           whether the text is formatted with line breaks and indentation
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   private static void serialize(JSONArtifact artifact, JSONOutput output,
+      boolean verbose) throws IOException {
+      try {
+         artifact.write(output, 0, verbose ? INCR : 0);
+         output.flush();
+      } finally {
+         output.release();
+      }
+   }
+
+   /**
+    * Writes the JSON text of the supplied object or array to the supplied
+    * stream, encoded as UTF-8 as it is generated, through a buffer recycled
+    * by the serializations on the current thread. The stream is flushed but
+    * not closed.
+    * 
+    * @param artifact
+    *           the object or array to be serialized
+    * @param os
+    *           the stream receiving the UTF-8 encoded text
+    * @param verbose
+    *           whether the text is formatted with line breaks and indentation
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   static void serialize(JSONArtifact artifact, OutputStream os,
+      boolean verbose) throws IOException {
+      serialize(artifact, JSONUTF8Output.acquire(os), verbose);
+      os.flush();
+   }
+
+   /**
+    * Writes the JSON text of the supplied object or array to the supplied
+    * writer as it is generated, through a buffer recycled by the
+    * serializations on the current thread. The writer is not flushed.
+    * 
+    * @param artifact
+    *           the object or array to be serialized
+    * @param writer
+    *           the writer receiving the text
+    * @param verbose
+    *           whether the text is formatted with line breaks and indentation
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   static void serialize(JSONArtifact artifact, Writer writer, boolean verbose)
+      throws IOException {
+      serialize(artifact, JSONWriterOutput.acquire(writer), verbose);
+   }
+
+   /**
+    * Provides the JSON text of the supplied object or array encoded as UTF-8
+    * as it is generated, collected in a buffer recycled by the serializations
+    * on the current thread
+    * 
+    * @param artifact
+    *           the object or array to be serialized
+    * @param verbose
+    *           whether the text is formatted with line breaks and indentation
+    * @return the UTF-8 encoded text
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   static byte[] serializeToBytes(JSONArtifact artifact, boolean verbose)
+      throws IOException {
+      JSONUTF8Output output = JSONUTF8Output.acquire();
+      try {
+         artifact.write(output, 0, verbose ? INCR : 0);
+         output.flush();
+         return output.toByteArray();
+      } finally {
+         output.release();
       }
    }
 
@@ -578,27 +1399,173 @@ public class JSON implements Serializable {
    }
 
    /**
-    * Skips through whitespace in the supplied reader, updating the location
-    * object
+    * Classifies the token starting a value
     * 
     * @param jtok
-    *           The reader being parsed
-    * @param location
-    *           Object to track the location (line and column within line) of
-    *           the parser with respect to the input stream.
-    * @return The next ttype for a non-whitespace character encountered
+    *           Input stream being parsed
+    * @param tokType
+    *           the type of the token starting the value
+    * @return the bracket or brace when the token opens an array or object, or
+    *         0 if the token is a value read by
+    *         {@link #doValue(JSONStreamTokenizer)}
     * @throws IOException
-    *            If a parsing error occurs.
+    *            If the token can not start a value.
     */
-   private static int skipWhitespace(JSONStreamTokenizer jtok, Integer[] location)
+   private static int startValue(JSONStreamTokenizer jtok, int tokType)
       throws IOException {
-      int tokType = jtok.nextToken(location);
-      while (tokType == SPC || tokType == TAB) {
-         // location[LN_OFFSET] = location[LN_OFFSET] + 1;
-         tokType = jtok.nextToken(location); // keep eating spaces
+      switch (tokType) {
+         case JSONStreamTokenizer.TT_WORD:
+         case JSONStreamTokenizer.TT_NUMBER:
+         case DQTE: {
+            return 0;
+         }
+         case LBKT:
+         case LBRC: {
+            return tokType;
+         }
+         default: {
+            throw new IOException("Unexpected character [" + ((char) tokType)
+               + "] while scanning JSON String for JSON type.  Invalid JSON. See line "
+               + jtok.getLineNumber() + ", column "
+               + jtok.getColumnNumber());
+         }
       }
-      // back up to prior non-space character
-      doPushBack(jtok, location);
-      return tokType;
+   }
+
+   /**
+    * Creates the exception for an object or array nested more deeply than
+    * the tokenizer's {@link JSONStreamTokenizer#_maxDepth} allows
+    * 
+    * @param jtok
+    *           Input stream being parsed
+    * @return exception describing the depth exceeded and where
+    */
+   static IOException tooDeep(JSONStreamTokenizer jtok) {
+      return new IOException("Nesting exceeds the maximum depth of "
+         + jtok._maxDepth + " on line " + jtok.getLineNumber() + ", column "
+         + jtok.getColumnNumber());
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * supplied UTF-8 encoded input stream, parsing one object at a time. The
+    * stream should be closed to close the input stream.
+    * 
+    * @param is
+    *           The input stream containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the input stream does not start with an array.
+    * @see JSONParser#streamArray(InputStream)
+    */
+   public static Stream<JSONObject> streamArray(InputStream is)
+      throws IOException {
+      return PARSER.streamArray(is);
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * UTF-8 encoded file at the supplied path, parsing one object at a time.
+    * The stream should be closed to close the file.
+    * 
+    * @param path
+    *           The path of the file containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the file can not be opened or does not start with an array.
+    * @see JSONParser#streamArray(Path)
+    */
+   public static Stream<JSONObject> streamArray(Path path) throws IOException {
+      return PARSER.streamArray(path);
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * content of the supplied reader, parsing one object at a time. The stream
+    * should be closed to close the reader.
+    * 
+    * @param reader
+    *           The reader containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the reader does not start with an array.
+    * @see JSONParser#streamArray(Reader)
+    */
+   public static Stream<JSONObject> streamArray(Reader reader)
+      throws IOException {
+      return PARSER.streamArray(reader);
+   }
+
+   /**
+    * Validates the supplied UTF-8 encoded bytes without building the
+    * {@link JSONObject} or {@link JSONArray} they hold.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be validated.
+    * @return the outcome, with the byte offset of any error found
+    * @see JSONParser#validate(byte[])
+    */
+   public static JSONValidation validate(byte[] bytes) {
+      return PARSER.validate(bytes);
+   }
+
+   /**
+    * Validates the supplied characters without building the
+    * {@link JSONObject} or {@link JSONArray} they hold.
+    * 
+    * @param chars
+    *           The characters to be validated.
+    * @return the outcome, with the character offset of any error found
+    * @see JSONParser#validate(CharSequence)
+    */
+   public static JSONValidation validate(CharSequence chars) {
+      return PARSER.validate(chars);
+   }
+
+   /**
+    * Validates the supplied UTF-8 encoded input stream without building the
+    * {@link JSONObject} or {@link JSONArray} it holds.
+    * 
+    * @param is
+    *           The input stream to be validated.
+    * @return the outcome, with the byte offset of any error found
+    * @throws IOException
+    *            If the input stream can not be read.
+    * @see JSONParser#validate(InputStream)
+    */
+   public static JSONValidation validate(InputStream is)
+      throws IOException {
+      return PARSER.validate(is);
+   }
+
+   /**
+    * Validates the UTF-8 encoded file at the supplied path without building
+    * the {@link JSONObject} or {@link JSONArray} it holds.
+    * 
+    * @param path
+    *           The path of the file to be validated.
+    * @return the outcome, with the byte offset of any error found
+    * @throws IOException
+    *            If the file can not be opened.
+    * @see JSONParser#validate(Path)
+    */
+   public static JSONValidation validate(Path path) throws IOException {
+      return PARSER.validate(path);
+   }
+
+   /**
+    * Validates the content of the supplied reader without building the
+    * {@link JSONObject} or {@link JSONArray} it holds.
+    * 
+    * @param reader
+    *           The reader to be validated.
+    * @return the outcome, with the character offset of any error found
+    * @throws IOException
+    *            If the reader can not be read.
+    * @see JSONParser#validate(Reader)
+    */
+   public static JSONValidation validate(Reader reader)
+      throws IOException {
+      return PARSER.validate(reader);
    }
 }
@@ -26,8 +26,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -55,6 +57,26 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
       }
    }
 
+   /**
+    * Parses the UTF-8 encoded file at the supplied path to derive a
+    * {@link JSONArray}. Larger files are memory mapped rather than read.
+    * 
+    * @param path
+    *           The path of the file to be parsed
+    * @return {@link JSONArray} associated with the file.
+    * @throws IOException
+    *            If the file can not be read or a parsing error occurs.
+    */
+   public static JSONArray parse(Path path) throws IOException {
+      JSONArtifact artifact = JSON.parse(path);
+      try {
+         return (JSONArray) artifact;
+      } catch (ClassCastException cce) {
+         throw new IOException("Does not parse as a JSONArray. It is a "
+            + artifact.getClass().getName());
+      }
+   }
+
    /**
     * Parses the supplied reader to derive a {@link JSONArray}
     * 
@@ -122,8 +144,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
          throw new IllegalArgumentException("Can not put an object into itself.");
       }
       if (element instanceof Number) {
-         element = JSON.getNumber(((Number) element).doubleValue(),
-            element.toString());
+         element = JSON.getNumber((Number) element);
       }
 
       super.add(index, element);
@@ -142,8 +163,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
          throw new IllegalArgumentException("Can not put an object into itself.");
       }
       if (element instanceof Number) {
-         element = JSON.getNumber(((Number) element).doubleValue(),
-            element.toString());
+         element = JSON.getNumber((Number) element);
       }
       return super.add(element);
    }
@@ -165,8 +185,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
             throw new IllegalArgumentException("Can not put an object into itself.");
          }
          if (element instanceof Number) {
-            element = JSON.getNumber(((Number) element).doubleValue(),
-               element.toString());
+            element = JSON.getNumber((Number) element);
          }
          testCol.add(element);
       }
@@ -190,8 +209,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
             throw new IllegalArgumentException("Can not put an object into itself.");
          }
          if (element instanceof Number) {
-            element = JSON.getNumber(((Number) element).doubleValue(),
-               element.toString());
+            element = JSON.getNumber((Number) element);
          }
          testCol.add(element);
       }
@@ -223,10 +241,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
     */
    @Override
    public void serialize(OutputStream os) throws IOException {
-      if (os == null) {
-         throw new NullPointerException("OutputStream is null.");
-      }
-      os.write(toString().getBytes(StandardCharsets.UTF_8));
+      serialize(os, false);
    }
 
    /*
@@ -238,12 +253,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
       if (os == null) {
          throw new NullPointerException("OutputStream is null.");
       }
-      StringBuilder sb = new StringBuilder();
-      if (verbose) {
-          os.write(toString(sb, 0, JSON.INCR).getBytes(StandardCharsets.UTF_8));
-      } else {
-          os.write(toString().getBytes(StandardCharsets.UTF_8));
-      }
+      JSON.serialize(this, os, verbose);
    }
 
    /*
@@ -251,10 +261,7 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
     */
    @Override
    public void serialize(Writer writer) throws IOException {
-      if (writer == null) {
-         throw new NullPointerException("Writer is null.");
-      }
-      writer.write(toString());
+      serialize(writer, false);
    }
 
    /*
@@ -265,12 +272,43 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
       if (writer == null) {
          throw new NullPointerException("Writer is null.");
       }
-      StringBuilder sb = new StringBuilder();
-      if (verbose) {
-          writer.write(toString(sb, 0, JSON.INCR));
-      } else {
-          writer.write(toString());
+      JSON.serialize(this, writer, verbose);
+   }
+
+   /*
+    * @see com.api.json.JSONArtifact#serializeTo(java.nio.ByteBuffer)
+    */
+   @Override
+   public int serializeTo(ByteBuffer buffer) throws IOException {
+      return serializeTo(buffer, false);
+   }
+
+   /*
+    * @see com.api.json.JSONArtifact#serializeTo(java.nio.ByteBuffer, boolean)
+    */
+   @Override
+   public int serializeTo(ByteBuffer buffer, boolean verbose)
+      throws IOException {
+      if (buffer == null) {
+         throw new NullPointerException("ByteBuffer is null.");
       }
+      return JSON.serialize(this, buffer, verbose);
+   }
+
+   /*
+    * @see com.api.json.JSONArtifact#serializeToBytes()
+    */
+   @Override
+   public byte[] serializeToBytes() throws IOException {
+      return JSON.serializeToBytes(this, false);
+   }
+
+   /*
+    * @see com.api.json.JSONArtifact#serializeToBytes(boolean)
+    */
+   @Override
+   public byte[] serializeToBytes(boolean verbose) throws IOException {
+      return JSON.serializeToBytes(this, verbose);
    }
 
    /*
@@ -298,11 +336,25 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
     *      int)
     */
    public String toString(StringBuilder sb, int indent, int incr) {
+      try {
+         write(sb, indent, incr);
+      } catch (IOException e) {
+         // not thrown when appending to a StringBuilder
+         throw new UncheckedIOException(e);
+      }
+      return sb.toString();
+   }
+
+   /*
+    * @see com.api.json.JSONArtifact#write(java.lang.Appendable, int, int)
+    */
+   @Override
+   public void write(Appendable out, int indent, int incr) throws IOException {
       boolean newObj = true;
       // depth first search to generate objects and values
-      sb.append("[");
+      out.append('[');
       if (incr > 0) {
-         sb.append(System.lineSeparator());
+         out.append(System.lineSeparator());
       }
       // do indent
       indent += incr;
@@ -310,35 +362,36 @@ public class JSONArray extends ArrayList<Object> implements JSONArtifact {
          if (newObj) {
             newObj = false;
          } else {
-            sb.append(",");
+            out.append(',');
             if (incr > 0) {
-               sb.append(System.lineSeparator());
+               out.append(System.lineSeparator());
             }
          }
          Object obj = it.next();
          for (int i = 0; i < indent; i += incr) {
-            sb.append(JSON.BLANKS);
+            out.append(JSON.BLANKS);
          }
          if (JSON.isValidObject(obj)) {
             if (obj instanceof String) {
-               sb.append("\"" + JSON.cleanUpString(obj) + "\"");
+               out.append('"');
+               JSONEscaper.write(out, (String) obj);
+               out.append('"');
             } else if (obj instanceof JSONArtifact) {
-               sb.append(((JSONArtifact) obj).toString(new StringBuilder(),
-                  indent, incr));
+               // written straight to the destination
+               ((JSONArtifact) obj).write(out, indent, incr);
             } else {
-               sb.append(obj);
+               out.append(String.valueOf(obj));
             }
          }
       }
       // back our way out
       if (incr > 0 && size() > 0) {
-         sb.append(System.lineSeparator());
+         out.append(System.lineSeparator());
       }
       indent -= incr;
       for (int i = 0; i < indent; i += incr) {
-         sb.append(JSON.BLANKS);
+         out.append(JSON.BLANKS);
       }
-      sb.append("]");
-      return sb.toString();
+      out.append(']');
    }
 }
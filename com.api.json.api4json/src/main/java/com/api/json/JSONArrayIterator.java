@@ -0,0 +1,233 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import com.api.json.JSONEventReader.Event;
+
+/**
+ * Iterator over the elements of a top level array, parsing one element at a
+ * time as it is requested, so only the element most recently returned (rather
+ * than the whole array) need be held in memory. Each element must be a
+ * {@link JSONObject} or a {@link JSONArray}. The iterator should be closed once
+ * no longer needed, which closes its input; it is closed automatically once
+ * the end of the array is reached. {@link JSONLines} uses the same iterator
+ * over a sequence of top level documents.
+ * <p>
+ * As {@link Iterator} methods can not throw checked exceptions, a parsing
+ * error is reported by an {@link UncheckedIOException} wrapping the
+ * IOException describing it.
+ */
+public final class JSONArrayIterator implements Iterator<JSONArtifact>, Closeable {
+
+   private final JSONEventReader _reader;
+   // input closed along with the reader, or null
+   private final Closeable _input;
+   // true when iterating over the elements of an array rather than documents
+   private final boolean _inArray;
+   // element read by hasNext() but not yet returned by next()
+   private JSONArtifact _next = null;
+   private boolean _done = false;
+
+   /**
+    * Constructor reading the start of the array from the supplied reader
+    * 
+    * @param reader
+    *           reader of the events of the array
+    * @param input
+    *           input of the reader to be closed along with it, or null
+    * @throws IOException
+    *            If the input does not start with an array. The reader and
+    *            input are closed.
+    */
+   JSONArrayIterator(JSONEventReader reader, Closeable input)
+      throws IOException {
+      this(reader, input, true);
+   }
+
+   /**
+    * Constructor for an iterator over either the elements of the array read
+    * by the supplied reader, or the sequence of documents it reads
+    * 
+    * @param reader
+    *           reader of the events of the array or documents
+    * @param input
+    *           input of the reader to be closed along with it, or null
+    * @param inArray
+    *           true to iterate over the elements of an array, or false to
+    *           iterate over a sequence of documents
+    * @throws IOException
+    *            If iterating over an array and the input does not start with
+    *            an array. The reader and input are closed.
+    */
+   JSONArrayIterator(JSONEventReader reader, Closeable input, boolean inArray)
+      throws IOException {
+      _reader = reader;
+      _input = input;
+      _inArray = inArray;
+      if (!inArray) {
+         return;
+      }
+      try {
+         if (!reader.hasNext()) {
+            throw new IOException(
+               "Does not parse as a JSONArray. It has no content");
+         }
+         Event event = reader.next();
+         if (event != Event.START_ARRAY) {
+            throw new IOException(
+               "Does not parse as a JSONArray. It is a " + event);
+         }
+      } catch (IOException | RuntimeException e) {
+         close();
+         throw e;
+      }
+   }
+
+   /**
+    * Closes the input of this iterator, after which it has no more elements
+    * 
+    * @see java.io.Closeable#close()
+    */
+   @Override
+   public void close() throws IOException {
+      _done = true;
+      _next = null;
+      try {
+         _reader.close();
+      } finally {
+         if (_input != null) {
+            _input.close();
+         }
+      }
+   }
+
+   /**
+    * @see java.util.Iterator#hasNext()
+    */
+   @Override
+   public boolean hasNext() {
+      if (_next != null) {
+         return true;
+      }
+      if (_done) {
+         return false;
+      }
+      try {
+         if (!_inArray && !_reader.hasNext()) {
+            close();
+            return false;
+         }
+         Event event = _reader.next();
+         switch (event) {
+            case START_OBJECT: {
+               _next = _reader.getObject();
+               return true;
+            }
+            case START_ARRAY: {
+               _next = _reader.getArray();
+               return true;
+            }
+            case END_ARRAY: {
+               if (_inArray) {
+                  close();
+                  return false;
+               }
+               // not possible as the reader reports unbalanced brackets
+               throw new IllegalStateException("Unexpected " + event);
+            }
+            default: {
+               throw new IOException((_inArray ? "Array element" : "Document")
+                  + " is not a JSONObject or JSONArray. It is a " + event
+                  + " on line " + _reader.getLineNumber() + ", column "
+                  + _reader.getColumnNumber());
+            }
+         }
+      } catch (IOException e) {
+         try {
+            close();
+         } catch (IOException suppressed) {
+            e.addSuppressed(suppressed);
+         }
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   /**
+    * @see java.util.Iterator#next()
+    */
+   @Override
+   public JSONArtifact next() {
+      if (!hasNext()) {
+         throw new NoSuchElementException("No more array elements");
+      }
+      JSONArtifact next = _next;
+      _next = null;
+      return next;
+   }
+
+   /**
+    * Provides the elements returned by this iterator as a sequential stream,
+    * which closes this iterator when it is closed
+    * 
+    * @return stream of the elements
+    */
+   Stream<JSONArtifact> elements() {
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+         Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+            try {
+               close();
+            } catch (IOException e) {
+               throw new UncheckedIOException(e);
+            }
+         });
+   }
+
+   /**
+    * Provides the objects returned by this iterator as a sequential stream,
+    * which closes this iterator when it is closed. An element that is not a
+    * {@link JSONObject} is reported by an {@link UncheckedIOException}.
+    * 
+    * @return stream of the objects in the array
+    */
+   Stream<JSONObject> objects() {
+      return elements().map(element -> {
+         if (!(element instanceof JSONObject)) {
+            throw new UncheckedIOException(new IOException(
+               "Array element is not a JSONObject. It is a JSONArray on line "
+                  + _reader.getLineNumber() + ", column "
+                  + _reader.getColumnNumber()));
+         }
+         return (JSONObject) element;
+      });
+   }
+}
@@ -25,6 +25,9 @@ package com.api.json;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface class to define a set of generic apis both JSONObject and JSON
@@ -103,6 +106,74 @@ public interface JSONArtifact {
     */
    void serialize(Writer writer, boolean verbose) throws IOException;
 
+   /**
+    * Convert this object into UTF-8 encoded JSON text written to the
+    * remaining space of the supplied buffer, without building a String.
+    * 
+    * @param buffer
+    *           The buffer which to serialize the JSON text to.
+    * @return the number of bytes written
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    * @throws BufferOverflowException
+    *            If the text does not fit in the buffer, whose position is then
+    *            unchanged.
+    */
+   default int serializeTo(ByteBuffer buffer) throws IOException {
+      return serializeTo(buffer, false);
+   }
+
+   /**
+    * Convert this object into UTF-8 encoded JSON text written to the
+    * remaining space of the supplied buffer, specifying verbosity.
+    * 
+    * @param buffer
+    *           The buffer which to serialize the JSON text to.
+    * @param verbose
+    *           Whether or not to write the JSON text in a verbose format.
+    * @return the number of bytes written
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    * @throws BufferOverflowException
+    *            If the text does not fit in the buffer, whose position is then
+    *            unchanged.
+    */
+   default int serializeTo(ByteBuffer buffer, boolean verbose) throws IOException {
+      byte[] bytes = serializeToBytes(verbose);
+      if (bytes.length > buffer.remaining()) {
+         throw new BufferOverflowException();
+      }
+      buffer.put(bytes);
+      return bytes.length;
+   }
+
+   /**
+    * Convert this object into UTF-8 encoded JSON text, encoded as it is
+    * generated into a buffer recycled by the serializations on the thread.
+    * 
+    * @return the UTF-8 encoded JSON text
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   default byte[] serializeToBytes() throws IOException {
+      return serializeToBytes(false);
+   }
+
+   /**
+    * Convert this object into UTF-8 encoded JSON text, specifying verbosity.
+    * By default this encodes the String produced by
+    * {@link #serialize(boolean)}.
+    * 
+    * @param verbose
+    *           Whether or not to write the JSON text in a verbose format.
+    * @return the UTF-8 encoded JSON text
+    * @throws IOException
+    *            Thrown on IO errors during serialization.
+    */
+   default byte[] serializeToBytes(boolean verbose) throws IOException {
+      return serialize(verbose).getBytes(StandardCharsets.UTF_8);
+   }
+
    /**
     * Abstract method to help with recursive formatting of JSON into a String
     * 
@@ -115,4 +186,28 @@ public interface JSONArtifact {
     * @return Formatted JSON output.
     */
    abstract String toString(StringBuilder sb, int indent, int incr);
+
+   /**
+    * Writes the JSON text of this object or array, and of everything nested
+    * within it, to the supplied destination as the tree is walked, so no
+    * String holding the whole text is built. The serialize methods writing to
+    * a stream pass the text through a small buffer recycled across calls. By
+    * default this appends the text formatted by
+    * {@link #toString(StringBuilder, int, int)}, which must then not call this
+    * method.
+    * 
+    * @param out
+    *           Destination receiving the JSON text (e.g., a
+    *           {@link StringBuilder} or {@link Writer})
+    * @param indent
+    *           The amount of indentation expected in the formatted output.
+    * @param incr
+    *           the amount of incremental spacing used for formatted output, or
+    *           0 for unformatted output.
+    * @throws IOException
+    *            Thrown on IO errors writing to the destination.
+    */
+   default void write(Appendable out, int indent, int incr) throws IOException {
+      out.append(toString(new StringBuilder(), indent, incr));
+   }
 }
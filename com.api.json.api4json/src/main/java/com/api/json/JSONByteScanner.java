@@ -0,0 +1,244 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Scans UTF-8 encoded JSON content eight bytes at a time for the bytes that
+ * matter to the parsers (quotes, escapes, brackets and line ends), so runs of
+ * string content, indentation and skipped values are passed over without
+ * examining each byte. Each long read from the array is compared against all
+ * eight bytes at once (SIMD within a register): a byte of the word XORed with
+ * the byte sought is zero where they match, and the high bit of each zero
+ * byte is found without carries between the bytes. As the first byte of the
+ * array is the low byte of the word, the first match is given by the number
+ * of trailing zeros of the resulting mask.
+ */
+final class JSONByteScanner {
+
+   // views a byte array as longs, the first byte being the lowest
+   private static final VarHandle LONGS = MethodHandles
+      .byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+   private static final long ONES = 0x0101010101010101L;
+   private static final long HIGHS = 0x8080808080808080L;
+   private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+   private static final long BACKSLASHES = ONES * '\\';
+   private static final long CRS = ONES * '\r';
+   private static final long NEWLINES = ONES * '\n';
+   private static final long QUOTES = ONES * '"';
+   private static final long SPACES = ONES * ' ';
+   private static final long TABS = ONES * '\t';
+
+   /**
+    * Not instantiated
+    */
+   private JSONByteScanner() {
+   }
+
+   /**
+    * Counts the characters encoded by the supplied range of bytes, as read by
+    * a {@link JSONUTF8Input}: continuation bytes are not counted, and a 4 byte
+    * sequence is counted as its two surrogates.
+    * 
+    * @param bytes
+    *           the UTF-8 encoded bytes
+    * @param from
+    *           index of the first byte
+    * @param to
+    *           index after the last byte
+    * @return the number of characters
+    */
+   static int countChars(byte[] bytes, int from, int to) {
+      int count = to - from;
+      int i = from;
+      for (; i + 8 <= to; i += 8) {
+         long word = (long) LONGS.get(bytes, i);
+         if ((word & HIGHS) != 0) {
+            // 10xxxxxx continues a character, 11110xxx starts a surrogate pair
+            long continuations = word & ~(word << 1) & HIGHS;
+            long pairs = word & (word << 1) & (word << 2) & (word << 3)
+               & ~(word << 4) & HIGHS;
+            count += Long.bitCount(pairs) - Long.bitCount(continuations);
+         }
+      }
+      for (; i < to; i++) {
+         int b = bytes[i];
+         if ((b & 0xC0) == 0x80) {
+            count--;
+         } else if ((b & 0xF8) == 0xF0) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Counts the line ends in the supplied range of bytes, as counted by the
+    * tokenizer (each '\n' and '\r')
+    * 
+    * @param bytes
+    *           the bytes to be scanned
+    * @param from
+    *           index of the first byte
+    * @param to
+    *           index after the last byte
+    * @return the number of line ends
+    */
+   static int countLineEnds(byte[] bytes, int from, int to) {
+      int count = 0;
+      int i = from;
+      for (; i + 8 <= to; i += 8) {
+         long word = (long) LONGS.get(bytes, i);
+         count += Long.bitCount(matches(word, NEWLINES) | matches(word, CRS));
+      }
+      for (; i < to; i++) {
+         if (bytes[i] == '\n' || bytes[i] == '\r') {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Finds the first byte in the supplied range that is neither a space nor a
+    * tab
+    * 
+    * @param bytes
+    *           the bytes to be scanned
+    * @param from
+    *           index of the first byte
+    * @param to
+    *           index after the last byte
+    * @return the index of the byte, or to if there is none
+    */
+   static int indexOfNonBlank(byte[] bytes, int from, int to) {
+      int i = from;
+      for (; i + 8 <= to; i += 8) {
+         long word = (long) LONGS.get(bytes, i);
+         long found = ~(matches(word, SPACES) | matches(word, TABS)) & HIGHS;
+         if (found != 0) {
+            return i + (Long.numberOfTrailingZeros(found) >>> 3);
+         }
+      }
+      for (; i < to; i++) {
+         if (bytes[i] != ' ' && bytes[i] != '\t') {
+            return i;
+         }
+      }
+      return to;
+   }
+
+   /**
+    * Finds the first byte in the supplied range that may end the content of a
+    * quoted string: the quote, a backslash starting an escape, or a line end
+    * 
+    * @param bytes
+    *           the bytes to be scanned
+    * @param from
+    *           index of the first byte
+    * @param to
+    *           index after the last byte
+    * @param quote
+    *           the quote character ending the string
+    * @return the index of the byte, or to if there is none
+    */
+   static int indexOfQuoteEnd(byte[] bytes, int from, int to, int quote) {
+      long quotes = ONES * (quote & 0xFF);
+      int i = from;
+      for (; i + 8 <= to; i += 8) {
+         long word = (long) LONGS.get(bytes, i);
+         long found = matches(word, quotes) | matches(word, BACKSLASHES)
+            | matches(word, NEWLINES) | matches(word, CRS);
+         if (found != 0) {
+            return i + (Long.numberOfTrailingZeros(found) >>> 3);
+         }
+      }
+      for (; i < to; i++) {
+         int b = bytes[i];
+         if (b == quote || b == '\\' || b == '\n' || b == '\r') {
+            return i;
+         }
+      }
+      return to;
+   }
+
+   /**
+    * Finds the first byte in the supplied range that is structural to an
+    * object or array being skipped: a quote, its opening or closing
+    * character, or a line end
+    * 
+    * @param bytes
+    *           the bytes to be scanned
+    * @param from
+    *           index of the first byte
+    * @param to
+    *           index after the last byte
+    * @param open
+    *           the character opening the object or array
+    * @param close
+    *           the character closing the object or array
+    * @return the index of the byte, or to if there is none
+    */
+   static int indexOfStructure(byte[] bytes, int from, int to, int open,
+      int close) {
+      long opens = ONES * (open & 0xFF);
+      long closes = ONES * (close & 0xFF);
+      int i = from;
+      for (; i + 8 <= to; i += 8) {
+         long word = (long) LONGS.get(bytes, i);
+         long found = matches(word, QUOTES) | matches(word, opens)
+            | matches(word, closes) | matches(word, NEWLINES)
+            | matches(word, CRS);
+         if (found != 0) {
+            return i + (Long.numberOfTrailingZeros(found) >>> 3);
+         }
+      }
+      for (; i < to; i++) {
+         int b = bytes[i];
+         if (b == '"' || b == open || b == close || b == '\n' || b == '\r') {
+            return i;
+         }
+      }
+      return to;
+   }
+
+   /**
+    * Flags the bytes of a word matching a byte
+    * 
+    * @param word
+    *           eight bytes of the input
+    * @param pattern
+    *           the byte sought, repeated in every byte
+    * @return the high bit set in each byte of the word equal to the byte
+    *         sought, and every other bit clear
+    */
+   private static long matches(long word, long pattern) {
+      long x = word ^ pattern;
+      // a byte's high bit is left clear by the sum only if the byte is zero
+      return ~(((x & LOWS) + LOWS) | x | LOWS);
+   }
+}
@@ -0,0 +1,208 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+/**
+ * {@link JSONInput} indexing directly into a {@link CharSequence} such as a
+ * {@link String}, so no characters are copied other than the substrings taken
+ * for quoted strings and words.
+ */
+final class JSONCharSequenceInput extends JSONInput {
+
+   private final CharSequence _chars;
+   private final int _start;
+   private int _pos;
+   private final int _end;
+   private int _lastPos;
+
+   /**
+    * Constructor
+    * 
+    * @param chars
+    *           the characters containing JSON content
+    * @param start
+    *           index of the first character to be read
+    * @param end
+    *           index after the last character to be read
+    */
+   JSONCharSequenceInput(CharSequence chars, int start, int end) {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      if (start < 0 || start > end || end > chars.length()) {
+         throw new IndexOutOfBoundsException("start " + start + ", end " + end
+            + " is outside of a sequence of length " + chars.length());
+      }
+      _chars = chars;
+      _start = start;
+      _pos = start;
+      _end = end;
+      _lastPos = start;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#locateTo(int)
+    */
+   @Override
+   void locateTo(int index) {
+      if (index > _locatedPos) {
+         _locatedColumn += index - _locatedPos;
+         _locatedPos = index;
+      }
+   }
+
+   /**
+    * @see com.api.json.JSONInput#offset()
+    */
+   @Override
+   long offset() {
+      return _pos - _start;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#position()
+    */
+   @Override
+   int position() {
+      return _pos;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#read()
+    */
+   @Override
+   int read() {
+      _lastPos = _pos;
+      if (_pos >= _end) {
+         _pastEnd++;
+         return EOF;
+      }
+      return _chars.charAt(_pos++);
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readQuoted(int, com.api.json.JSONSymbols)
+    */
+   @Override
+   String readQuoted(int quote, JSONSymbols symbols) {
+      CharSequence chars = _chars;
+      for (int i = _pos; i < _end; i++) {
+         char ch = chars.charAt(i);
+         if (ch == quote) {
+            String value = (symbols == null
+               ? chars.subSequence(_pos, i).toString()
+               : symbols.lookup(chars, _pos, i));
+            _lastPos = i;
+            _pos = i + 1;
+            return value;
+         }
+         if (ch == '\\' || ch == '\n' || ch == '\r') {
+            break;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readRun(int[], int)
+    */
+   @Override
+   String readRun(int[] charTable, int mask) {
+      CharSequence chars = _chars;
+      int i = _pos;
+      while (i < _end && (charTable[chars.charAt(i)] & mask) != 0) {
+         i++;
+      }
+      String value = chars.subSequence(_lastPos, i).toString();
+      _pos = i;
+      _lastPos = i - 1;
+      return value;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipBlanks()
+    */
+   @Override
+   int skipBlanks() {
+      CharSequence chars = _chars;
+      int i = _pos;
+      while (i < _end && (chars.charAt(i) == ' ' || chars.charAt(i) == '\t')) {
+         i++;
+      }
+      int count = i - _pos;
+      if (count > 0) {
+         _lastPos = i - 1;
+         _pos = i;
+      }
+      return count;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipQuotedRun(int)
+    */
+   @Override
+   int skipQuotedRun(int quote) {
+      CharSequence chars = _chars;
+      for (int i = _pos; i < _end; i++) {
+         char ch = chars.charAt(i);
+         if (ch == quote) {
+            int length = i - _pos;
+            _lastPos = i;
+            _pos = i + 1;
+            return length;
+         }
+         if (ch == '\\' || ch == '\n' || ch == '\r') {
+            break;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipRun(int[], int)
+    */
+   @Override
+   int skipRun(int[] charTable, int mask) {
+      CharSequence chars = _chars;
+      int i = _pos;
+      while (i < _end && (charTable[chars.charAt(i)] & mask) != 0) {
+         i++;
+      }
+      int length = i - _lastPos;
+      _pos = i;
+      _lastPos = i - 1;
+      return length;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#unread()
+    */
+   @Override
+   void unread() {
+      if (_lastPos == _pos && _pastEnd > 0) {
+         // the end of the input was read
+         _pastEnd--;
+      }
+      _pos = _lastPos;
+   }
+}
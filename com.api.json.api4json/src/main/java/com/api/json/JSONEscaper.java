@@ -0,0 +1,199 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the content of JSON strings in a single pass. Each character below
+ * 0x80 is looked up in a table holding its escape sequence (null when it is
+ * written as is), so runs of characters needing no escape are passed to the
+ * destination in bulk, and a String needing no escape at all is written
+ * without being copied. Control characters, the delete character and
+ * characters beyond ASCII are written as \\u escapes. The solidus is escaped
+ * when set by {@link JSON#escapeSolidus(boolean)}. When unset by
+ * {@link JSON#escapeUnicode(boolean)}, characters beyond ASCII are written as
+ * they are, apart from unpaired surrogates and (unless unset by
+ * {@link JSON#escapeLineSeparators(boolean)}) the line and paragraph
+ * separators.
+ */
+final class JSONEscaper {
+
+   private static final char[] HEX = "0123456789abcdef".toCharArray();
+   // escape sequences of the characters below 0x80, or null if not escaped
+   private static final String[] ESCAPES = new String[0x80];
+   static {
+      for (int ch = 0; ch < 0x20; ch++) {
+         ESCAPES[ch] = "\\u00" + HEX[ch >> 4] + HEX[ch & 0xF];
+      }
+      ESCAPES['\n'] = "\\n";
+      ESCAPES['\r'] = "\\r";
+      ESCAPES['\t'] = "\\t";
+      ESCAPES['"'] = "\\\"";
+      ESCAPES['\\'] = "\\\\";
+      ESCAPES['/'] = "\\/";
+      ESCAPES[0x7F] = "\\u007f";
+   }
+
+   /**
+    * Not instantiated
+    */
+   private JSONEscaper() {
+   }
+
+   /**
+    * Provides the supplied text with the escape sequences it needs within a
+    * JSON string
+    * 
+    * @param str
+    *           the text to be escaped
+    * @return the escaped text, or the supplied text itself when it needs no
+    *         escape
+    */
+   static String escape(String str) {
+      int i = indexOfEscape(str, 0, JSON.ESCAPE_SOLIDUS, JSON.ESCAPE_UNICODE);
+      if (i == str.length()) {
+         return str;
+      }
+      StringBuilder sb = new StringBuilder(str.length() + 16);
+      try {
+         write(sb, str, i);
+      } catch (IOException e) {
+         // not thrown when appending to a StringBuilder
+         throw new UncheckedIOException(e);
+      }
+      return sb.toString();
+   }
+
+   /**
+    * Finds the next character needing an escape
+    * 
+    * @param str
+    *           the text being escaped
+    * @param from
+    *           index of the first character examined
+    * @param solidus
+    *           whether the solidus is escaped
+    * @param unicode
+    *           whether characters beyond ASCII are escaped
+    * @return the index of the character, or the length of the text if there
+    *         is none
+    */
+   private static int indexOfEscape(CharSequence str, int from,
+      boolean solidus, boolean unicode) {
+      int length = str.length();
+      for (int i = from; i < length; i++) {
+         char ch = str.charAt(i);
+         if (ch < 0x80) {
+            if (ESCAPES[ch] != null && (ch != '/' || solidus)) {
+               return i;
+            }
+         } else if (unicode) {
+            return i;
+         } else if (Character.isHighSurrogate(ch)) {
+            if (i + 1 == length
+               || !Character.isLowSurrogate(str.charAt(i + 1))) {
+               return i;
+            }
+            // the pair is written as is
+            i++;
+         } else if (Character.isLowSurrogate(ch)
+            || ((ch == '\u2028' || ch == '\u2029')
+               && JSON.ESCAPE_LINE_SEPARATORS)) {
+            return i;
+         }
+      }
+      return length;
+   }
+
+   /**
+    * Writes the supplied text to the supplied destination with the escape
+    * sequences it needs within a JSON string. The enclosing quotes are not
+    * written.
+    * 
+    * @param out
+    *           destination receiving the escaped text
+    * @param str
+    *           the text to be escaped
+    * @throws IOException
+    *            if unable to write to the destination
+    */
+   static void write(Appendable out, CharSequence str) throws IOException {
+      int i = indexOfEscape(str, 0, JSON.ESCAPE_SOLIDUS, JSON.ESCAPE_UNICODE);
+      if (i == str.length()) {
+         out.append(str);
+         return;
+      }
+      write(out, str, i);
+   }
+
+   /**
+    * Writes the supplied text from its first character needing an escape
+    * 
+    * @param out
+    *           destination receiving the escaped text
+    * @param str
+    *           the text to be escaped
+    * @param i
+    *           index of the first character needing an escape
+    * @throws IOException
+    *            if unable to write to the destination
+    */
+   private static void write(Appendable out, CharSequence str, int i)
+      throws IOException {
+      boolean solidus = JSON.ESCAPE_SOLIDUS;
+      boolean unicode = JSON.ESCAPE_UNICODE;
+      int length = str.length();
+      int start = 0;
+      while (i < length) {
+         out.append(str, start, i);
+         char ch = str.charAt(i);
+         if (ch < 0x80) {
+            out.append(ESCAPES[ch]);
+         } else {
+            writeUnicode(out, ch);
+         }
+         start = i + 1;
+         i = indexOfEscape(str, start, solidus, unicode);
+      }
+      out.append(str, start, length);
+   }
+
+   /**
+    * Writes the \\u escape sequence of the supplied character
+    * 
+    * @param out
+    *           destination receiving the escape sequence
+    * @param ch
+    *           the character to be escaped
+    * @throws IOException
+    *            if unable to write to the destination
+    */
+   static void writeUnicode(Appendable out, char ch) throws IOException {
+      out.append('\\').append('u').append(HEX[ch >> 12])
+         .append(HEX[(ch >> 8) & 0xF]).append(HEX[(ch >> 4) & 0xF])
+         .append(HEX[ch & 0xF]);
+   }
+}
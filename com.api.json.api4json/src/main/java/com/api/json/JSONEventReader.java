@@ -0,0 +1,919 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull parser reporting JSON content as a sequence of {@link Event}s read on
+ * demand from the {@link JSONStreamTokenizer}, so documents of any size can be
+ * processed in constant memory. Event reading can be mixed with materializing
+ * the object or array just started as a {@link JSONObject} or
+ * {@link JSONArray} using {@link #getObject()} or {@link #getArray()}.
+ *
+ * A sequence of top level values (e.g., concatenated documents) may be read
+ * from the same input. Obtain a JSONEventReader from
+ * {@link JSONParser#createEventReader(java.io.Reader)} or one of its
+ * variations and close it once it is no longer needed.
+ */
+public class JSONEventReader implements Closeable {
+
+   /**
+    * Types of events reported by the {@link JSONEventReader}
+    */
+   public enum Event {
+      /** Start of a JSON array ([) */
+      START_ARRAY,
+      /** Start of a JSON object ({) */
+      START_OBJECT,
+      /** Name of the key of an object's key/value pair */
+      KEY_NAME,
+      /** A String value (quoted, or an unquoted word) */
+      VALUE_STRING,
+      /** A number value */
+      VALUE_NUMBER,
+      /** The true value */
+      VALUE_TRUE,
+      /** The false value */
+      VALUE_FALSE,
+      /** The null value */
+      VALUE_NULL,
+      /** End of a JSON object (}) */
+      END_OBJECT,
+      /** End of a JSON array (]) */
+      END_ARRAY,
+      /**
+       * The bytes fed to a {@link JSONFeedParser} end before the next event
+       * (never returned by a JSONEventReader)
+       */
+      NEED_MORE_INPUT
+   }
+
+   private static final char CLN = ':';
+   private static final char CMA = ',';
+   private static final char DQTE = '"';
+   private static final char LBKT = '[';
+   private static final char LBRC = '{';
+   private static final char RBKT = ']';
+   private static final char RBRC = '}';
+   private static final char SPC = ' ';
+   private static final char TAB = '\t';
+
+   // containers being read
+   private static final byte IN_ARRAY = 1;
+   private static final byte IN_OBJECT = 2;
+
+   // what is expected next
+   private static final int EXPECT_VALUE = 0;
+   private static final int EXPECT_KEY = 1;
+   private static final int EXPECT_COLON = 2;
+   private static final int EXPECT_DELIMITER = 3;
+
+   private JSONStreamTokenizer _jtok;
+   private final Closeable _closeable;
+   private byte[] _containers = new byte[32];
+   private int _depth = 0;
+   private int _state = EXPECT_VALUE;
+   private Event _event = null;
+   // text of the current key or String
+   private String _string = null;
+   // value of the current VALUE_NUMBER, held unboxed
+   private boolean _integral = false;
+   private long _long = 0L;
+   private double _double = 0.0d;
+   // value of the current VALUE_NUMBER when not read as a Long or Double
+   private Number _number = null;
+   // true if a line end preceded the token just read, so it may stand in for
+   // a comma as it does for JSON.parse
+   private boolean _lineEnded = false;
+
+   /**
+    * Constructor reading with the supplied tokenizer (e.g., one recycled by a
+    * {@link JSONParser})
+    * 
+    * @param jtok
+    *           the tokenizer to be used
+    * @param input
+    *           the input containing JSON content
+    * @param closeable
+    *           resource to be closed along with this reader, or null
+    */
+   JSONEventReader(JSONStreamTokenizer jtok, JSONInput input,
+      Closeable closeable) {
+      _jtok = jtok;
+      _jtok.reset(input);
+      _closeable = closeable;
+   }
+
+   /**
+    * Releases the tokenizer and closes any resource opened to read the input
+    * (e.g., a memory mapped file).
+    * 
+    * @see java.io.Closeable#close()
+    */
+   @Override
+   public void close() throws IOException {
+      if (_jtok != null) {
+         _jtok.reset(null);
+         _jtok = null;
+         if (_closeable != null) {
+            _closeable.close();
+         }
+      }
+   }
+
+   /**
+    * Skips the remainder of the object or array just started, recording its
+    * extent within the text being read so it may be parsed once accessed.
+    * The current event must be {@link Event#START_OBJECT} or
+    * {@link Event#START_ARRAY}, and afterward it is the matching end event.
+    * 
+    * @param extent
+    *           the extent being read
+    * @return a {@link JSONLazyObject} or {@link JSONLazyArray} for the
+    *         skipped object or array
+    * @throws IOException
+    *            If the object or array is not terminated.
+    */
+   JSONArtifact defer(JSONExtent extent) throws IOException {
+      boolean isObject = (_event == Event.START_OBJECT);
+      JSONExtent skipped = skip(extent);
+      return isObject ? new JSONLazyObject(skipped)
+         : new JSONLazyArray(skipped);
+   }
+
+   /**
+    * Skips the remainder of the object or array just started, returning its
+    * extent within the text being read. The current event must be
+    * {@link Event#START_OBJECT} or {@link Event#START_ARRAY}, and afterward it
+    * is the matching end event.
+    * 
+    * @param extent
+    *           the extent being read
+    * @return the extent of the skipped object or array
+    * @throws IOException
+    *            If the object or array is not terminated.
+    */
+   JSONExtent skip(JSONExtent extent) throws IOException {
+      boolean isObject = (_event == Event.START_OBJECT);
+      if (!isObject) {
+         ensureEvent(Event.START_ARRAY, "skip()");
+      }
+      JSONInput input = _jtok._input;
+      // the opening character has been read
+      int start = input.position() - 1;
+      int line = _jtok.getLineNumber();
+      int column = _jtok.getColumnNumber() - 1;
+      if (isObject) {
+         input.skipValue(LBRC, RBRC, _jtok);
+         endContainer(Event.END_OBJECT);
+      } else {
+         input.skipValue(LBKT, RBKT, _jtok);
+         endContainer(Event.END_ARRAY);
+      }
+      return extent.extent(start, input.position(), line, column);
+   }
+
+   /**
+    * Completes a container, updating the state of the enclosing container
+    * 
+    * @param event
+    *           the event ending the container
+    * @return the supplied event
+    */
+   private Event endContainer(Event event) {
+      _depth--;
+      endValue();
+      _event = event;
+      return event;
+   }
+
+   /**
+    * Updates the state once a value has been completely read
+    */
+   private void endValue() {
+      _state = (_depth == 0 ? EXPECT_VALUE : EXPECT_DELIMITER);
+   }
+
+   /**
+    * Ensures the current event is the one required by an accessor
+    * 
+    * @param event
+    *           the required event
+    * @param method
+    *           name of the accessor
+    */
+   private void ensureEvent(Event event, String method) {
+      if (_event != event) {
+         throw new IllegalStateException(method
+            + " requires the current event to be " + event + ", not " + _event);
+      }
+   }
+
+   /**
+    * Creates the exception for content that can not start a value
+    * 
+    * @param tokType
+    *           the type of token found
+    * @return exception describing the invalid content and its location
+    */
+   private IOException unexpected(int tokType) {
+      return new IOException("Unexpected character [" + ((char) tokType)
+         + "] while scanning JSON String for JSON type.  Invalid JSON. See line "
+         + _jtok.getLineNumber() + ", column " + _jtok.getColumnNumber());
+   }
+
+   /**
+    * Reads the remainder of the array just started as a {@link JSONArray}. The
+    * current event must be {@link Event#START_ARRAY}, and afterward it is
+    * {@link Event#END_ARRAY}.
+    * 
+    * @return the array read from the input
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArray getArray() throws IOException {
+      ensureEvent(Event.START_ARRAY, "getArray()");
+      JSONArray array = (JSONArray) JSON.doArray(_jtok, _depth);
+      endContainer(Event.END_ARRAY);
+      return array;
+   }
+
+   /**
+    * @return the column within the line of the input last read
+    */
+   public int getColumnNumber() {
+      return _jtok.getColumnNumber();
+   }
+
+   /**
+    * @return the number of objects and arrays currently open
+    */
+   public int getDepth() {
+      return _depth;
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER} as a double
+    */
+   public double getDouble() {
+      ensureEvent(Event.VALUE_NUMBER, "getDouble()");
+      return _integral ? (double) _long : _double;
+   }
+
+   /**
+    * @return the event most recently returned by {@link #next()}
+    */
+   public Event getEvent() {
+      return _event;
+   }
+
+   /**
+    * @return the line of the input last read
+    */
+   public int getLineNumber() {
+      return _jtok.getLineNumber();
+   }
+
+   /**
+    * @return the number of characters (or bytes, for UTF-8 encoded input)
+    *         read from the input
+    */
+   public long getOffset() {
+      return _jtok.getOffset();
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER} as a long
+    */
+   public long getLong() {
+      ensureEvent(Event.VALUE_NUMBER, "getLong()");
+      return _integral ? _long : (long) _double;
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER}, as a
+    *         {@link Long} or {@link Double} unless the parser creating this
+    *         reader uses another {@link JSONParser.NumberPolicy}
+    */
+   public Number getNumber() {
+      ensureEvent(Event.VALUE_NUMBER, "getNumber()");
+      if (_number != null) {
+         return _number;
+      }
+      if (_integral) {
+         return Long.valueOf(_long);
+      }
+      return Double.valueOf(_double);
+   }
+
+   /**
+    * Reads the remainder of the object just started as a {@link JSONObject}.
+    * The current event must be {@link Event#START_OBJECT}, and afterward it is
+    * {@link Event#END_OBJECT}.
+    * 
+    * @return the object read from the input
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONObject getObject() throws IOException {
+      ensureEvent(Event.START_OBJECT, "getObject()");
+      JSONObject jobj = (JSONObject) JSON.doObject(_jtok, _depth);
+      endContainer(Event.END_OBJECT);
+      return jobj;
+   }
+
+   /**
+    * @return the key name of the current {@link Event#KEY_NAME}, the value of
+    *         the current {@link Event#VALUE_STRING}, or the value of the
+    *         current {@link Event#VALUE_NUMBER} as a String (created on
+    *         demand, as numbers are read without creating Strings unless
+    *         another {@link JSONParser.NumberPolicy} is used)
+    */
+   public String getString() {
+      if (_event != Event.KEY_NAME && _event != Event.VALUE_STRING
+         && _event != Event.VALUE_NUMBER) {
+         throw new IllegalStateException(
+            "getString() requires the current event to be KEY_NAME, VALUE_STRING or VALUE_NUMBER, not "
+               + _event);
+      }
+      if (_event == Event.VALUE_NUMBER) {
+         if (_number != null) {
+            return _number.toString();
+         }
+         return (_integral ? Long.toString(_long) : Double.toString(_double));
+      }
+      return _string;
+   }
+
+   /**
+    * Provides the value of the current event as it would be stored in a
+    * {@link JSONObject} or {@link JSONArray}. For {@link Event#START_OBJECT} or
+    * {@link Event#START_ARRAY} the remainder of the object or array is read
+    * (see {@link #getObject()} and {@link #getArray()}).
+    * 
+    * @return the String, Number, Boolean, null, {@link JSONObject} or
+    *         {@link JSONArray} value of the current event
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public Object getValue() throws IOException {
+      if (_event == null) {
+         throw new IllegalStateException("getValue() requires a current event");
+      }
+      switch (_event) {
+         case START_OBJECT: {
+            return getObject();
+         }
+         case START_ARRAY: {
+            return getArray();
+         }
+         case KEY_NAME:
+         case END_OBJECT:
+         case END_ARRAY: {
+            throw new IllegalStateException(
+               "getValue() requires the current event to start a value, not "
+                  + _event);
+         }
+         case VALUE_NUMBER: {
+            return getNumber();
+         }
+         case VALUE_TRUE: {
+            return Boolean.TRUE;
+         }
+         case VALUE_FALSE: {
+            return Boolean.FALSE;
+         }
+         case VALUE_NULL: {
+            return null;
+         }
+         default: {
+            return _string;
+         }
+      }
+   }
+
+   /**
+    * Determines whether there are more events to be read. Once the top level
+    * value has been read, this looks for another top level value in the input.
+    * 
+    * @return true if {@link #next()} will return another event
+    * @throws IOException
+    *            If unable to read from the input.
+    */
+   public boolean hasNext() throws IOException {
+      if (_jtok == null) {
+         return false;
+      }
+      if (_depth > 0) {
+         return true;
+      }
+      int tokType = nextToken();
+      _jtok.pushBack();
+      return tokType != JSONStreamTokenizer.TT_EOF;
+   }
+
+   /**
+    * @return true if the current {@link Event#VALUE_NUMBER} has no fraction
+    *         so it is held as a {@link Long}
+    */
+   public boolean isIntegralNumber() {
+      ensureEvent(Event.VALUE_NUMBER, "isIntegralNumber()");
+      return _integral;
+   }
+
+   /**
+    * Sets the location reported for the start of the input, when the input
+    * begins part way through a larger text
+    * 
+    * @param line
+    *           the line of the first character of the input
+    * @param column
+    *           the column preceding the first character of the input
+    */
+   void locate(int line, int column) {
+      _jtok.locate(line, column);
+   }
+
+   /**
+    * Reads the next event from the input.
+    * 
+    * @return the next event
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @throws NoSuchElementException
+    *            If there are no more events (see {@link #hasNext()})
+    */
+   public Event next() throws IOException {
+      if (!hasNext()) {
+         throw new NoSuchElementException("No more JSON events");
+      }
+      _string = null;
+      while (true) {
+         // reuse the Strings of repeated keys
+         _jtok._keyExpected = (_state == EXPECT_KEY);
+         int tokType = nextToken();
+         _jtok._keyExpected = false;
+         switch (_state) {
+            case EXPECT_KEY: {
+               if (tokType == RBRC) {
+                  return endContainer(Event.END_OBJECT);
+               }
+               if (tokType == JSONStreamTokenizer.TT_EOF) {
+                  throw new IOException("Underminated object on line "
+                     + _jtok.getLineNumber() + ", column "
+                     + _jtok.getColumnNumber());
+               }
+               if (tokType == DQTE) {
+                  _string = _jtok.sval;
+                  _state = EXPECT_COLON;
+                  _event = Event.KEY_NAME;
+                  return _event;
+               }
+               if (tokType == JSONStreamTokenizer.TT_WORD
+                  || tokType == JSONStreamTokenizer.TT_NUMBER) {
+                  Object key = JSON.doValue(_jtok);
+                  if (key == null) {
+                     throw new IOException("Expecting string key on line "
+                        + _jtok.getLineNumber() + ", column "
+                        + _jtok.getColumnNumber());
+                  }
+                  _string = key.toString();
+                  _state = EXPECT_COLON;
+                  _event = Event.KEY_NAME;
+                  return _event;
+               }
+               if (tokType == LBRC || tokType == LBKT) {
+                  throw new IOException("Expecting string key on line "
+                     + _jtok.getLineNumber() + ", column "
+                     + _jtok.getColumnNumber());
+               }
+               throw unexpected(tokType);
+            }
+            case EXPECT_COLON: {
+               if (tokType != CLN) {
+                  throw new IOException("Expected ':'; found: " + tokType
+                     + " on line " + _jtok.getLineNumber() + ", column "
+                     + _jtok.getColumnNumber());
+               }
+               _state = EXPECT_VALUE;
+               break;
+            }
+            case EXPECT_DELIMITER: {
+               if (_containers[_depth - 1] == IN_OBJECT) {
+                  if (tokType == CMA) {
+                     _state = EXPECT_KEY;
+                  } else if (tokType == RBRC) {
+                     return endContainer(Event.END_OBJECT);
+                  } else if (tokType == JSONStreamTokenizer.TT_EOF) {
+                     throw new IOException("Underminated object on line "
+                        + _jtok.getLineNumber() + ", column "
+                        + _jtok.getColumnNumber());
+                  } else if (_lineEnded) {
+                     // the line end stands in for the comma
+                     _jtok.pushBack();
+                     _state = EXPECT_KEY;
+                  } else {
+                     throw new IOException(
+                        "Missing comma delimiter or an unquoted string value on line "
+                           + _jtok.getLineNumber() + ", near column "
+                           + _jtok.getColumnNumber());
+                  }
+               } else {
+                  if (tokType == CMA) {
+                     _state = EXPECT_VALUE;
+                  } else if (tokType == RBKT) {
+                     return endContainer(Event.END_ARRAY);
+                  } else if (tokType == JSONStreamTokenizer.TT_EOF) {
+                     throw new IOException("Unterminated object on line "
+                        + _jtok.getLineNumber() + ", column "
+                        + _jtok.getColumnNumber());
+                  } else if (_lineEnded) {
+                     // the line end stands in for the comma
+                     _jtok.pushBack();
+                     _state = EXPECT_VALUE;
+                  } else {
+                     throw new IOException(
+                        "Array missing comma delimiter in line "
+                           + _jtok.getLineNumber() + ", column "
+                           + _jtok.getColumnNumber());
+                  }
+               }
+               break;
+            }
+            default: {
+               // EXPECT_VALUE
+               if (tokType == RBKT && _depth > 0
+                  && _containers[_depth - 1] == IN_ARRAY) {
+                  // empty array (or a trailing comma)
+                  return endContainer(Event.END_ARRAY);
+               }
+               if (tokType == JSONStreamTokenizer.TT_EOF) {
+                  if (_depth > 0 && _containers[_depth - 1] == IN_ARRAY) {
+                     throw new IOException("Unterminated object on line "
+                        + _jtok.getLineNumber() + ", column "
+                        + _jtok.getColumnNumber());
+                  }
+                  throw new IOException("Underminated object on line "
+                     + _jtok.getLineNumber() + ", column "
+                     + _jtok.getColumnNumber());
+               }
+               return startValue(tokType);
+            }
+         }
+      }
+   }
+
+   /**
+    * Reads the next token, skipping over spaces, tabs and line ends
+    * 
+    * @return the type of the next significant token
+    * @throws IOException
+    *            If unable to read from the input.
+    */
+   private int nextToken() throws IOException {
+      if (!_jtok._isPushedBack) {
+         _lineEnded = false;
+      }
+      while (true) {
+         int tokType = _jtok.nextToken();
+         switch (tokType) {
+            case SPC:
+            case TAB: {
+               _jtok.skipBlanks();
+               break;
+            }
+            case JSONStreamTokenizer.TT_CR:
+            case JSONStreamTokenizer.TT_EOL: {
+               _jtok.newLine();
+               _lineEnded = true;
+               break;
+            }
+            default: {
+               return tokType;
+            }
+         }
+      }
+   }
+
+   /**
+    * Reads all remaining events, passing each to the matching callback of the
+    * supplied handler. Numbers are passed unboxed and no {@link JSONObject} or
+    * {@link JSONArray} is created.
+    * 
+    * @param handler
+    *           the handler receiving the content read
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public void read(JSONHandler handler) throws IOException {
+      if (handler == null) {
+         throw new NullPointerException("handler cannot be null");
+      }
+      while (hasNext()) {
+         switch (next()) {
+            case START_OBJECT: {
+               handler.startObject();
+               break;
+            }
+            case START_ARRAY: {
+               handler.startArray();
+               break;
+            }
+            case KEY_NAME: {
+               handler.key(_string);
+               break;
+            }
+            case VALUE_STRING: {
+               handler.value(_string);
+               break;
+            }
+            case VALUE_NUMBER: {
+               if (_integral) {
+                  handler.value(_long);
+               } else {
+                  handler.value(_double);
+               }
+               break;
+            }
+            case VALUE_TRUE: {
+               handler.value(true);
+               break;
+            }
+            case VALUE_FALSE: {
+               handler.value(false);
+               break;
+            }
+            case VALUE_NULL: {
+               handler.nullValue();
+               break;
+            }
+            case END_OBJECT: {
+               handler.endObject();
+               break;
+            }
+            default: {
+               handler.endArray();
+               break;
+            }
+         }
+      }
+   }
+
+   /**
+    * Records a newly opened container
+    * 
+    * @param container
+    *           the type of container opened
+    * @throws IOException
+    *            If the container is nested too deeply.
+    */
+   private void push(byte container) throws IOException {
+      if (_depth >= _jtok._maxDepth) {
+         throw JSON.tooDeep(_jtok);
+      }
+      if (_depth == _containers.length) {
+         _containers = Arrays.copyOf(_containers, _depth * 2);
+      }
+      _containers[_depth++] = container;
+   }
+
+   /**
+    * Classifies the token just read the same way as
+    * {@link JSON#doValue(JSONStreamTokenizer)}, but holds numbers
+    * in primitive fields rather than boxing them.
+    * 
+    * @param tokType
+    *           the type of token read
+    * @return the event for the value
+    */
+   private Event scalar(int tokType) {
+      if (tokType == JSONStreamTokenizer.TT_NUMBER) {
+         _integral = _jtok._isIntegral;
+         _long = _jtok._lval;
+         _double = _jtok.nval;
+         _number = null;
+         if (_jtok._numberPolicy != JSONParser.NumberPolicy.DOUBLE) {
+            _number = (Number) JSON.getNumber(_jtok);
+         }
+         return Event.VALUE_NUMBER;
+      }
+      String text = _jtok.sval;
+      if (tokType != DQTE) {
+         // a word is a string or boolean
+         if (text.equalsIgnoreCase("true")) {
+            return Event.VALUE_TRUE;
+         }
+         if (text.equalsIgnoreCase("false")) {
+            return Event.VALUE_FALSE;
+         }
+         if (text.equals("null")) {
+            return Event.VALUE_NULL;
+         }
+      }
+      _string = text;
+      return Event.VALUE_STRING;
+   }
+
+   /**
+    * Skips the remainder of the array just started. The current event must be
+    * {@link Event#START_ARRAY}, and afterward it is {@link Event#END_ARRAY}.
+    * 
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public void skipArray() throws IOException {
+      ensureEvent(Event.START_ARRAY, "skipArray()");
+      skipContainer();
+   }
+
+   /**
+    * Reads events until the container just started has ended
+    * 
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private void skipContainer() throws IOException {
+      int depth = _depth - 1;
+      while (_depth > depth) {
+         next();
+      }
+   }
+
+   /**
+    * Skips the next value without reporting its events or creating Strings or
+    * Numbers for its content. This may be called in place of {@link #next()}
+    * when the next event would start a value that is not wanted (e.g., after a
+    * {@link Event#KEY_NAME}, or for the next element of an array).
+    * 
+    * @return true if a value was skipped, or false if a value does not start
+    *         here (e.g., the array being read has ended), in which case
+    *         {@link #next()} reports what was found instead
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @throws IllegalStateException
+    *            If a key is expected next rather than a value
+    */
+   public boolean skipValue() throws IOException {
+      if (!hasNext()) {
+         throw new NoSuchElementException("No more JSON events");
+      }
+      if (_state == EXPECT_COLON) {
+         int tokType = nextToken();
+         if (tokType != CLN) {
+            throw new IOException("Expected ':'; found: " + tokType
+               + " on line " + _jtok.getLineNumber() + ", column "
+               + _jtok.getColumnNumber());
+         }
+         _state = EXPECT_VALUE;
+      } else if (_state == EXPECT_DELIMITER
+         && _containers[_depth - 1] == IN_ARRAY) {
+         int tokType = nextToken();
+         if (tokType != CMA) {
+            _jtok.pushBack();
+            if (!_lineEnded || tokType == RBKT
+               || tokType == JSONStreamTokenizer.TT_EOF) {
+               // leave the end of the array (or error) for next()
+               return false;
+            }
+            // the line end stands in for the comma
+         }
+         _state = EXPECT_VALUE;
+      }
+      if (_state != EXPECT_VALUE) {
+         throw new IllegalStateException(
+            "skipValue() requires a value to be next, not a key");
+      }
+      if (_jtok._isPushedBack) {
+         // hasNext() already read the token starting a top level value, or a
+         // line end stood in for a comma before it
+         Event event = next();
+         if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+            skipContainer();
+         }
+         return true;
+      }
+      // scan the characters directly rather than reading tokens
+      JSONInput input = _jtok._input;
+      int line = _jtok.getLineNumber();
+      int offset = _jtok.getColumnNumber() + 1;
+      int ch = input.read();
+      while (ch == SPC || ch == TAB || ch == '\n' || ch == '\r'
+         || _jtok.isWhitespaceChar(ch)) {
+         if (ch == '\n' || ch == '\r') {
+            line++;
+            offset = 0;
+         }
+         ch = input.read();
+         offset++;
+      }
+      _jtok.moveTo(line, offset);
+      switch (ch) {
+         case LBRC: {
+            input.skipValue(LBRC, RBRC, _jtok);
+            break;
+         }
+         case LBKT: {
+            input.skipValue(LBKT, RBKT, _jtok);
+            break;
+         }
+         case DQTE: {
+            input.skipQuoted(DQTE, _jtok);
+            break;
+         }
+         default: {
+            if (!_jtok.isWordChar(ch)) {
+               // leave whatever was found for next()
+               input.unread();
+               _jtok.moveTo(line, offset - 1);
+               return false;
+            }
+            // an exponent may be signed, even though + is not a word character
+            boolean numeric = (ch == '-' || ch == '.' || (ch >= '0' && ch <= '9'));
+            int prior = ch;
+            while (_jtok.isWordChar(ch = input.read())
+               || (numeric && ch == '+' && (prior == 'e' || prior == 'E'))) {
+               prior = ch;
+               offset++;
+            }
+            input.unread();
+            _jtok.moveTo(line, offset);
+         }
+      }
+      _string = null;
+      _event = null;
+      endValue();
+      return true;
+   }
+
+   /**
+    * Skips the remainder of the object just started. The current event must be
+    * {@link Event#START_OBJECT}, and afterward it is {@link Event#END_OBJECT}.
+    * 
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public void skipObject() throws IOException {
+      ensureEvent(Event.START_OBJECT, "skipObject()");
+      skipContainer();
+   }
+
+   /**
+    * Reports the start of the value beginning with the supplied token
+    * 
+    * @param tokType
+    *           the type of token starting the value
+    * @return the event for the value
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private Event startValue(int tokType) throws IOException {
+      switch (tokType) {
+         case LBRC: {
+            push(IN_OBJECT);
+            _state = EXPECT_KEY;
+            _event = Event.START_OBJECT;
+            return _event;
+         }
+         case LBKT: {
+            push(IN_ARRAY);
+            _state = EXPECT_VALUE;
+            _event = Event.START_ARRAY;
+            return _event;
+         }
+         case JSONStreamTokenizer.TT_WORD:
+         case JSONStreamTokenizer.TT_NUMBER:
+         case DQTE: {
+            endValue();
+            _event = scalar(tokType);
+            return _event;
+         }
+         default: {
+            throw unexpected(tokType);
+         }
+      }
+   }
+}
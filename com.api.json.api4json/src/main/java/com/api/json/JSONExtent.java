@@ -0,0 +1,309 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import com.api.json.JSONEventReader.Event;
+
+/**
+ * Extent of JSON text held in memory (a {@link CharSequence}, char array or
+ * UTF-8 encoded byte array) recorded by a lazy parse so the object or array
+ * it holds may be parsed once it is first accessed. Each parse reads a single
+ * level: objects and arrays nested within the extent are skipped and recorded
+ * as extents of their own within a {@link JSONLazyObject} or
+ * {@link JSONLazyArray}.
+ */
+final class JSONExtent {
+
+   // CharSequence, char[] or byte[] holding the text
+   private final Object _source;
+   private final int _start;
+   private final int _end;
+   // location of the extent's first character within the original text
+   private final int _line;
+   private final int _column;
+   // parser whose configuration is used to read the extent
+   private final JSONParser _parser;
+   // keys read from the text, shared by all of its extents
+   private final JSONSymbols _symbols;
+
+   /**
+    * Constructor
+    * 
+    * @param source
+    *           the CharSequence, char[] or byte[] holding the text
+    * @param start
+    *           index of the first character or byte of the extent
+    * @param end
+    *           index after the last character or byte of the extent
+    * @param line
+    *           line of the first character of the extent
+    * @param column
+    *           column preceding the first character of the extent
+    * @param parser
+    *           parser whose configuration is used to read the extent
+    * @param symbols
+    *           table of the keys read from the text
+    */
+   JSONExtent(Object source, int start, int end, int line, int column,
+      JSONParser parser, JSONSymbols symbols) {
+      _source = source;
+      _start = start;
+      _end = end;
+      _line = line;
+      _column = column;
+      _parser = parser;
+      _symbols = symbols;
+   }
+
+   /**
+    * Parses the top level value of the supplied text, reading nested objects
+    * and arrays lazily.
+    * 
+    * @param source
+    *           the CharSequence, char[] or byte[] holding the text
+    * @param start
+    *           index of the first character or byte to be parsed
+    * @param end
+    *           index after the last character or byte to be parsed
+    * @param parser
+    *           parser whose configuration is used to read the text
+    * @return the {@link JSONObject} or {@link JSONArray} parsed, or null if
+    *         there is no content
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   static JSONArtifact parse(Object source, int start, int end,
+      JSONParser parser) throws IOException {
+      JSONExtent extent = new JSONExtent(source, start, end, 1, 0,
+         parser, new JSONSymbols());
+      try (JSONEventReader reader = extent.reader()) {
+         if (!reader.hasNext()) {
+            return null;
+         }
+         Event event = reader.next();
+         if (event == Event.START_OBJECT) {
+            JSONObject jobj = new JSONObject();
+            extent.fill(reader, jobj);
+            return jobj;
+         }
+         if (event == Event.START_ARRAY) {
+            JSONArray array = new JSONArray();
+            extent.fill(reader, array);
+            return array;
+         }
+         throw new IOException(
+            "Does not parse as a JSONObject or JSONArray. It is a "
+               + event);
+      }
+   }
+
+   /**
+    * Creates the extent of a nested object or array
+    * 
+    * @param start
+    *           index of the opening character or byte
+    * @param end
+    *           index after the closing character or byte
+    * @param line
+    *           line of the opening character
+    * @param column
+    *           column preceding the opening character
+    * @return the nested extent sharing this extent's text
+    */
+   JSONExtent extent(int start, int end, int line, int column) {
+      return new JSONExtent(_source, start, end, line, column,
+         _parser, _symbols);
+   }
+
+   /**
+    * Reads the entries of the object just started into the supplied object,
+    * deferring nested objects and arrays.
+    * 
+    * @param reader
+    *           reader whose current event is {@link Event#START_OBJECT}
+    * @param jobj
+    *           object receiving the entries
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private void fill(JSONEventReader reader, JSONObject jobj)
+      throws IOException {
+      String key = null;
+      while (true) {
+         Event event = reader.next();
+         if (event == Event.END_OBJECT) {
+            return;
+         }
+         if (event == Event.KEY_NAME) {
+            key = reader.getString();
+         } else {
+            jobj.put(key, value(reader));
+         }
+      }
+   }
+
+   /**
+    * Reads the elements of the array just started into the supplied array,
+    * deferring nested objects and arrays.
+    * 
+    * @param reader
+    *           reader whose current event is {@link Event#START_ARRAY}
+    * @param array
+    *           array receiving the elements
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private void fill(JSONEventReader reader, JSONArray array)
+      throws IOException {
+      while (reader.next() != Event.END_ARRAY) {
+         array.add(value(reader));
+      }
+   }
+
+   /**
+    * @return the number of characters or bytes in this extent
+    */
+   int length() {
+      return _end - _start;
+   }
+
+   /**
+    * @return tokenizer configured to read this extent
+    */
+   JSONStreamTokenizer newTokenizer() {
+      // objects materialized on different threads may share the table, as a
+      // key is only taken from it once its characters have been compared
+      return _parser.newTokenizer(_symbols);
+   }
+
+   /**
+    * Parses the object or array held in this extent, including its nested
+    * objects and arrays
+    * 
+    * @param jtok
+    *           the tokenizer used to read the extent, which may be reused
+    *           afterward
+    * @return the {@link JSONObject} or {@link JSONArray} parsed
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   JSONArtifact parse(JSONStreamTokenizer jtok) throws IOException {
+      try (JSONEventReader reader = reader(jtok)) {
+         if (reader.next() == Event.START_OBJECT) {
+            return reader.getObject();
+         }
+         return reader.getArray();
+      }
+   }
+
+   /**
+    * Parses the object held in this extent into the supplied object
+    * 
+    * @param jobj
+    *           the object receiving the entries
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   void parseInto(JSONObject jobj) throws IOException {
+      try (JSONEventReader reader = reader()) {
+         reader.next();
+         fill(reader, jobj);
+      }
+   }
+
+   /**
+    * Parses the array held in this extent into the supplied array
+    * 
+    * @param array
+    *           the array receiving the elements
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   void parseInto(JSONArray array) throws IOException {
+      try (JSONEventReader reader = reader()) {
+         reader.next();
+         fill(reader, array);
+      }
+   }
+
+   /**
+    * @return event reader positioned at the start of this extent
+    */
+   JSONEventReader reader() {
+      return reader(newTokenizer());
+   }
+
+   /**
+    * @param jtok
+    *           the tokenizer used to read the extent
+    * @return event reader positioned at the start of this extent
+    */
+   private JSONEventReader reader(JSONStreamTokenizer jtok) {
+      JSONInput input;
+      if (_source instanceof byte[]) {
+         input = new JSONUTF8Input((byte[]) _source, _start, _end - _start);
+      } else if (_source instanceof char[]) {
+         input = new JSONReaderInput((char[]) _source, _start, _end - _start);
+      } else {
+         input = new JSONCharSequenceInput((CharSequence) _source, _start,
+            _end);
+      }
+      JSONEventReader reader = new JSONEventReader(jtok, input, null);
+      reader.locate(_line, _column);
+      return reader;
+   }
+
+   /**
+    * @return the original text of this extent
+    */
+   String text() {
+      if (_source instanceof byte[]) {
+         return new String((byte[]) _source, _start, _end - _start,
+            StandardCharsets.UTF_8);
+      }
+      if (_source instanceof char[]) {
+         return new String((char[]) _source, _start, _end - _start);
+      }
+      return ((CharSequence) _source).subSequence(_start, _end).toString();
+   }
+
+   /**
+    * Provides the value of the current event, recording the extent of an
+    * object or array rather than reading it.
+    * 
+    * @param reader
+    *           the reader positioned at the start of a value
+    * @return the value of the current event
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private Object value(JSONEventReader reader) throws IOException {
+      Event event = reader.getEvent();
+      if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+         return reader.defer(this);
+      }
+      return reader.getValue();
+   }
+}
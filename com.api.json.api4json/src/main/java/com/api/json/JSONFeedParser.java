@@ -0,0 +1,441 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import com.api.json.JSONEventReader.Event;
+
+/**
+ * Non-blocking parser of UTF-8 encoded JSON content supplied in chunks as it
+ * arrives (e.g., the buffers of a request body read by an NIO event loop).
+ * Each chunk passed to {@link #feed(ByteBuffer)} is copied, so its buffer may
+ * be reused right away. {@link #next()} then returns the events whose content
+ * has been fed, or {@link Event#NEED_MORE_INPUT} when the bytes fed so far end
+ * before the next event, and {@link #nextArtifact()} returns each top level
+ * object or array once its last byte has been fed. The state of the parse is
+ * kept between chunks, so no thread blocks waiting for content and only the
+ * bytes not yet read are retained. Once the last chunk has been fed,
+ * {@link #endOfInput()} must be called so the final events (and any error
+ * for truncated content) are reported. Obtain a parser from
+ * {@link JSONParser#createFeedParser()}. A feed parser is not thread safe.
+ */
+public final class JSONFeedParser {
+
+   /**
+    * Supplies the input with the fed bytes ending in complete tokens
+    */
+   private final class Chunks implements JSONUTF8Input.Source {
+
+      /**
+       * @see com.api.json.JSONUTF8Input.Source#next()
+       */
+      @Override
+      public ByteBuffer next() {
+         if (_handed >= _complete) {
+            return (_ended && _chunks.isEmpty()) ? null : NONE;
+         }
+         ByteBuffer chunk = _chunks.peek();
+         int count = (int) Math.min(chunk.remaining(), _complete - _handed);
+         ByteBuffer bytes = chunk.duplicate();
+         bytes.limit(bytes.position() + count);
+         chunk.position(chunk.position() + count);
+         if (!chunk.hasRemaining()) {
+            _chunks.poll();
+         }
+         _handed += count;
+         return bytes;
+      }
+   }
+
+   private static final ByteBuffer NONE = ByteBuffer.allocate(0);
+
+   // copies of the fed bytes not yet given to the input
+   private final ArrayDeque<ByteBuffer> _chunks = new ArrayDeque<>();
+   private final JSONEventReader _reader;
+   // counts of the bytes fed, given to the input, and ending in complete
+   // tokens
+   private long _fed = 0L;
+   private long _handed = 0L;
+   private long _complete = 0L;
+   // state of the scan for complete tokens, kept between chunks
+   private boolean _inString = false;
+   private boolean _escaped = false;
+   private boolean _inWord = false;
+   // complete tokens starting an event that have not yet been read
+   private int _available = 0;
+   private boolean _ended = false;
+   // objects and arrays being built by nextArtifact(), and their keys
+   private final List<JSONArtifact> _containers = new ArrayList<>();
+   private final List<String> _keys = new ArrayList<>();
+
+   /**
+    * Constructor
+    * 
+    * @param parser
+    *           parser whose configuration is used to read the content
+    */
+   JSONFeedParser(JSONParser parser) {
+      _reader = new JSONEventReader(parser.newTokenizer(new JSONSymbols()),
+         new JSONUTF8Input(new Chunks()), null);
+   }
+
+   /**
+    * Adds a value read by {@link #nextArtifact()} to the object or array
+    * being built
+    * 
+    * @param value
+    *           the value read
+    */
+   private void add(Object value) {
+      int top = _containers.size() - 1;
+      JSONArtifact container = _containers.get(top);
+      if (container instanceof JSONObject) {
+         ((JSONObject) container).put(_keys.get(top), value);
+      } else {
+         ((JSONArray) container).add(value);
+      }
+   }
+
+   /**
+    * Signals that all of the content has been fed, so the events of a final
+    * unterminated number or word may be read, and truncated content is
+    * reported as an error.
+    */
+   public void endOfInput() {
+      if (!_ended) {
+         _ended = true;
+         if (_inWord) {
+            _inWord = false;
+            _available++;
+         }
+         _complete = _fed;
+      }
+   }
+
+   /**
+    * Feeds the supplied bytes, which are copied
+    * 
+    * @param bytes
+    *           array holding UTF-8 encoded JSON content
+    * @param offset
+    *           index of the first byte to be fed
+    * @param length
+    *           number of bytes to be fed
+    * @throws IllegalStateException
+    *            If {@link #endOfInput()} has been called.
+    */
+   public void feed(byte[] bytes, int offset, int length) {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      feed(ByteBuffer.wrap(bytes, offset, length));
+   }
+
+   /**
+    * Feeds the bytes remaining in the supplied buffer, which are copied. The
+    * buffer's position is advanced to its limit.
+    * 
+    * @param buffer
+    *           buffer holding UTF-8 encoded JSON content
+    * @throws IllegalStateException
+    *            If {@link #endOfInput()} has been called.
+    */
+   public void feed(ByteBuffer buffer) {
+      if (buffer == null) {
+         throw new NullPointerException("buffer cannot be null");
+      }
+      if (_ended) {
+         throw new IllegalStateException("feed() called after endOfInput()");
+      }
+      if (!buffer.hasRemaining()) {
+         return;
+      }
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      _chunks.add(ByteBuffer.wrap(bytes));
+      scan(bytes);
+   }
+
+   /**
+    * @return the column within the line of the input last read
+    */
+   public int getColumnNumber() {
+      return _reader.getColumnNumber();
+   }
+
+   /**
+    * @return the number of objects and arrays currently open
+    */
+   public int getDepth() {
+      return _reader.getDepth();
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER} as a double
+    * @see com.api.json.JSONEventReader#getDouble()
+    */
+   public double getDouble() {
+      return _reader.getDouble();
+   }
+
+   /**
+    * @return the event most recently returned by {@link #next()}, other than
+    *         {@link Event#NEED_MORE_INPUT}
+    */
+   public Event getEvent() {
+      return _reader.getEvent();
+   }
+
+   /**
+    * @return the line of the input last read
+    */
+   public int getLineNumber() {
+      return _reader.getLineNumber();
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER} as a long
+    * @see com.api.json.JSONEventReader#getLong()
+    */
+   public long getLong() {
+      return _reader.getLong();
+   }
+
+   /**
+    * @return the number of bytes read from those fed so far
+    */
+   public long getOffset() {
+      return _reader.getOffset();
+   }
+
+   /**
+    * @return the value of the current {@link Event#VALUE_NUMBER}
+    * @see com.api.json.JSONEventReader#getNumber()
+    */
+   public Number getNumber() {
+      return _reader.getNumber();
+   }
+
+   /**
+    * @return the key name of the current {@link Event#KEY_NAME}, or the value
+    *         of the current {@link Event#VALUE_STRING} or
+    *         {@link Event#VALUE_NUMBER} as a String
+    * @see com.api.json.JSONEventReader#getString()
+    */
+   public String getString() {
+      return _reader.getString();
+   }
+
+   /**
+    * Provides the value of the current String, number, boolean or null event
+    * as it would be stored in a {@link JSONObject} or {@link JSONArray}. Objects and arrays
+    * whose content may not have been fed yet are read with
+    * {@link #nextArtifact()} instead.
+    * 
+    * @return the String, Number, Boolean or null value of the current event
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @throws IllegalStateException
+    *            If the current event starts an object or array.
+    */
+   public Object getValue() throws IOException {
+      Event event = _reader.getEvent();
+      if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+         throw new IllegalStateException(
+            "getValue() can not read the remainder of an object or array; use nextArtifact()");
+      }
+      return _reader.getValue();
+   }
+
+   /**
+    * @return true if the current {@link Event#VALUE_NUMBER} has no fraction
+    * @see com.api.json.JSONEventReader#isIntegralNumber()
+    */
+   public boolean isIntegralNumber() {
+      return _reader.isIntegralNumber();
+   }
+
+   /**
+    * Reads the next event from the bytes fed so far. Once the top level value
+    * has been read, this looks for another top level value.
+    * 
+    * @return the next event, {@link Event#NEED_MORE_INPUT} if the bytes fed
+    *         so far end before the next event, or null if there are no more
+    *         events after {@link #endOfInput()} has been called
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public Event next() throws IOException {
+      if (_available > 0) {
+         // the input holds every byte of the event's tokens
+         _available--;
+         return _reader.next();
+      }
+      if (!_ended) {
+         return Event.NEED_MORE_INPUT;
+      }
+      // reports truncated content
+      return _reader.hasNext() ? _reader.next() : null;
+   }
+
+   /**
+    * Reads the next top level {@link JSONObject} or {@link JSONArray} from the
+    * bytes fed so far. The part of an object or array already fed is kept
+    * between calls, so each call only reads the bytes fed since the last.
+    * This must not be mixed with calls to {@link #next()} while reading a top
+    * level value.
+    * 
+    * @return the next top level object or array, or null if the bytes fed so
+    *         far end before it is complete, or there are no more values after
+    *         {@link #endOfInput()} has been called
+    * @throws IOException
+    *            If a parsing error occurs or a top level value is not an
+    *            object or array.
+    * @throws IllegalStateException
+    *            If {@link #next()} has been called within a top level value.
+    */
+   public JSONArtifact nextArtifact() throws IOException {
+      if (_containers.isEmpty() && _reader.getDepth() > 0) {
+         throw new IllegalStateException(
+            "nextArtifact() called within a top level value read by next()");
+      }
+      while (true) {
+         Event event = next();
+         if (event == null || event == Event.NEED_MORE_INPUT) {
+            return null;
+         }
+         switch (event) {
+            case START_OBJECT: {
+               _containers.add(new JSONObject());
+               _keys.add(null);
+               break;
+            }
+            case START_ARRAY: {
+               _containers.add(new JSONArray());
+               _keys.add(null);
+               break;
+            }
+            case KEY_NAME: {
+               _keys.set(_keys.size() - 1, _reader.getString());
+               break;
+            }
+            case END_OBJECT:
+            case END_ARRAY: {
+               int top = _containers.size() - 1;
+               JSONArtifact container = _containers.remove(top);
+               _keys.remove(top);
+               if (top == 0) {
+                  return container;
+               }
+               add(container);
+               break;
+            }
+            default: {
+               if (_containers.isEmpty()) {
+                  throw new IOException(
+                     "Does not parse as a JSONObject or JSONArray. It is a "
+                        + event);
+               }
+               add(_reader.getValue());
+               break;
+            }
+         }
+      }
+   }
+
+   /**
+    * Scans the bytes just fed for the end of the last complete token, counting
+    * the complete tokens starting an event (brackets, strings, numbers and
+    * words). A number or word is only complete once the byte following it has
+    * been fed.
+    * 
+    * @param bytes
+    *           the bytes just fed
+    */
+   private void scan(byte[] bytes) {
+      long offset = _fed;
+      for (int i = 0; i < bytes.length; i++) {
+         int b = bytes[i];
+         if (_inString) {
+            if (_escaped) {
+               _escaped = false;
+            } else if (b == '\\') {
+               _escaped = true;
+            } else if (b == '"') {
+               _inString = false;
+               _available++;
+               _complete = offset + i + 1;
+            }
+            continue;
+         }
+         switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+            case '\f':
+            case '\b':
+            case ':':
+            case ',': {
+               break;
+            }
+            case '{':
+            case '}':
+            case '[':
+            case ']': {
+               if (_inWord) {
+                  _inWord = false;
+                  _available++;
+               }
+               _available++;
+               break;
+            }
+            case '"': {
+               if (_inWord) {
+                  _inWord = false;
+                  _available++;
+                  _complete = offset + i;
+               }
+               _inString = true;
+               continue;
+            }
+            default: {
+               _inWord = true;
+               continue;
+            }
+         }
+         // a delimiter ends any number or word before it
+         if (_inWord) {
+            _inWord = false;
+            _available++;
+         }
+         _complete = offset + i + 1;
+      }
+      _fed += bytes.length;
+   }
+}
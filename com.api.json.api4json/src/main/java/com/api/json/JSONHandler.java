@@ -0,0 +1,137 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+
+/**
+ * Callbacks receiving JSON content as it is parsed by
+ * {@link JSON#parse(java.io.Reader, JSONHandler)} or one of its variations.
+ * No {@link JSONObject} or {@link JSONArray} is created and numbers are passed
+ * as primitives, so content may be processed without allocating a tree. Each
+ * callback does nothing by default, so only those of interest need to be
+ * overridden. Throwing an IOException from a callback ends the parse.
+ */
+public interface JSONHandler {
+
+   /**
+    * Called at the end of a JSON array (])
+    * 
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void endArray() throws IOException {
+   }
+
+   /**
+    * Called at the end of a JSON object (})
+    * 
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void endObject() throws IOException {
+   }
+
+   /**
+    * Called with the key of the next key/value pair of the current object
+    * 
+    * @param key
+    *           the name of the key
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void key(String key) throws IOException {
+   }
+
+   /**
+    * Called for a null value
+    * 
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void nullValue() throws IOException {
+   }
+
+   /**
+    * Called at the start of a JSON array ([)
+    * 
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void startArray() throws IOException {
+   }
+
+   /**
+    * Called at the start of a JSON object ({)
+    * 
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void startObject() throws IOException {
+   }
+
+   /**
+    * Called for a true or false value
+    * 
+    * @param value
+    *           the boolean value
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void value(boolean value) throws IOException {
+   }
+
+   /**
+    * Called for a number value having a fraction, or too large to be held as
+    * a long
+    * 
+    * @param value
+    *           the number value
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void value(double value) throws IOException {
+   }
+
+   /**
+    * Called for a number value without a fraction
+    * 
+    * @param value
+    *           the number value
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void value(long value) throws IOException {
+   }
+
+   /**
+    * Called for a String value (quoted, or an unquoted word)
+    * 
+    * @param value
+    *           the String value
+    * @throws IOException
+    *            to stop parsing
+    */
+   default void value(String value) throws IOException {
+   }
+}
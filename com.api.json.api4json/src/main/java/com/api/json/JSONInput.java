@@ -0,0 +1,343 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+
+/**
+ * Source of characters for the {@link JSONStreamTokenizer}. Implementations
+ * read from an indexed buffer so the single character of lookahead needed by
+ * the tokenizer is undone by stepping back an index rather than through a
+ * {@link java.io.PushbackReader}.
+ */
+abstract class JSONInput {
+
+   static final int EOF = -1;
+
+   // location of the character preceding the one at index _locatedPos, only
+   // computed when asked for (see JSONParser.LocationPolicy#OFFSET)
+   boolean _locating = false;
+   int _locatedPos = 0;
+   int _locatedLine = 1;
+   int _locatedColumn = 0;
+   // reads returning EOF since then, which the tokenizer counts as columns
+   int _pastEnd = 0;
+   // error raised by the underlying source, so it may be told apart from a
+   // parse error
+   IOException _readError = null;
+
+   /**
+    * Rethrows the error raised by the underlying source while the input was
+    * read, if there was one, so a caller reporting parse errors as a result
+    * (e.g., a validation) does not report it as invalid content
+    * 
+    * @throws IOException
+    *            the error raised by the underlying source
+    */
+   final void checkReadError() throws IOException {
+      if (_readError != null) {
+         throw _readError;
+      }
+   }
+
+   /**
+    * Reads the next character (UTF-16 code unit) from the input.
+    * 
+    * @return the next character, or {@link #EOF} once the input is exhausted
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   abstract int read() throws IOException;
+
+   /**
+    * Provides the index in the buffer being read of the next character (or
+    * byte) to be read. This is only meaningful for input read in place from
+    * an array or character sequence, where it is used to record the extent of
+    * a value so it may be parsed later.
+    * 
+    * @return index of the next character or byte to be read
+    */
+   abstract int position();
+
+   /**
+    * Provides the number of characters (or bytes) read from the start of the
+    * input, including any no longer held in its buffer.
+    * 
+    * @return offset of the next character or byte to be read
+    */
+   abstract long offset();
+
+   /**
+    * Moves the lazily computed location to the supplied line and column at the
+    * current position, as the tokenizer does when it counts a new line or is
+    * moved past characters scanned directly. Only lines are counted this way,
+    * so no work is done for each character read.
+    * 
+    * @param line
+    *           the line of the character last read
+    * @param column
+    *           the column of the character last read
+    */
+   final void anchor(int line, int column) {
+      _locatedPos = position();
+      _locatedLine = line;
+      _locatedColumn = column;
+      _pastEnd = 0;
+   }
+
+   /**
+    * Provides the lazily computed column of the character last read: the
+    * column at the last anchor plus the characters read since then, counting
+    * each read of the end of the input as the tokenizer does.
+    * 
+    * @return the column of the character last read
+    */
+   int locatedColumn() {
+      locateTo(position());
+      return _locatedColumn + _pastEnd;
+   }
+
+   /**
+    * Advances the lazily computed column from index _locatedPos up to the
+    * supplied index of the buffer being read, by the number of characters
+    * (UTF-16 code units) in between. Lines are not counted here, as the
+    * tokenizer anchors the location at each line it counts.
+    * 
+    * @param index
+    *           index in the buffer of the next character or byte to be read
+    */
+   abstract void locateTo(int index);
+
+   /**
+    * Quickly reads the remainder of a quoted string whose opening quote was
+    * just read. This is only possible when the closing quote is found without
+    * any escaped characters or line ends in between, in which case the input
+    * is positioned after the closing quote. Otherwise nothing is consumed and
+    * null is returned so the caller reads the string a character at a time.
+    * 
+    * @param quote
+    *           the quote character ending the string
+    * @param symbols
+    *           table providing the String for the content when it is a key,
+    *           or null to create a new String
+    * @return the content of the quoted string, or null if the caller must read
+    *         it a character at a time
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   String readQuoted(int quote, JSONSymbols symbols) throws IOException {
+      return null;
+   }
+
+   /**
+    * Quickly reads the remainder of a run of characters flagged in the supplied
+    * character table (e.g., an unquoted word) whose first character was just
+    * read. The input is positioned after the run so the character ending the
+    * run is not consumed. When the run can not be taken directly from the
+    * input nothing is consumed and null is returned so the caller reads the
+    * run a character at a time.
+    * 
+    * @param charTable
+    *           character lookup table of the tokenizer
+    * @param mask
+    *           flags identifying the characters belonging to the run
+    * @return the run of characters including the one just read, or null if
+    *         the caller must read it a character at a time
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   String readRun(int[] charTable, int mask) throws IOException {
+      return null;
+   }
+
+   /**
+    * Skips the spaces and tabs that follow the character just read, so a run
+    * of indentation is not read one token at a time
+    * 
+    * @return the number of characters skipped
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   int skipBlanks() throws IOException {
+      int count = 0;
+      int ch = read();
+      while (ch == ' ' || ch == '\t') {
+         count++;
+         ch = read();
+      }
+      unread();
+      return count;
+   }
+
+   /**
+    * Quickly skips the remainder of a quoted string whose opening quote was
+    * just read, without creating a String for its content. As with
+    * {@link #readQuoted(int, JSONSymbols)}, this is only possible when the
+    * closing quote is found without any escaped characters or line ends in
+    * between. Otherwise nothing is consumed so the caller skips the string a
+    * character at a time.
+    * 
+    * @param quote
+    *           the quote character ending the string
+    * @return the number of characters in the string, or -1 if the caller must
+    *         skip it a character at a time
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   int skipQuotedRun(int quote) throws IOException {
+      return -1;
+   }
+
+   /**
+    * Quickly skips the remainder of a run of characters flagged in the
+    * supplied character table whose first character was just read, without
+    * creating a String for it. As with {@link #readRun(int[], int)}, nothing
+    * is consumed when the run can not be skipped directly within the input.
+    * 
+    * @param charTable
+    *           character lookup table of the tokenizer
+    * @param mask
+    *           flags identifying the characters belonging to the run
+    * @return the number of characters in the run including the one just read,
+    *         or -1 if the caller must skip it a character at a time
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   int skipRun(int[] charTable, int mask) throws IOException {
+      return -1;
+   }
+
+   /**
+    * Skips the remainder of a quoted string whose opening quote was just read,
+    * without creating a String for its content. The tokenizer's location is
+    * advanced over the characters skipped.
+    * 
+    * @param quote
+    *           the quote character ending the string
+    * @param jtok
+    *           the tokenizer whose location is updated as the input is read
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   void skipQuoted(int quote, JSONStreamTokenizer jtok) throws IOException {
+      int line = jtok.getLineNumber();
+      int offset = jtok.getColumnNumber();
+      int ch;
+      while ((ch = read()) != quote && ch != EOF) {
+         offset++;
+         if (ch == '\\') {
+            read();
+            offset++;
+         }
+      }
+      jtok.moveTo(line, offset + 1);
+   }
+
+   /**
+    * Skips the remainder of an object or array whose opening character was
+    * just read, without interpreting its content beyond matching the opening
+    * and closing characters outside of quoted strings. The tokenizer's
+    * location is advanced over the characters skipped.
+    * 
+    * @param open
+    *           the character opening the object or array
+    * @param close
+    *           the character closing the object or array
+    * @param jtok
+    *           the tokenizer whose location is updated as the input is read
+    * @throws IOException
+    *            if the input ends before the object or array is closed
+    */
+   void skipValue(int open, int close, JSONStreamTokenizer jtok)
+      throws IOException {
+      int depth = 1;
+      int line = jtok.getLineNumber();
+      int offset = jtok.getColumnNumber();
+      boolean quoted = false;
+      while (depth > 0) {
+         int ch = read();
+         offset++;
+         if (ch == EOF) {
+            jtok.moveTo(line, offset);
+            throw unterminated(open, jtok);
+         }
+         if (ch == '\n' || ch == '\r') {
+            // as counted by the tokenizer
+            line++;
+            offset = 0;
+         } else if (quoted) {
+            if (ch == '\\') {
+               read();
+               offset++;
+            } else if (ch == '"') {
+               quoted = false;
+            }
+         } else if (ch == '"') {
+            quoted = true;
+         } else if (ch == open) {
+            depth++;
+         } else if (ch == close) {
+            depth--;
+         }
+      }
+      jtok.moveTo(line, offset);
+   }
+
+   /**
+    * Creates the exception for an object or array whose closing character was
+    * not found before the end of the input
+    * 
+    * @param open
+    *           the character opening the object or array
+    * @param jtok
+    *           the tokenizer whose location is reported
+    * @return exception describing the unterminated object or array
+    */
+   static IOException unterminated(int open, JSONStreamTokenizer jtok) {
+      return new IOException((open == '{' ? "Underminated" : "Unterminated")
+         + " object on line " + jtok.getLineNumber() + ", column "
+         + jtok.getColumnNumber());
+   }
+
+   /**
+    * Starts computing the location of this input lazily, from its current
+    * position at the supplied line and column. Streamed inputs then count the
+    * lines of the content they discard before it is replaced.
+    * 
+    * @param line
+    *           the line of the character last read
+    * @param column
+    *           the column of the character last read
+    */
+   final void startLocating(int line, int column) {
+      _locating = true;
+      anchor(line, column);
+   }
+
+   /**
+    * Steps back over the character most recently returned by {@link #read()}
+    * so it is returned again by the next read. Only one character may be
+    * unread. Unreading after reaching the end of the input has no effect.
+    */
+   abstract void unread();
+}
@@ -0,0 +1,417 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link JSONArray} returned by a lazy parse (e.g.,
+ * {@link JSON#parseLazy(CharSequence)}) for an array nested within the text
+ * parsed. Only the extent of the array's text is recorded until the array is
+ * first accessed, when its elements are parsed. Until then, it serializes
+ * (without formatting) by copying its original text verbatim. An error in the
+ * deferred text is reported as an {@link UncheckedIOException} when the array
+ * is first accessed, and again on every later access, the elements parsed before
+ * the error being discarded. As reading the array parses its text, even reads
+ * change its state, so a lazily parsed tree must not be shared across threads
+ * until it has been materialized (e.g., by serializing it with formatting).
+ */
+final class JSONLazyArray extends JSONArray {
+
+   private static final long serialVersionUID = -6034717238449226187L;
+
+   // text still to be parsed, or null once materialized
+   private transient JSONExtent _extent;
+   // error parsing the text, reported again on each access
+   private transient IOException _error;
+
+   /**
+    * Constructor
+    * 
+    * @param extent
+    *           the extent of the array's text
+    */
+   JSONLazyArray(JSONExtent extent) {
+      super();
+      _extent = extent;
+   }
+
+   /**
+    * Parses the array's text into its elements, if not already done
+    */
+   private void materialize() {
+      if (_error != null) {
+         throw new UncheckedIOException(_error);
+      }
+      JSONExtent extent = _extent;
+      if (extent != null) {
+         // cleared first as filling the elements calls back into this array
+         _extent = null;
+         try {
+            extent.parseInto(this);
+         } catch (IOException e) {
+            // discards the elements parsed before the error
+            _error = e;
+            super.clear();
+            throw new UncheckedIOException(e);
+         }
+      }
+   }
+
+   /**
+    * @see com.api.json.JSONArray#add(int, java.lang.Object)
+    */
+   @Override
+   public void add(int index, Object element) {
+      materialize();
+      super.add(index, element);
+   }
+
+   /**
+    * @see com.api.json.JSONArray#add(java.lang.Object)
+    */
+   @Override
+   public boolean add(Object element) {
+      materialize();
+      return super.add(element);
+   }
+
+   /**
+    * @see com.api.json.JSONArray#addAll(Collection)
+    */
+   @Override
+   public boolean addAll(Collection<?> collection) {
+      materialize();
+      return super.addAll(collection);
+   }
+
+   /**
+    * @see com.api.json.JSONArray#addAll(int, Collection)
+    */
+   @Override
+   public boolean addAll(int index, Collection<?> collection) {
+      materialize();
+      return super.addAll(index, collection);
+   }
+
+   /**
+    * @see java.util.ArrayList#clear()
+    */
+   @Override
+   public void clear() {
+      if (_error != null) {
+         throw new UncheckedIOException(_error);
+      }
+      _extent = null;
+      super.clear();
+   }
+
+   /**
+    * @see java.util.ArrayList#clone()
+    */
+   @Override
+   public Object clone() {
+      materialize();
+      return super.clone();
+   }
+
+   /**
+    * @see java.util.ArrayList#contains(java.lang.Object)
+    */
+   @Override
+   public boolean contains(Object o) {
+      materialize();
+      return super.contains(o);
+   }
+
+   /**
+    * @see java.util.AbstractCollection#containsAll(java.util.Collection)
+    */
+   @Override
+   public boolean containsAll(Collection<?> c) {
+      materialize();
+      return super.containsAll(c);
+   }
+
+   /**
+    * @see java.util.ArrayList#ensureCapacity(int)
+    */
+   @Override
+   public void ensureCapacity(int minCapacity) {
+      materialize();
+      super.ensureCapacity(minCapacity);
+   }
+
+   /**
+    * @see java.util.ArrayList#equals(java.lang.Object)
+    */
+   @Override
+   public boolean equals(Object o) {
+      materialize();
+      return super.equals(o);
+   }
+
+   /**
+    * @see java.util.ArrayList#forEach(java.util.function.Consumer)
+    */
+   @Override
+   public void forEach(Consumer<? super Object> action) {
+      materialize();
+      super.forEach(action);
+   }
+
+   /**
+    * @see java.util.ArrayList#get(int)
+    */
+   @Override
+   public Object get(int index) {
+      materialize();
+      return super.get(index);
+   }
+
+   /**
+    * @see java.util.ArrayList#hashCode()
+    */
+   @Override
+   public int hashCode() {
+      materialize();
+      return super.hashCode();
+   }
+
+   /**
+    * @see java.util.ArrayList#indexOf(java.lang.Object)
+    */
+   @Override
+   public int indexOf(Object o) {
+      materialize();
+      return super.indexOf(o);
+   }
+
+   /**
+    * @see java.util.ArrayList#isEmpty()
+    */
+   @Override
+   public boolean isEmpty() {
+      materialize();
+      return super.isEmpty();
+   }
+
+   /**
+    * @see java.util.ArrayList#iterator()
+    */
+   @Override
+   public Iterator<Object> iterator() {
+      materialize();
+      return super.iterator();
+   }
+
+   /**
+    * @see java.util.ArrayList#lastIndexOf(java.lang.Object)
+    */
+   @Override
+   public int lastIndexOf(Object o) {
+      materialize();
+      return super.lastIndexOf(o);
+   }
+
+   /**
+    * @see java.util.ArrayList#listIterator()
+    */
+   @Override
+   public ListIterator<Object> listIterator() {
+      materialize();
+      return super.listIterator();
+   }
+
+   /**
+    * @see java.util.ArrayList#listIterator(int)
+    */
+   @Override
+   public ListIterator<Object> listIterator(int index) {
+      materialize();
+      return super.listIterator(index);
+   }
+
+   /**
+    * @see java.util.ArrayList#remove(int)
+    */
+   @Override
+   public Object remove(int index) {
+      materialize();
+      return super.remove(index);
+   }
+
+   /**
+    * @see java.util.ArrayList#remove(java.lang.Object)
+    */
+   @Override
+   public boolean remove(Object o) {
+      materialize();
+      return super.remove(o);
+   }
+
+   /**
+    * @see java.util.ArrayList#removeAll(java.util.Collection)
+    */
+   @Override
+   public boolean removeAll(Collection<?> c) {
+      materialize();
+      return super.removeAll(c);
+   }
+
+   /**
+    * @see java.util.ArrayList#removeIf(java.util.function.Predicate)
+    */
+   @Override
+   public boolean removeIf(Predicate<? super Object> filter) {
+      materialize();
+      return super.removeIf(filter);
+   }
+
+   /**
+    * @see java.util.ArrayList#replaceAll(java.util.function.UnaryOperator)
+    */
+   @Override
+   public void replaceAll(UnaryOperator<Object> operator) {
+      materialize();
+      super.replaceAll(operator);
+   }
+
+   /**
+    * @see java.util.ArrayList#retainAll(java.util.Collection)
+    */
+   @Override
+   public boolean retainAll(Collection<?> c) {
+      materialize();
+      return super.retainAll(c);
+   }
+
+   /**
+    * @see com.api.json.JSONArray#set(int, java.lang.Object)
+    */
+   @Override
+   public Object set(int index, Object element) {
+      materialize();
+      return super.set(index, element);
+   }
+
+   /**
+    * @see java.util.ArrayList#size()
+    */
+   @Override
+   public int size() {
+      materialize();
+      return super.size();
+   }
+
+   /**
+    * @see java.util.ArrayList#sort(java.util.Comparator)
+    */
+   @Override
+   public void sort(Comparator<? super Object> c) {
+      materialize();
+      super.sort(c);
+   }
+
+   /**
+    * @see java.util.ArrayList#spliterator()
+    */
+   @Override
+   public Spliterator<Object> spliterator() {
+      materialize();
+      return super.spliterator();
+   }
+
+   /**
+    * @see java.util.ArrayList#subList(int, int)
+    */
+   @Override
+   public List<Object> subList(int fromIndex, int toIndex) {
+      materialize();
+      return super.subList(fromIndex, toIndex);
+   }
+
+   /**
+    * @see java.util.ArrayList#toArray()
+    */
+   @Override
+   public Object[] toArray() {
+      materialize();
+      return super.toArray();
+   }
+
+   /**
+    * @see java.util.ArrayList#toArray(java.lang.Object[])
+    */
+   @Override
+   public <T> T[] toArray(T[] a) {
+      materialize();
+      return super.toArray(a);
+   }
+
+   /**
+    * Copies the original text when serializing without formatting before the
+    * array has been accessed, otherwise writes its elements.
+    * 
+    * @see com.api.json.JSONArray#write(java.lang.Appendable, int, int)
+    */
+   @Override
+   public void write(Appendable out, int indent, int incr) throws IOException {
+      JSONExtent extent = _extent;
+      if (extent != null && incr == 0) {
+         out.append(extent.text());
+         return;
+      }
+      materialize();
+      super.write(out, indent, incr);
+   }
+
+   /**
+    * @see java.util.ArrayList#trimToSize()
+    */
+   @Override
+   public void trimToSize() {
+      materialize();
+      super.trimToSize();
+   }
+
+   /**
+    * Parses the array's text before it is serialized
+    * 
+    * @return this array
+    */
+   private Object writeReplace() {
+      materialize();
+      return this;
+   }
+}
@@ -0,0 +1,362 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link JSONObject} returned by a lazy parse (e.g.,
+ * {@link JSON#parseLazy(CharSequence)}) for an object nested within the text
+ * parsed. Only the extent of the object's text is recorded until the object
+ * is first accessed, when its entries are parsed. Until then, it serializes
+ * (without formatting) by copying its original text verbatim. An error in the
+ * deferred text is reported as an {@link UncheckedIOException} when the object
+ * is first accessed, and again on every later access, the entries parsed before
+ * the error being discarded. As reading the object parses its text, even reads
+ * change its state, so a lazily parsed tree must not be shared across threads
+ * until it has been materialized (e.g., by serializing it with formatting).
+ */
+final class JSONLazyObject extends JSONObject {
+
+   private static final long serialVersionUID = 2391880328312487361L;
+
+   // text still to be parsed, or null once materialized
+   private transient JSONExtent _extent;
+   // error parsing the text, reported again on each access
+   private transient IOException _error;
+
+   /**
+    * Constructor
+    * 
+    * @param extent
+    *           the extent of the object's text
+    */
+   JSONLazyObject(JSONExtent extent) {
+      super();
+      _extent = extent;
+   }
+
+   /**
+    * Parses the object's text into its entries, if not already done
+    */
+   private void materialize() {
+      if (_error != null) {
+         throw new UncheckedIOException(_error);
+      }
+      JSONExtent extent = _extent;
+      if (extent != null) {
+         // cleared first as filling the entries calls back into this object
+         _extent = null;
+         try {
+            extent.parseInto(this);
+         } catch (IOException e) {
+            // discards the entries parsed before the error
+            _error = e;
+            super.clear();
+            throw new UncheckedIOException(e);
+         }
+      }
+   }
+
+   /**
+    * @see java.util.HashMap#clear()
+    */
+   @Override
+   public void clear() {
+      if (_error != null) {
+         throw new UncheckedIOException(_error);
+      }
+      _extent = null;
+      super.clear();
+   }
+
+   /**
+    * @see java.util.HashMap#clone()
+    */
+   @Override
+   public Object clone() {
+      materialize();
+      return super.clone();
+   }
+
+   /**
+    * @see java.util.HashMap#compute(java.lang.Object,
+    *      java.util.function.BiFunction)
+    */
+   @Override
+   public Object compute(String key,
+      BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+      materialize();
+      return super.compute(key, remappingFunction);
+   }
+
+   /**
+    * @see java.util.HashMap#computeIfAbsent(java.lang.Object,
+    *      java.util.function.Function)
+    */
+   @Override
+   public Object computeIfAbsent(String key,
+      Function<? super String, ? extends Object> mappingFunction) {
+      materialize();
+      return super.computeIfAbsent(key, mappingFunction);
+   }
+
+   /**
+    * @see java.util.HashMap#computeIfPresent(java.lang.Object,
+    *      java.util.function.BiFunction)
+    */
+   @Override
+   public Object computeIfPresent(String key,
+      BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+      materialize();
+      return super.computeIfPresent(key, remappingFunction);
+   }
+
+   /**
+    * @see java.util.HashMap#containsKey(java.lang.Object)
+    */
+   @Override
+   public boolean containsKey(Object key) {
+      materialize();
+      return super.containsKey(key);
+   }
+
+   /**
+    * @see java.util.HashMap#containsValue(java.lang.Object)
+    */
+   @Override
+   public boolean containsValue(Object value) {
+      materialize();
+      return super.containsValue(value);
+   }
+
+   /**
+    * @see java.util.HashMap#entrySet()
+    */
+   @Override
+   public Set<Map.Entry<String, Object>> entrySet() {
+      materialize();
+      return super.entrySet();
+   }
+
+   /**
+    * @see java.util.AbstractMap#equals(java.lang.Object)
+    */
+   @Override
+   public boolean equals(Object o) {
+      materialize();
+      return super.equals(o);
+   }
+
+   /**
+    * @see java.util.HashMap#forEach(java.util.function.BiConsumer)
+    */
+   @Override
+   public void forEach(BiConsumer<? super String, ? super Object> action) {
+      materialize();
+      super.forEach(action);
+   }
+
+   /**
+    * @see java.util.HashMap#get(java.lang.Object)
+    */
+   @Override
+   public Object get(Object key) {
+      materialize();
+      return super.get(key);
+   }
+
+   /**
+    * @see java.util.HashMap#getOrDefault(java.lang.Object, java.lang.Object)
+    */
+   @Override
+   public Object getOrDefault(Object key, Object defaultValue) {
+      materialize();
+      return super.getOrDefault(key, defaultValue);
+   }
+
+   /**
+    * @see java.util.AbstractMap#hashCode()
+    */
+   @Override
+   public int hashCode() {
+      materialize();
+      return super.hashCode();
+   }
+
+   /**
+    * @see java.util.HashMap#isEmpty()
+    */
+   @Override
+   public boolean isEmpty() {
+      materialize();
+      return super.isEmpty();
+   }
+
+   /**
+    * @see java.util.HashMap#keySet()
+    */
+   @Override
+   public Set<String> keySet() {
+      materialize();
+      return super.keySet();
+   }
+
+   /**
+    * @see com.api.json.JSONObject#merge(java.lang.String, java.lang.Object,
+    *      java.util.function.BiFunction)
+    */
+   @Override
+   public Object merge(String key, Object value,
+      BiFunction<Object, Object, Object> remappingFunction) {
+      materialize();
+      return super.merge(key, value, remappingFunction);
+   }
+
+   /**
+    * @see com.api.json.JSONObject#put(java.lang.String, java.lang.Object)
+    */
+   @Override
+   public Object put(String key, Object value) {
+      materialize();
+      return super.put(key, value);
+   }
+
+   /**
+    * @see com.api.json.JSONObject#putAll(java.util.Map)
+    */
+   @Override
+   public void putAll(@SuppressWarnings("rawtypes") Map m) {
+      materialize();
+      super.putAll(m);
+   }
+
+   /**
+    * @see com.api.json.JSONObject#putIfAbsent(java.lang.String,
+    *      java.lang.Object)
+    */
+   @Override
+   public Object putIfAbsent(String key, Object value) {
+      materialize();
+      return super.putIfAbsent(key, value);
+   }
+
+   /**
+    * @see java.util.HashMap#remove(java.lang.Object)
+    */
+   @Override
+   public Object remove(Object key) {
+      materialize();
+      return super.remove(key);
+   }
+
+   /**
+    * @see java.util.HashMap#remove(java.lang.Object, java.lang.Object)
+    */
+   @Override
+   public boolean remove(Object key, Object value) {
+      materialize();
+      return super.remove(key, value);
+   }
+
+   /**
+    * @see com.api.json.JSONObject#replace(java.lang.String, java.lang.Object)
+    */
+   @Override
+   public Object replace(String key, Object value) {
+      materialize();
+      return super.replace(key, value);
+   }
+
+   /**
+    * @see com.api.json.JSONObject#replace(java.lang.String, java.lang.Object,
+    *      java.lang.Object)
+    */
+   @Override
+   public boolean replace(String key, Object oldValue, Object value) {
+      materialize();
+      return super.replace(key, oldValue, value);
+   }
+
+   /**
+    * @see java.util.HashMap#replaceAll(java.util.function.BiFunction)
+    */
+   @Override
+   public void replaceAll(
+      BiFunction<? super String, ? super Object, ? extends Object> function) {
+      materialize();
+      super.replaceAll(function);
+   }
+
+   /**
+    * @see java.util.HashMap#size()
+    */
+   @Override
+   public int size() {
+      materialize();
+      return super.size();
+   }
+
+   /**
+    * Copies the original text when serializing without formatting before the
+    * object has been accessed, otherwise writes its entries.
+    * 
+    * @see com.api.json.JSONObject#write(java.lang.Appendable, int, int)
+    */
+   @Override
+   public void write(Appendable out, int indent, int incr) throws IOException {
+      JSONExtent extent = _extent;
+      if (extent != null && incr == 0) {
+         out.append(extent.text());
+         return;
+      }
+      materialize();
+      super.write(out, indent, incr);
+   }
+
+   /**
+    * @see java.util.HashMap#values()
+    */
+   @Override
+   public Collection<Object> values() {
+      materialize();
+      return super.values();
+   }
+
+   /**
+    * Parses the object's text before it is serialized
+    * 
+    * @return this object
+    */
+   private Object writeReplace() {
+      materialize();
+      return this;
+   }
+}
@@ -0,0 +1,354 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes JSON Lines (also known as newline delimited JSON, or
+ * NDJSON), where each line holds a complete {@link JSONObject} or
+ * {@link JSONArray}. Documents are also read when they are simply
+ * concatenated without a line end between them, or span several lines.
+ * <p>
+ * Documents may be read one at a time as a stream is consumed, or the input
+ * may be split into chunks ending at line ends that are parsed concurrently
+ * on a {@link ForkJoinPool}. Parsing in parallel requires that no document
+ * spans a line end, as is the case for JSON Lines.
+ */
+public final class JSONLines {
+
+   // approximate number of bytes in each chunk parsed in parallel
+   static final int CHUNK_SIZE = 1 << 20;
+
+   /**
+    * Not instantiated
+    */
+   private JSONLines() {
+   }
+
+   /**
+    * Counts the line ends in the supplied range of bytes, as counted by the
+    * tokenizer
+    * 
+    * @param bytes
+    *           the bytes to be scanned
+    * @param start
+    *           index of the first byte
+    * @param end
+    *           index after the last byte
+    * @return the number of line ends
+    */
+   private static int lineEnds(byte[] bytes, int start, int end) {
+      return JSONByteScanner.countLineEnds(bytes, start, end);
+   }
+
+   /**
+    * Parses all of the documents in the supplied range of bytes
+    * 
+    * @param bytes
+    *           the UTF-8 encoded bytes holding the documents
+    * @param start
+    *           index of the first byte
+    * @param end
+    *           index after the last byte
+    * @param line
+    *           line of the first byte
+    * @return the documents parsed, in the order found
+    * @throws UncheckedIOException
+    *            If a parsing error occurs (unchecked, as the pool wraps
+    *            checked exceptions).
+    */
+   private static List<JSONArtifact> parse(byte[] bytes, int start, int end,
+      int line) {
+      JSONEventReader reader = new JSONEventReader(
+         JSON.PARSER.newTokenizer(new JSONSymbols()),
+         new JSONUTF8Input(bytes, start, end - start), null);
+      reader.locate(line, 0);
+      List<JSONArtifact> artifacts = new ArrayList<>();
+      try (JSONArrayIterator it = new JSONArrayIterator(reader, null, false)) {
+         while (it.hasNext()) {
+            artifacts.add(it.next());
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      return artifacts;
+   }
+
+   /**
+    * Reads the documents in the supplied UTF-8 encoded input stream, parsing
+    * each as the returned stream is consumed. The stream should be closed
+    * (e.g., by try-with-resources) to close the input stream. A parsing error
+    * is reported by an {@link UncheckedIOException}.
+    * 
+    * @param is
+    *           The input stream holding the documents.
+    * @return stream of the documents read
+    */
+   public static Stream<JSONArtifact> read(InputStream is) {
+      if (is == null) {
+         throw new NullPointerException("is cannot be null");
+      }
+      try {
+         return new JSONArrayIterator(JSON.PARSER.createEventReader(is), is,
+            false).elements();
+      } catch (IOException e) {
+         // not possible as nothing is read until the stream is consumed
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   /**
+    * Reads the documents in the supplied UTF-8 encoded input stream, parsing
+    * chunks of it in parallel on the supplied pool. The input stream is read
+    * to its end and closed before this returns. A parsing error is reported
+    * by an {@link UncheckedIOException} once the stream reaches the chunk
+    * containing it.
+    * 
+    * @param is
+    *           The input stream holding the documents, one per line.
+    * @param pool
+    *           The pool parsing the chunks of the input.
+    * @param ordered
+    *           true if the documents are to be provided in the order read, or
+    *           false if they may be provided as soon as their chunk is parsed
+    * @return stream of the documents read
+    * @throws IOException
+    *            If the input stream can not be read.
+    */
+   public static Stream<JSONArtifact> read(InputStream is, ForkJoinPool pool,
+      boolean ordered) throws IOException {
+      if (is == null) {
+         throw new NullPointerException("is cannot be null");
+      }
+      byte[] bytes;
+      try {
+         bytes = is.readAllBytes();
+      } finally {
+         is.close();
+      }
+      return read(bytes, pool, ordered);
+   }
+
+   /**
+    * Reads the documents in the UTF-8 encoded file at the supplied path,
+    * parsing each as the returned stream is consumed. The stream should be
+    * closed (e.g., by try-with-resources) to close the file. A parsing error
+    * is reported by an {@link UncheckedIOException}.
+    * 
+    * @param path
+    *           The path of the file holding the documents.
+    * @return stream of the documents read
+    * @throws IOException
+    *            If the file can not be opened.
+    */
+   public static Stream<JSONArtifact> read(Path path) throws IOException {
+      return new JSONArrayIterator(JSON.PARSER.createEventReader(path), null,
+         false).elements();
+   }
+
+   /**
+    * Reads the documents in the UTF-8 encoded file at the supplied path,
+    * parsing chunks of it in parallel on the supplied pool. A parsing error is
+    * reported by an {@link UncheckedIOException} once the stream reaches the
+    * chunk containing it.
+    * 
+    * @param path
+    *           The path of the file holding the documents, one per line.
+    * @param pool
+    *           The pool parsing the chunks of the file.
+    * @param ordered
+    *           true if the documents are to be provided in the order read, or
+    *           false if they may be provided as soon as their chunk is parsed
+    * @return stream of the documents read
+    * @throws IOException
+    *            If the file can not be read.
+    */
+   public static Stream<JSONArtifact> read(Path path, ForkJoinPool pool,
+      boolean ordered) throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      return read(Files.readAllBytes(path), pool, ordered);
+   }
+
+   /**
+    * Parses the documents in the supplied bytes by splitting them into chunks
+    * ending at line ends that are parsed in parallel on the supplied pool.
+    * Closing the stream cancels the parsing of chunks not yet started.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes holding the documents, one per line.
+    * @param pool
+    *           The pool parsing the chunks.
+    * @param ordered
+    *           true if the documents are to be provided in the order read
+    * @return stream of the documents read
+    */
+   private static Stream<JSONArtifact> read(byte[] bytes, ForkJoinPool pool,
+      boolean ordered) {
+      if (pool == null) {
+         throw new NullPointerException("pool cannot be null");
+      }
+      CompletionService<List<JSONArtifact>> parsed = new ExecutorCompletionService<>(
+         pool);
+      List<Future<List<JSONArtifact>>> chunks = new ArrayList<>();
+      int start = 0;
+      int line = 1;
+      while (start < bytes.length) {
+         int end = Math.min(start + CHUNK_SIZE, bytes.length);
+         while (end < bytes.length && bytes[end - 1] != '\n') {
+            end++;
+         }
+         int chunkStart = start;
+         int chunkEnd = end;
+         int chunkLine = line;
+         chunks.add(parsed.submit(() -> parse(bytes, chunkStart, chunkEnd,
+            chunkLine)));
+         line += lineEnds(bytes, start, end);
+         start = end;
+      }
+      Stream<Future<List<JSONArtifact>>> results;
+      if (ordered) {
+         results = chunks.stream();
+      } else {
+         results = IntStream.range(0, chunks.size()).mapToObj(i -> {
+            try {
+               return parsed.take();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new UncheckedIOException(
+                  new InterruptedIOException("Interrupted reading JSON Lines"));
+            }
+         });
+      }
+      return results.flatMap(result -> result(result).stream())
+         .onClose(() -> chunks.forEach(chunk -> chunk.cancel(false)));
+   }
+
+   /**
+    * Waits for the documents parsed from a chunk
+    * 
+    * @param result
+    *           the result of parsing the chunk
+    * @return the documents parsed from the chunk
+    */
+   private static List<JSONArtifact> result(
+      Future<List<JSONArtifact>> result) {
+      try {
+         return result.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new UncheckedIOException(
+            new InterruptedIOException("Interrupted reading JSON Lines"));
+      } catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         }
+         throw (Error) cause;
+      }
+   }
+
+   /**
+    * Writes the supplied documents to the supplied output stream, encoded in
+    * UTF-8, with each on its own line. The output stream is flushed but not
+    * closed.
+    * 
+    * @param os
+    *           The output stream receiving the documents.
+    * @param artifacts
+    *           The documents to be written.
+    * @throws IOException
+    *            If the output stream can not be written.
+    */
+   public static void write(OutputStream os,
+      Iterable<? extends JSONArtifact> artifacts) throws IOException {
+      if (os == null) {
+         throw new NullPointerException("os cannot be null");
+      }
+      Writer writer = new BufferedWriter(
+         new OutputStreamWriter(os, StandardCharsets.UTF_8));
+      write(writer, artifacts);
+      writer.flush();
+   }
+
+   /**
+    * Writes the supplied documents to the supplied writer, with each on its
+    * own line. The writer is neither flushed nor closed.
+    * 
+    * @param writer
+    *           The writer receiving the documents.
+    * @param artifacts
+    *           The documents to be written.
+    * @throws IOException
+    *            If the writer can not be written.
+    */
+   public static void write(Writer writer,
+      Iterable<? extends JSONArtifact> artifacts) throws IOException {
+      if (writer == null) {
+         throw new NullPointerException("writer cannot be null");
+      }
+      if (artifacts == null) {
+         throw new NullPointerException("artifacts cannot be null");
+      }
+      StringBuilder sb = new StringBuilder();
+      for (JSONArtifact artifact : artifacts) {
+         if (artifact == null) {
+            throw new NullPointerException("artifacts cannot contain null");
+         }
+         sb.setLength(0);
+         artifact.write(sb, 0, 0);
+         // line ends can only be whitespace (e.g., within text copied from a
+         // document parsed lazily), as those within strings are escaped
+         for (int i = 0; i < sb.length(); i++) {
+            char ch = sb.charAt(i);
+            if (ch == '\n' || ch == '\r') {
+               sb.setCharAt(i, ' ');
+            }
+         }
+         sb.append('\n');
+         writer.append(sb);
+      }
+   }
+}
@@ -0,0 +1,282 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Number read by a parser using {@link JSONParser.NumberPolicy#LAZY}, holding
+ * the original text of the number. The text is only converted when a value is
+ * requested, so numbers that are never examined cost no more than their text,
+ * and no precision is lost however many digits they have. The text is
+ * serialized exactly as it was read when it follows the JSON number grammar.
+ * Forms the parser also accepts (leading zeros, or a decimal point without
+ * digits before or after it) are held in canonical form instead, so that
+ * 01, .5 and 5. are written as 1, 0.5 and 5.0.
+ */
+public final class JSONNumber extends Number implements Comparable<JSONNumber> {
+
+   private static final long serialVersionUID = -1893207542263771093L;
+
+   // most digits of an integer always held by a long
+   private static final int MAX_LONG_DIGITS = 18;
+
+   private final String _text;
+
+   /**
+    * Constructor used by the parser for text it has already scanned as a
+    * number, which is put in canonical form when it is not a JSON number
+    * 
+    * @param text
+    *           the text of the number
+    */
+   JSONNumber(String text) {
+      _text = (isJSONNumber(text) ? text : canonical(text));
+   }
+
+   /**
+    * Creates a number holding the supplied text
+    * 
+    * @param text
+    *           the text of the number, which must follow the JSON number
+    *           grammar
+    * @return the number holding the supplied text
+    * @throws NumberFormatException
+    *            If the text is not a JSON number.
+    */
+   public static JSONNumber valueOf(String text) {
+      if (text == null) {
+         throw new NullPointerException("text cannot be null");
+      }
+      // validate the text so it is serialized as a number
+      if (!isJSONNumber(text)) {
+         throw new NumberFormatException("Not a JSON number: " + text);
+      }
+      return new JSONNumber(text);
+   }
+
+   /**
+    * Determines whether the supplied text follows the JSON number grammar: an
+    * optional minus sign, an integer without leading zeros, an optional
+    * fraction with at least one digit, and an optional exponent with at least
+    * one digit.
+    * 
+    * @param text
+    *           the text to be checked
+    * @return true if the text is a JSON number
+    */
+   static boolean isJSONNumber(String text) {
+      int length = text.length();
+      int i = 0;
+      if (i < length && text.charAt(i) == '-') {
+         i++;
+      }
+      int start = i;
+      while (i < length && isDigit(text.charAt(i))) {
+         i++;
+      }
+      if (i == start || (text.charAt(start) == '0' && i - start > 1)) {
+         return false;
+      }
+      if (i < length && text.charAt(i) == '.') {
+         start = ++i;
+         while (i < length && isDigit(text.charAt(i))) {
+            i++;
+         }
+         if (i == start) {
+            return false;
+         }
+      }
+      if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+         i++;
+         if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+         }
+         start = i;
+         while (i < length && isDigit(text.charAt(i))) {
+            i++;
+         }
+         if (i == start) {
+            return false;
+         }
+      }
+      return i == length;
+   }
+
+   /**
+    * Rewrites a number accepted by the parser as a JSON number of the same
+    * value, keeping all of its digits: a leading plus sign and leading zeros
+    * are removed, and a zero is added to a decimal point with no digits before
+    * or after it.
+    * 
+    * @param text
+    *           the text of a number the parser has scanned
+    * @return the text as a JSON number
+    */
+   private static String canonical(String text) {
+      StringBuilder sb = new StringBuilder(text.length() + 2);
+      int length = text.length();
+      int i = 0;
+      if (text.charAt(i) == '-') {
+         sb.append('-');
+         i++;
+      } else if (text.charAt(i) == '+') {
+         i++;
+      }
+      while (i < length - 1 && text.charAt(i) == '0'
+         && isDigit(text.charAt(i + 1))) {
+         i++;
+      }
+      if (i == length || !isDigit(text.charAt(i))) {
+         sb.append('0');
+      }
+      while (i < length && isDigit(text.charAt(i))) {
+         sb.append(text.charAt(i++));
+      }
+      if (i < length && text.charAt(i) == '.') {
+         sb.append('.');
+         i++;
+         if (i == length || !isDigit(text.charAt(i))) {
+            sb.append('0');
+         }
+      }
+      return sb.append(text, i, length).toString();
+   }
+
+   /**
+    * @param ch
+    *           the character to be checked
+    * @return true if the character is an ASCII digit
+    */
+   private static boolean isDigit(char ch) {
+      return ch >= '0' && ch <= '9';
+   }
+
+   /**
+    * @return the value of this number, without any loss of precision
+    */
+   public BigDecimal bigDecimalValue() {
+      return new BigDecimal(_text);
+   }
+
+   /**
+    * @return the value of this number as a BigInteger, discarding any fraction
+    */
+   public BigInteger bigIntegerValue() {
+      if (isInteger()) {
+         return new BigInteger(_text);
+      }
+      return bigDecimalValue().toBigInteger();
+   }
+
+   /**
+    * @see java.lang.Comparable#compareTo(java.lang.Object)
+    */
+   @Override
+   public int compareTo(JSONNumber other) {
+      return bigDecimalValue().compareTo(other.bigDecimalValue());
+   }
+
+   /**
+    * @see java.lang.Number#doubleValue()
+    */
+   @Override
+   public double doubleValue() {
+      return Double.parseDouble(_text);
+   }
+
+   /**
+    * Numbers are equal when they have the same value, regardless of how they
+    * are written (e.g., 1.0 equals 1.00 and 1e0)
+    * 
+    * @see java.lang.Object#equals(java.lang.Object)
+    */
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!(obj instanceof JSONNumber)) {
+         return false;
+      }
+      return compareTo((JSONNumber) obj) == 0;
+   }
+
+   /**
+    * @see java.lang.Number#floatValue()
+    */
+   @Override
+   public float floatValue() {
+      return Float.parseFloat(_text);
+   }
+
+   /**
+    * @see java.lang.Object#hashCode()
+    */
+   @Override
+   public int hashCode() {
+      return bigDecimalValue().stripTrailingZeros().hashCode();
+   }
+
+   /**
+    * @see java.lang.Number#intValue()
+    */
+   @Override
+   public int intValue() {
+      return (int) longValue();
+   }
+
+   /**
+    * @return true if this number is written without a fraction or exponent
+    */
+   public boolean isInteger() {
+      for (int i = 0; i < _text.length(); i++) {
+         char ch = _text.charAt(i);
+         if (ch == '.' || ch == 'e' || ch == 'E') {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @see java.lang.Number#longValue()
+    */
+   @Override
+   public long longValue() {
+      if (_text.length() <= MAX_LONG_DIGITS && isInteger()) {
+         return Long.parseLong(_text);
+      }
+      return bigDecimalValue().longValue();
+   }
+
+   /**
+    * @return the text of this number, as read when it is a JSON number
+    */
+   @Override
+   public String toString() {
+      return _text;
+   }
+}
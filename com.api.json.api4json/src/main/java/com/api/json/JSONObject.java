@@ -26,8 +26,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -74,6 +76,20 @@ public class JSONObject extends HashMap<String, Object>
       return (JSONObject) JSON.parse(is);
    }
 
+   /**
+    * Parse the UTF-8 encoded file at the supplied path to generate a
+    * JSONObject. Larger files are memory mapped rather than read.
+    * 
+    * @param path
+    *           Path of the file to be parsed
+    * @return JSONObject parsed from the supplied file
+    * @throws IOException
+    *            if an error occurs reading or parsing the file
+    */
+   public static JSONObject parse(Path path) throws IOException {
+      return (JSONObject) JSON.parse(path);
+   }
+
    /**
     * Parse the supplied reader to generate a JSONObject
     * 
@@ -132,8 +148,7 @@ public class JSONObject extends HashMap<String, Object>
             + value.getClass().getName() + "] with value: [" + value + "]");
       }
       if (value instanceof Number) {
-         value = JSON.getNumber(((Number) value).doubleValue(),
-            value.toString());
+         value = JSON.getNumber((Number) value);
       }
       return super.merge(key, value, remappingFunction);
    }
@@ -157,8 +172,7 @@ public class JSONObject extends HashMap<String, Object>
             + value.getClass().getName() + "] with value: [" + value + "]");
       }
       if (value instanceof Number) {
-         value = JSON.getNumber(((Number) value).doubleValue(),
-            value.toString());
+         value = JSON.getNumber((Number) value);
       }
       return super.put(key, value);
    }
@@ -185,8 +199,7 @@ public class JSONObject extends HashMap<String, Object>
             throw new IllegalArgumentException("Can not put an object into itself.");
          }
          if (value instanceof Number) {
-            value = JSON.getNumber(((Number) value).doubleValue(),
-               value.toString());
+            value = JSON.getNumber((Number) value);
          }
          super.put((String)key, value);
       }
@@ -211,8 +224,7 @@ public class JSONObject extends HashMap<String, Object>
          throw new IllegalArgumentException("Can not put an object into itself.");
       }
       if (value instanceof Number) {
-         value = JSON.getNumber(((Number) value).doubleValue(),
-            value.toString());
+         value = JSON.getNumber((Number) value);
       }
       Object test = get(key);
       if (test != null) {
@@ -246,8 +258,7 @@ public class JSONObject extends HashMap<String, Object>
       }
       // there is something to replace
       if (value instanceof Number) {
-         value = JSON.getNumber(((Number) value).doubleValue(),
-            value.toString());
+         value = JSON.getNumber((Number) value);
       }
       super.put(key, value);
       return test;
@@ -285,8 +296,7 @@ public class JSONObject extends HashMap<String, Object>
          throw new IllegalArgumentException("Can not put an object into itself.");
       }
       if (value instanceof Number) {
-         value = JSON.getNumber(((Number) value).doubleValue(),
-            value.toString());
+         value = JSON.getNumber((Number) value);
       }
       super.put(key, value);
       return true;
@@ -317,10 +327,7 @@ public class JSONObject extends HashMap<String, Object>
     */
    @Override
    public void serialize(OutputStream os) throws IOException {
-      if (os == null) {
-         throw new NullPointerException("OutputStream is null.");
-      }
-      os.write(toString().getBytes(StandardCharsets.UTF_8));
+      serialize(os, false);
    }
 
    /**
@@ -331,8 +338,7 @@ public class JSONObject extends HashMap<String, Object>
       if (os == null) {
          throw new NullPointerException("OutputStream is null.");
       }
-      StringBuilder sb = new StringBuilder();
-      os.write(toString(sb, 0, JSON.INCR).getBytes(StandardCharsets.UTF_8));
+      JSON.serialize(this, os, verbose);
    }
 
    /**
@@ -340,10 +346,7 @@ public class JSONObject extends HashMap<String, Object>
     */
    @Override
    public void serialize(Writer writer) throws IOException {
-      if (writer == null) {
-         throw new NullPointerException("Writer is null.");
-      }
-      writer.write(toString());
+      serialize(writer, false);
    }
 
    /**
@@ -354,8 +357,43 @@ public class JSONObject extends HashMap<String, Object>
       if (writer == null) {
          throw new NullPointerException("Writer is null.");
       }
-      StringBuilder sb = new StringBuilder();
-      writer.write(toString(sb, 0, JSON.INCR));
+      JSON.serialize(this, writer, verbose);
+   }
+
+   /**
+    * @see com.api.json.JSONArtifact#serializeTo(java.nio.ByteBuffer)
+    */
+   @Override
+   public int serializeTo(ByteBuffer buffer) throws IOException {
+      return serializeTo(buffer, false);
+   }
+
+   /**
+    * @see com.api.json.JSONArtifact#serializeTo(java.nio.ByteBuffer, boolean)
+    */
+   @Override
+   public int serializeTo(ByteBuffer buffer, boolean verbose)
+      throws IOException {
+      if (buffer == null) {
+         throw new NullPointerException("ByteBuffer is null.");
+      }
+      return JSON.serialize(this, buffer, verbose);
+   }
+
+   /**
+    * @see com.api.json.JSONArtifact#serializeToBytes()
+    */
+   @Override
+   public byte[] serializeToBytes() throws IOException {
+      return JSON.serializeToBytes(this, false);
+   }
+
+   /**
+    * @see com.api.json.JSONArtifact#serializeToBytes(boolean)
+    */
+   @Override
+   public byte[] serializeToBytes(boolean verbose) throws IOException {
+      return JSON.serializeToBytes(this, verbose);
    }
 
    /**
@@ -370,9 +408,23 @@ public class JSONObject extends HashMap<String, Object>
     * @see com.api.json.JSONArtifact#toString(java.lang.StringBuilder, int, int)
     */
    public String toString(StringBuilder sb, int indent, int incr) {
+      try {
+         write(sb, indent, incr);
+      } catch (IOException e) {
+         // not thrown when appending to a StringBuilder
+         throw new UncheckedIOException(e);
+      }
+      return sb.toString();
+   }
+
+   /**
+    * @see com.api.json.JSONArtifact#write(java.lang.Appendable, int, int)
+    */
+   @Override
+   public void write(Appendable out, int indent, int incr) throws IOException {
       boolean newObj = true;
       // depth first search to generate objects and values
-      sb.append("{");
+      out.append('{');
       // do indent
       indent += incr;
       TreeSet<Object> keyTree = new TreeSet<>();
@@ -381,41 +433,43 @@ public class JSONObject extends HashMap<String, Object>
          if (newObj) {
             newObj = false;
          } else {
-            sb.append(",");
+            out.append(',');
          }
          if (incr > 0) {
-            sb.append(System.lineSeparator());
+            out.append(System.lineSeparator());
          }
          Object key = it.next();
          for (int i = 0; i < indent; i += incr) {
-            sb.append(JSON.BLANKS);
+            out.append(JSON.BLANKS);
          }
-         sb.append("\"" + JSON.cleanUpString(key) + "\":");
+         out.append('"');
+         JSONEscaper.write(out, String.valueOf(key));
+         out.append("\":");
          if (incr > 0) {
-            sb.append(" ");
+            out.append(' ');
          }
          Object obj = get(key);
          if (JSON.isValidObject(obj)) {
             if (obj instanceof String) {
-               sb.append("\"" + JSON.cleanUpString(obj) + "\"");
+               out.append('"');
+               JSONEscaper.write(out, (String) obj);
+               out.append('"');
             } else if (obj instanceof JSONArtifact) {
-               // this is a new JSONArtifact
-               sb.append(((JSONArtifact) obj).toString(new StringBuilder(),
-                  indent, incr));
+               // written straight to the destination
+               ((JSONArtifact) obj).write(out, indent, incr);
             } else {
-               sb.append(obj);
+               out.append(String.valueOf(obj));
             }
          }
       }
       // back our way out
       if (incr > 0) {
-         sb.append(System.lineSeparator());
+         out.append(System.lineSeparator());
       }
       indent -= incr;
       for (int i = 0; i < indent; i += incr) {
-         sb.append(JSON.BLANKS);
+         out.append(JSON.BLANKS);
       }
-      sb.append("}");
-      return sb.toString();
+      out.append('}');
    }
 }
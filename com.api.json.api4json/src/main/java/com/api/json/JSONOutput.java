@@ -0,0 +1,66 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+
+/**
+ * Destination of the JSON text written by
+ * {@link JSONArtifact#write(Appendable, int, int)} when serializing to a
+ * stream or buffer. Implementations collect the text in a small buffer,
+ * recycled across the serializations on a thread, and pass it on each time the
+ * buffer fills, so the memory used does not grow with the size of the
+ * document (unless the text is collected as a byte array).
+ */
+abstract class JSONOutput implements Appendable {
+
+   // true while a serialization is writing to this output
+   boolean _inUse = false;
+
+   /**
+    * @see java.lang.Appendable#append(java.lang.CharSequence)
+    */
+   @Override
+   public final Appendable append(CharSequence csq) throws IOException {
+      if (csq == null) {
+         csq = "null";
+      }
+      return append(csq, 0, csq.length());
+   }
+
+   /**
+    * Passes on the text still held in the buffer. The destination itself is
+    * not flushed.
+    * 
+    * @throws IOException
+    *            if unable to write to the destination
+    */
+   abstract void flush() throws IOException;
+
+   /**
+    * Makes this output available to the next serialization on its thread,
+    * discarding anything left in the buffer
+    */
+   abstract void release();
+}
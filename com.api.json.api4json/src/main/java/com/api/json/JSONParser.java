@@ -0,0 +1,1481 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Reusable parser producing {@link JSONObject} and {@link JSONArray} content.
+ * The JSON syntax profile used by the {@link JSONStreamTokenizer} is compiled
+ * once into a character table shared by every tokenizer, and each thread
+ * recycles its own tokenizer across calls, so parsing a small document costs
+ * little more than reading the document itself. A single JSONParser may be
+ * shared by any number of threads. The static {@link JSON#parse(Reader)}
+ * methods use a shared JSONParser.
+ */
+public class JSONParser {
+
+   /**
+    * How the numbers read by a parser are represented
+    */
+   public enum NumberPolicy {
+      /**
+       * Numbers are read as a {@link Long} when integral and within the range
+       * of a long, and otherwise as a {@link Double} (the default)
+       */
+      DOUBLE,
+      /**
+       * Numbers are read without any loss of precision: integers as a
+       * {@link Long}, or a {@link java.math.BigInteger} when beyond the range
+       * of a long, and numbers written with a fraction or exponent as a
+       * {@link java.math.BigDecimal}
+       */
+      EXACT,
+      /**
+       * Numbers are read as a {@link JSONNumber} holding their original text,
+       * which is only converted when its value is requested and is serialized
+       * exactly as it was read (in canonical form when it is not a JSON
+       * number, such as .5 or 01)
+       */
+      LAZY
+   }
+
+   /**
+    * How the location of the content read by a parser is kept, for reporting
+    * where a parsing error occurred
+    */
+   public enum LocationPolicy {
+      /**
+       * The line and column are counted as each character is read (the
+       * default)
+       */
+      LINE_COLUMN,
+      /**
+       * Only the offset of the input is kept, which costs nothing as it is
+       * read, and the line and column are computed from it once needed (e.g.,
+       * when an error is reported). This suits trusted content that rarely
+       * fails to parse.
+       */
+      OFFSET
+   }
+
+   /**
+    * Supplies successive read only memory mapped windows of a file, so files
+    * larger than a single mapping allows (2 GB) may be parsed.
+    */
+   private static class MappedWindows implements JSONUTF8Input.Source {
+
+      private final FileChannel _channel;
+      private long _position = 0L;
+      private final long _size;
+
+      /**
+       * Constructor
+       * 
+       * @param channel
+       *           open channel of the file to be mapped
+       * @param size
+       *           number of bytes in the file
+       */
+      MappedWindows(FileChannel channel, long size) {
+         _channel = channel;
+         _size = size;
+      }
+
+      /**
+       * @see com.api.json.JSONUTF8Input.Source#next()
+       */
+      @Override
+      public ByteBuffer next() throws IOException {
+         if (_position >= _size) {
+            return null;
+         }
+         long length = Math.min(MAP_WINDOW_SIZE, _size - _position);
+         ByteBuffer window = _channel.map(FileChannel.MapMode.READ_ONLY,
+            _position, length);
+         _position += length;
+         return window;
+      }
+   }
+
+   /**
+    * Supplies the bytes read from an input stream in successive buffers, so
+    * the stream is decoded straight from its bytes rather than through a
+    * Reader.
+    */
+   private static class StreamBuffers implements JSONUTF8Input.Source {
+
+      private final InputStream _is;
+      // reused, as the input has moved its bytes into its window before asking
+      // for the next buffer
+      private final ByteBuffer _buffer = ByteBuffer
+         .allocate(JSONUTF8Input.WINDOW_SIZE);
+
+      /**
+       * Constructor
+       * 
+       * @param is
+       *           the input stream to be read
+       */
+      StreamBuffers(InputStream is) {
+         _is = is;
+      }
+
+      /**
+       * @see com.api.json.JSONUTF8Input.Source#next()
+       */
+      @Override
+      public ByteBuffer next() throws IOException {
+         int count;
+         do {
+            count = _is.read(_buffer.array());
+         } while (count == 0);
+         if (count < 0) {
+            return null;
+         }
+         _buffer.clear();
+         _buffer.limit(count);
+         return _buffer;
+      }
+   }
+
+   private static final char BSP = '\b';
+   private static final char DQTE = '"';
+   private static final char FFD = '\f';
+
+   // largest region of a file memory mapped at once
+   static final long MAP_WINDOW_SIZE = 1L << 30;
+   // files smaller than this are read rather than memory mapped
+   static final long MAP_THRESHOLD = 64L * 1024L;
+
+   // JSON syntax profile compiled once and shared by all parsers
+   static final int[] JSON_SYNTAX = compileSyntax();
+
+   /**
+    * Most objects and arrays a parser allows to be nested within one another
+    * unless another limit is given
+    */
+   public static final int DEFAULT_MAX_DEPTH = 1000;
+
+   /**
+    * Builds the character table describing the JSON syntax profile.
+    * 
+    * @return the character lookup table used by tokenizers parsing JSON
+    */
+   private static int[] compileSyntax() {
+      JSONStreamTokenizer jtok = new JSONStreamTokenizer(new StringReader(""));
+      jtok.resetSyntax();
+      // set up word characters (all but special chars above are included)
+      jtok.wordChars(';', 'Z'); // ;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ
+      jtok.wordChars('^', 'z'); // ^_`abcdefghijklmnopqrstuvwxyz
+      jtok.wordChars('|', '|'); // |
+      jtok.wordChars('!', '!'); // !
+      jtok.wordChars('#', '&'); // #$%&
+      jtok.wordChars('~', '~'); // ~
+      jtok.wordChars('(', ' '); // ()*+
+      jtok.wordChars('-', '9'); // -./0123456789
+      // jtok.wordChars(BSH, BSH); // \
+
+      jtok.quoteChar(DQTE);
+      // Note: we are handling number parsing in doValue
+      // jtok.parseNumbers();
+      // Note: took out tab so offset can be incremented
+      // jtok.whitespaceChars(TAB, TAB); // \t
+      jtok.whitespaceChars(FFD, FFD); // \f
+      jtok.whitespaceChars(BSP, BSP); // \b
+      // Note: took out space so offset can be incremented
+      // jtok.whitespaceChars(SPC, SPC); // space
+      return jtok._charTable;
+   }
+
+   // how the numbers read by this parser are represented
+   private final NumberPolicy _numberPolicy;
+   // pool of the String values read by this parser, or null
+   private final JSONStringPool _stringPool;
+   // how the location of the content read by this parser is kept
+   private final LocationPolicy _locationPolicy;
+   // most objects and arrays this parser allows to be nested
+   private final int _maxDepth;
+   // tokenizer state recycled by each thread using this parser
+   private final ThreadLocal<JSONStreamTokenizer> _tokenizers = ThreadLocal
+      .withInitial(() -> newTokenizer(new JSONSymbols()));
+
+   /**
+    * Constructor for a parser reading numbers as {@link Long} or
+    * {@link Double} values
+    */
+   public JSONParser() {
+      this(NumberPolicy.DOUBLE);
+   }
+
+   /**
+    * Constructor for a parser reading numbers as described by the supplied
+    * policy
+    * 
+    * @param numberPolicy
+    *           how the numbers read are to be represented
+    */
+   public JSONParser(NumberPolicy numberPolicy) {
+      this(numberPolicy, null);
+   }
+
+   /**
+    * Constructor for a parser reading numbers as described by the supplied
+    * policy, and taking short String values from the supplied pool so each
+    * distinct value is held only once. The pool may be shared by any number
+    * of parsers.
+    * 
+    * @param numberPolicy
+    *           how the numbers read are to be represented
+    * @param stringPool
+    *           pool of String values, or null to create a new String for
+    *           every value read
+    */
+   public JSONParser(NumberPolicy numberPolicy, JSONStringPool stringPool) {
+      this(numberPolicy, stringPool, LocationPolicy.LINE_COLUMN);
+   }
+
+   /**
+    * Constructor for a parser reading numbers as described by the supplied
+    * policy, taking short String values from the supplied pool, and keeping
+    * the location of the content read as described by the supplied policy
+    * 
+    * @param numberPolicy
+    *           how the numbers read are to be represented
+    * @param stringPool
+    *           pool of String values, or null to create a new String for
+    *           every value read
+    * @param locationPolicy
+    *           how the location of the content read is kept
+    */
+   public JSONParser(NumberPolicy numberPolicy, JSONStringPool stringPool,
+      LocationPolicy locationPolicy) {
+      this(numberPolicy, stringPool, locationPolicy, DEFAULT_MAX_DEPTH);
+   }
+
+   /**
+    * Constructor for a parser reading numbers as described by the supplied
+    * policy, taking short String values from the supplied pool, keeping the
+    * location of the content read as described by the supplied policy, and
+    * rejecting content whose objects and arrays are nested more deeply than
+    * the supplied limit. Nested content is read without recursion, so the
+    * limit is not bound by the size of the stack of the parsing thread.
+    * 
+    * @param numberPolicy
+    *           how the numbers read are to be represented
+    * @param stringPool
+    *           pool of String values, or null to create a new String for
+    *           every value read
+    * @param locationPolicy
+    *           how the location of the content read is kept
+    * @param maxDepth
+    *           most objects and arrays allowed to be nested within one
+    *           another (1 allows a top level object or array holding no
+    *           other objects or arrays)
+    * @throws IllegalArgumentException
+    *            If the maximum depth is less than 1.
+    */
+   public JSONParser(NumberPolicy numberPolicy, JSONStringPool stringPool,
+      LocationPolicy locationPolicy, int maxDepth) {
+      if (maxDepth < 1) {
+         throw new IllegalArgumentException(
+            "maxDepth must be at least 1, not " + maxDepth);
+      }
+      if (numberPolicy == null) {
+         throw new NullPointerException("numberPolicy cannot be null");
+      }
+      if (locationPolicy == null) {
+         throw new NullPointerException("locationPolicy cannot be null");
+      }
+      _numberPolicy = numberPolicy;
+      _stringPool = stringPool;
+      _locationPolicy = locationPolicy;
+      _maxDepth = maxDepth;
+   }
+
+   /**
+    * Obtains a tokenizer for the current thread. The thread's recycled
+    * tokenizer is used unless it is already busy (e.g., a parse started while
+    * another is in progress on the same thread), in which case a new tokenizer
+    * sharing the compiled syntax is created.
+    * 
+    * @return tokenizer ready to be given the input to be read
+    */
+   JSONStreamTokenizer acquire() {
+      JSONStreamTokenizer jtok = _tokenizers.get();
+      if (jtok._inUse) {
+         jtok = newTokenizer(new JSONSymbols());
+      }
+      jtok._inUse = true;
+      return jtok;
+   }
+
+   /**
+    * Creates a tokenizer using the shared, precompiled JSON syntax profile
+    * that reads numbers and String values as configured for this parser, and
+    * reuses the Strings of repeated keys from the supplied table
+    * 
+    * @param symbols
+    *           table of the keys read
+    * @return new tokenizer without a reader
+    */
+   JSONStreamTokenizer newTokenizer(JSONSymbols symbols) {
+      JSONStreamTokenizer jtok = new JSONStreamTokenizer(JSON_SYNTAX);
+      jtok.eolIsSignificant(true);
+      jtok.scanNumbers(true);
+      jtok._symbols = symbols;
+      jtok._numberPolicy = _numberPolicy;
+      jtok._stringPool = _stringPool;
+      jtok._trackLocation = (_locationPolicy == LocationPolicy.LINE_COLUMN);
+      jtok._maxDepth = _maxDepth;
+      return jtok;
+   }
+
+   /**
+    * @return how the location of the content read by this parser is kept
+    */
+   public LocationPolicy getLocationPolicy() {
+      return _locationPolicy;
+   }
+
+   /**
+    * @return most objects and arrays this parser allows to be nested within
+    *         one another
+    */
+   public int getMaxDepth() {
+      return _maxDepth;
+   }
+
+   /**
+    * @return how the numbers read by this parser are represented
+    */
+   public NumberPolicy getNumberPolicy() {
+      return _numberPolicy;
+   }
+
+   /**
+    * @return the pool of String values read by this parser, or null if it
+    *         creates a new String for every value
+    */
+   public JSONStringPool getStringPool() {
+      return _stringPool;
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * UTF-8 encoded bytes as a sequence of events.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be read.
+    * @return reader of events from the supplied bytes
+    */
+   public JSONEventReader createEventReader(byte[] bytes) {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      return new JSONEventReader(newTokenizer(new JSONSymbols()),
+         new JSONUTF8Input(bytes, 0, bytes.length), null);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the UTF-8
+    * encoded bytes between the position and limit of the supplied buffer as a
+    * sequence of events.
+    * 
+    * @param buffer
+    *           Buffer containing the UTF-8 encoded bytes to be read.
+    * @return reader of events from the supplied buffer
+    */
+   public JSONEventReader createEventReader(ByteBuffer buffer) {
+      return new JSONEventReader(newTokenizer(new JSONSymbols()),
+         new JSONUTF8Input(buffer), null);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * characters as a sequence of events.
+    * 
+    * @param chars
+    *           The characters to be read.
+    * @return reader of events from the supplied characters
+    */
+   public JSONEventReader createEventReader(CharSequence chars) {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return new JSONEventReader(newTokenizer(new JSONSymbols()),
+         new JSONCharSequenceInput(chars, 0, chars.length()), null);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * UTF-8 encoded input stream as a sequence of events.
+    * 
+    * @param is
+    *           The input stream to be read.
+    * @return reader of events from the supplied input stream
+    */
+   public JSONEventReader createEventReader(InputStream is) {
+      return new JSONEventReader(newTokenizer(new JSONSymbols()), input(is),
+         null);
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the UTF-8
+    * encoded file at the supplied path as a sequence of events. Larger files
+    * are memory mapped and remain open until the event reader is closed.
+    * 
+    * @param path
+    *           The path of the file to be read.
+    * @return reader of events from the supplied file
+    * @throws IOException
+    *            If the file can not be opened.
+    */
+   public JSONEventReader createEventReader(Path path) throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+      try {
+         return new JSONEventReader(newTokenizer(new JSONSymbols()),
+            input(channel), channel);
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Creates a {@link JSONEventReader} reporting the content of the supplied
+    * reader as a sequence of events.
+    * 
+    * @param reader
+    *           The reader to be read.
+    * @return reader of events from the supplied reader
+    */
+   public JSONEventReader createEventReader(Reader reader) {
+      return new JSONEventReader(newTokenizer(new JSONSymbols()),
+         new JSONReaderInput(reader, new char[JSONReaderInput.BUFFER_SIZE]),
+         null);
+   }
+
+   /**
+    * Creates a {@link JSONFeedParser} reading UTF-8 encoded content fed to it
+    * in chunks as it arrives, without blocking.
+    * 
+    * @return parser of the content fed to it
+    */
+   public JSONFeedParser createFeedParser() {
+      return new JSONFeedParser(this);
+   }
+
+   /**
+    * Provides the input used to read the UTF-8 encoded file open on the
+    * supplied channel. Larger files are memory mapped and parsed straight from
+    * the mapped pages, one window of up to 1 GB at a time, avoiding read calls
+    * and copying the file into the heap. The channel must remain open while
+    * the input is read.
+    * 
+    * @param channel
+    *           open channel of the file to be read
+    * @return input reading the file
+    * @throws IOException
+    *            If the file can not be read.
+    */
+   private static JSONInput input(FileChannel channel) throws IOException {
+      long size = channel.size();
+      if (size < MAP_THRESHOLD) {
+         // mapping costs more than reading a small file
+         ByteBuffer buffer = ByteBuffer.allocate((int) size);
+         while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            ; // keep reading
+         }
+         buffer.flip();
+         return new JSONUTF8Input(buffer);
+      }
+      return new JSONUTF8Input(new MappedWindows(channel, size));
+   }
+
+   /**
+    * Provides the input decoding the UTF-8 encoded bytes of the supplied
+    * stream as they are read, one window at a time.
+    * 
+    * @param is
+    *           the input stream to be read
+    * @return input reading the stream
+    */
+   private static JSONInput input(InputStream is) {
+      if (is == null) {
+         throw new NullPointerException("is cannot be null");
+      }
+      return new JSONUTF8Input(new StreamBuffers(is));
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the
+    * supplied UTF-8 encoded input stream. Elements are parsed one at a time
+    * as they are requested, so the whole array is never held in memory.
+    * 
+    * @param is
+    *           The input stream containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the input
+    *         stream when closed
+    * @throws IOException
+    *            If the input stream does not start with an array.
+    */
+   public JSONArrayIterator iterateArray(InputStream is) throws IOException {
+      return new JSONArrayIterator(createEventReader(is), is);
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the UTF-8
+    * encoded file at the supplied path. Elements are parsed one at a time as
+    * they are requested, so the whole array is never held in memory.
+    * 
+    * @param path
+    *           The path of the file containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the file
+    *         when closed
+    * @throws IOException
+    *            If the file can not be opened or does not start with an array.
+    */
+   public JSONArrayIterator iterateArray(Path path) throws IOException {
+      return new JSONArrayIterator(createEventReader(path), null);
+   }
+
+   /**
+    * Creates an iterator over the elements of the array making up the content
+    * of the supplied reader. Elements are parsed one at a time as they are
+    * requested, so the whole array is never held in memory.
+    * 
+    * @param reader
+    *           The reader containing an array of objects or arrays.
+    * @return iterator over the elements of the array, which closes the reader
+    *         when closed
+    * @throws IOException
+    *            If the reader does not start with an array.
+    */
+   public JSONArrayIterator iterateArray(Reader reader) throws IOException {
+      return new JSONArrayIterator(createEventReader(reader), reader);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray}. The bytes are scanned directly
+    * rather than first being decoded into characters.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(byte[] bytes) throws IOException {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      return parse(new JSONUTF8Input(bytes, 0, bytes.length));
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied range of an array to
+    * produce either a {@link JSONObject} or a {@link JSONArray}. The bytes are
+    * scanned directly rather than first being decoded into characters.
+    * 
+    * @param bytes
+    *           Array containing the UTF-8 encoded bytes to be parsed.
+    * @param offset
+    *           Index of the first byte to be parsed.
+    * @param length
+    *           Number of bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(byte[] bytes, int offset, int length)
+      throws IOException {
+      return parse(new JSONUTF8Input(bytes, offset, length));
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes between the position and limit of the
+    * supplied buffer to produce either a {@link JSONObject} or a
+    * {@link JSONArray}. The bytes are scanned directly rather than first being
+    * decoded into characters. The position of the buffer is not changed.
+    * 
+    * @param buffer
+    *           Buffer containing the UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         buffer.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(ByteBuffer buffer) throws IOException {
+      return parse(new JSONUTF8Input(buffer));
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path to produce either a
+    * {@link JSONObject} or a {@link JSONArray}. Larger files are memory mapped
+    * and parsed straight from the mapped pages, one window of up to 1 GB at a
+    * time, avoiding read calls and copying the file into the heap.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         file.
+    * @throws IOException
+    *            If the file can not be read or a parsing error occurs.
+    */
+   public JSONArtifact parse(Path path) throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      try (FileChannel channel = FileChannel.open(path,
+         StandardOpenOption.READ)) {
+         return parse(input(channel));
+      }
+   }
+
+   /**
+    * Parses the supplied input stream to produce either a {@link JSONObject} or
+    * a {@link JSONArray}.
+    * 
+    * @param is
+    *           The input stream to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         input stream.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(InputStream is) throws IOException {
+      return parse(input(is));
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded bytes, passing the content read to the
+    * supplied handler rather than building a {@link JSONObject} or
+    * {@link JSONArray}.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public void parse(byte[] bytes, JSONHandler handler) throws IOException {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      parse(new JSONUTF8Input(bytes, 0, bytes.length), handler);
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path, passing the content
+    * read to the supplied handler rather than building a {@link JSONObject}
+    * or {@link JSONArray}. Larger files are memory mapped.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If the file can not be read, a parsing error occurs, or thrown
+    *            by the handler.
+    */
+   public void parse(Path path, JSONHandler handler) throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      try (FileChannel channel = FileChannel.open(path,
+         StandardOpenOption.READ)) {
+         parse(input(channel), handler);
+      }
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded input stream, passing the content read
+    * to the supplied handler rather than building a {@link JSONObject} or
+    * {@link JSONArray}.
+    * 
+    * @param is
+    *           The input stream to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public void parse(InputStream is, JSONHandler handler) throws IOException {
+      parse(input(is), handler);
+   }
+
+   /**
+    * Parses the supplied input, passing the content read to the supplied
+    * handler
+    * 
+    * @param input
+    *           The input to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   private void parse(JSONInput input, JSONHandler handler)
+      throws IOException {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         new JSONEventReader(jtok, input, null).read(handler);
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied reader, passing the content read to the supplied
+    * handler rather than building a {@link JSONObject} or {@link JSONArray}.
+    * 
+    * @param reader
+    *           The reader to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public void parse(Reader reader, JSONHandler handler) throws IOException {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         new JSONEventReader(jtok,
+            new JSONReaderInput(reader, jtok.readBuffer()), null).read(handler);
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied characters, passing the content read to the supplied
+    * handler rather than building a {@link JSONObject} or {@link JSONArray}.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param handler
+    *           The handler receiving the parsed content.
+    * @throws IOException
+    *            If a parsing error occurs, or thrown by the handler.
+    */
+   public void parse(CharSequence chars, JSONHandler handler)
+      throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      parse(new JSONCharSequenceInput(chars, 0, chars.length()), handler);
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded bytes to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection. Other values are skipped without being
+    * materialized.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(byte[] bytes, JSONProjection projection)
+      throws IOException {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      return parse(new JSONUTF8Input(bytes, 0, bytes.length), projection);
+   }
+
+   /**
+    * Parses the UTF-8 encoded file at the supplied path to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection. Larger files are memory mapped.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If the file can not be read or a parsing error occurs.
+    */
+   public JSONArtifact parse(Path path, JSONProjection projection)
+      throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      try (FileChannel channel = FileChannel.open(path,
+         StandardOpenOption.READ)) {
+         return parse(input(channel), projection);
+      }
+   }
+
+   /**
+    * Parses the supplied UTF-8 encoded input stream to produce either a
+    * {@link JSONObject} or a {@link JSONArray} holding only the values on the
+    * paths of the supplied projection.
+    * 
+    * @param is
+    *           The input stream to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(InputStream is, JSONProjection projection)
+      throws IOException {
+      return parse(input(is), projection);
+   }
+
+   /**
+    * Parses the supplied input to produce either a {@link JSONObject} or a
+    * {@link JSONArray} holding only the values on the paths of the supplied
+    * projection
+    * 
+    * @param input
+    *           The input to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private JSONArtifact parse(JSONInput input, JSONProjection projection)
+      throws IOException {
+      if (projection == null) {
+         throw new NullPointerException("projection cannot be null");
+      }
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         return projection.read(new JSONEventReader(jtok, input, null));
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied reader to produce either a {@link JSONObject} or a
+    * {@link JSONArray} holding only the values on the paths of the supplied
+    * projection.
+    * 
+    * @param reader
+    *           The reader to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(Reader reader, JSONProjection projection)
+      throws IOException {
+      if (projection == null) {
+         throw new NullPointerException("projection cannot be null");
+      }
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         return projection.read(new JSONEventReader(jtok,
+            new JSONReaderInput(reader, jtok.readBuffer()), null));
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray} holding only the values on the paths of the supplied
+    * projection.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param projection
+    *           The paths of the values to be materialized.
+    * @return The projected {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(CharSequence chars, JSONProjection projection)
+      throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return parse(new JSONCharSequenceInput(chars, 0, chars.length()),
+         projection);
+   }
+
+   /**
+    * Parses the supplied input to produce either a {@link JSONObject} or a
+    * {@link JSONArray}
+    * 
+    * @param input
+    *           The input to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         input.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private JSONArtifact parse(JSONInput input) throws IOException {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         return parse(jtok, input);
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied input using the supplied tokenizer to produce either
+    * a {@link JSONObject} or a {@link JSONArray}
+    * 
+    * @param jtok
+    *           The tokenizer obtained from {@link #acquire()}.
+    * @param input
+    *           The input to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         input.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private JSONArtifact parse(JSONStreamTokenizer jtok, JSONInput input)
+      throws IOException {
+      jtok.reset(input);
+      return (JSONArtifact) JSON.parseValue(jtok);
+   }
+
+   /**
+    * Parses the supplied reader to produce either a {@link JSONObject} or a
+    * {@link JSONArray}
+    * 
+    * @param reader
+    *           The reader to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         reader.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(Reader reader) throws IOException {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         return parse(jtok, new JSONReaderInput(reader, jtok.readBuffer()));
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Parses the supplied characters to produce a {@link JSONObject} or a
+    * {@link JSONArray}. The array is read in place, without being copied.
+    * 
+    * @param chars
+    *           Supplied characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(char[] chars) throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return parse(new JSONReaderInput(chars, 0, chars.length));
+   }
+
+   /**
+    * Parses the characters in the supplied range of an array to produce a
+    * {@link JSONObject} or a {@link JSONArray}. The array is read in place,
+    * without being copied.
+    * 
+    * @param chars
+    *           Array containing the characters to be parsed.
+    * @param offset
+    *           Index of the first character to be parsed.
+    * @param length
+    *           Number of characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(char[] chars, int offset, int length)
+      throws IOException {
+      return parse(new JSONReaderInput(chars, offset, length));
+   }
+
+   /**
+    * Parses the supplied characters to produce a {@link JSONObject} or a
+    * {@link JSONArray}. The characters are indexed directly, without being
+    * copied.
+    * 
+    * @param chars
+    *           Supplied characters to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(CharSequence chars) throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return parse(new JSONCharSequenceInput(chars, 0, chars.length()));
+   }
+
+   /**
+    * Parses a supplied String to produce a {@link JSONObject} or a
+    * {@link JSONArray}. The String is indexed directly, without being copied.
+    * 
+    * @param str
+    *           Supplied String to be parsed.
+    * @return The parsed {@link JSONObject} or {@link JSONArray}
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parse(String str) throws IOException {
+      if (str == null) {
+         throw new NullPointerException("str cannot be null");
+      }
+      return parse(new JSONCharSequenceInput(str, 0, str.length()));
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray} whose nested objects and arrays
+    * are only parsed when first accessed. Until then, only the extent of their
+    * text is recorded, and they serialize (without formatting) by copying that
+    * text verbatim. The array is retained by the nested objects and arrays, so
+    * it must not be changed afterward. Since accessing a nested object or array
+    * parses it, the tree returned is not safe for concurrent reads until each
+    * has been accessed (e.g., by serializing it with formatting).
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs in the top level object or array, or
+    *            an object or array is not terminated.
+    */
+   public JSONArtifact parseLazy(byte[] bytes) throws IOException {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      return JSONExtent.parse(bytes, 0, bytes.length, this);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray} whose nested objects and arrays are only parsed when
+    * first accessed. The array is retained by the nested objects and arrays,
+    * so it must not be changed afterward.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs in the top level object or array, or
+    *            an object or array is not terminated.
+    * @see #parseLazy(byte[])
+    */
+   public JSONArtifact parseLazy(char[] chars) throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return JSONExtent.parse(chars, 0, chars.length, this);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray} whose nested objects and arrays are only parsed when
+    * first accessed. The characters are retained by the nested objects and
+    * arrays, so they must not be changed afterward.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs in the top level object or array, or
+    *            an object or array is not terminated.
+    * @see #parseLazy(byte[])
+    */
+   public JSONArtifact parseLazy(CharSequence chars) throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return JSONExtent.parse(chars, 0, chars.length(), this);
+   }
+
+   /**
+    * Parses the UTF-8 encoded bytes in the supplied array to produce either a
+    * {@link JSONObject} or a {@link JSONArray}, using the supplied pool to
+    * parse a large document in parallel. The text of large objects and arrays
+    * is first scanned to find the extents of the objects and arrays they
+    * hold, which are then parsed in separate tasks and stitched back together
+    * in their original order. Documents whose parsing is dominated by a large
+    * object or array of scalars gain little from this, as the scalars are
+    * read while scanning. Small documents are parsed by a single task.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the bytes (e.g.,
+    *           {@link ForkJoinPool#commonPool()}).
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         bytes.
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   public JSONArtifact parseParallel(byte[] bytes, ForkJoinPool pool)
+      throws IOException {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      if (pool == null) {
+         throw new NullPointerException("pool cannot be null");
+      }
+      return JSONSplitTask.parse(bytes, 0, bytes.length, this, pool);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray}, using the supplied pool to parse a large document in
+    * parallel.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the characters.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @see #parseParallel(byte[], ForkJoinPool)
+    */
+   public JSONArtifact parseParallel(char[] chars, ForkJoinPool pool)
+      throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      if (pool == null) {
+         throw new NullPointerException("pool cannot be null");
+      }
+      return JSONSplitTask.parse(chars, 0, chars.length, this, pool);
+   }
+
+   /**
+    * Parses the supplied characters to produce either a {@link JSONObject} or
+    * a {@link JSONArray}, using the supplied pool to parse a large document in
+    * parallel.
+    * 
+    * @param chars
+    *           The characters to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the characters.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         characters.
+    * @throws IOException
+    *            If a parsing error occurs.
+    * @see #parseParallel(byte[], ForkJoinPool)
+    */
+   public JSONArtifact parseParallel(CharSequence chars, ForkJoinPool pool)
+      throws IOException {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      if (pool == null) {
+         throw new NullPointerException("pool cannot be null");
+      }
+      return JSONSplitTask.parse(chars, 0, chars.length(), this, pool);
+   }
+
+   /**
+    * Parses the UTF-8 encoded content of the file at the supplied path to
+    * produce either a {@link JSONObject} or a {@link JSONArray}, using the
+    * supplied pool to parse a large document in parallel. The whole file is
+    * read into memory first.
+    * 
+    * @param path
+    *           The path of the file to be parsed.
+    * @param pool
+    *           The pool running the tasks parsing the file.
+    * @return The {@link JSONObject} or the {@link JSONArray} parsed from the
+    *         file.
+    * @throws IOException
+    *            If the file cannot be read or a parsing error occurs.
+    * @see #parseParallel(byte[], ForkJoinPool)
+    */
+   public JSONArtifact parseParallel(Path path, ForkJoinPool pool)
+      throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      return parseParallel(Files.readAllBytes(path), pool);
+   }
+
+   /**
+    * Returns a tokenizer obtained from {@link #acquire()} so it may be
+    * recycled by a later parse on the same thread.
+    * 
+    * @param jtok
+    *           the tokenizer no longer needed
+    */
+   void release(JSONStreamTokenizer jtok) {
+      jtok.reset(null);
+      jtok._inUse = false;
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * supplied UTF-8 encoded input stream. Objects are parsed one at a time as
+    * the stream is consumed, so the whole array is never held in memory. The
+    * stream should be closed (e.g., by try-with-resources) to close the input
+    * stream. A parsing error, or an element that is not an object, is
+    * reported by an {@link java.io.UncheckedIOException}.
+    * 
+    * @param is
+    *           The input stream containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the input stream does not start with an array.
+    */
+   public Stream<JSONObject> streamArray(InputStream is) throws IOException {
+      return iterateArray(is).objects();
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * UTF-8 encoded file at the supplied path. Objects are parsed one at a time
+    * as the stream is consumed, so the whole array is never held in memory.
+    * The stream should be closed (e.g., by try-with-resources) to close the
+    * file. A parsing error, or an element that is not an object, is reported
+    * by an {@link java.io.UncheckedIOException}.
+    * 
+    * @param path
+    *           The path of the file containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the file can not be opened or does not start with an array.
+    */
+   public Stream<JSONObject> streamArray(Path path) throws IOException {
+      return iterateArray(path).objects();
+   }
+
+   /**
+    * Creates a sequential stream of the objects in the array making up the
+    * content of the supplied reader. Objects are parsed one at a time as the
+    * stream is consumed, so the whole array is never held in memory. The
+    * stream should be closed (e.g., by try-with-resources) to close the
+    * reader. A parsing error, or an element that is not an object, is
+    * reported by an {@link java.io.UncheckedIOException}.
+    * 
+    * @param reader
+    *           The reader containing an array of objects.
+    * @return stream of the objects in the array
+    * @throws IOException
+    *            If the reader does not start with an array.
+    */
+   public Stream<JSONObject> streamArray(Reader reader) throws IOException {
+      return iterateArray(reader).objects();
+   }
+
+   /**
+    * Validates the supplied UTF-8 encoded bytes, reporting whether they parse
+    * as a {@link JSONObject} or {@link JSONArray} without building either.
+    * The bytes are scanned directly, and no Strings or Numbers are created
+    * for the values read.
+    * 
+    * @param bytes
+    *           The UTF-8 encoded bytes to be validated.
+    * @return the outcome, with the byte offset of any error found
+    */
+   public JSONValidation validate(byte[] bytes) {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      return validate(new JSONUTF8Input(bytes, 0, bytes.length));
+   }
+
+   /**
+    * Validates the supplied characters, reporting whether they parse as a
+    * {@link JSONObject} or {@link JSONArray} without building either. The
+    * array is read in place, and no Strings or Numbers are created for the
+    * values read.
+    * 
+    * @param chars
+    *           The characters to be validated.
+    * @return the outcome, with the character offset of any error found
+    */
+   public JSONValidation validate(char[] chars) {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return validate(new JSONReaderInput(chars, 0, chars.length));
+   }
+
+   /**
+    * Validates the supplied characters, reporting whether they parse as a
+    * {@link JSONObject} or {@link JSONArray} without building either. The
+    * characters are indexed directly, and no Strings or Numbers are created
+    * for the values read.
+    * 
+    * @param chars
+    *           The characters to be validated.
+    * @return the outcome, with the character offset of any error found
+    */
+   public JSONValidation validate(CharSequence chars) {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      return validate(new JSONCharSequenceInput(chars, 0, chars.length()));
+   }
+
+   /**
+    * Validates the supplied UTF-8 encoded input stream, reporting whether it
+    * parses as a {@link JSONObject} or {@link JSONArray} without building
+    * either.
+    * 
+    * @param is
+    *           The input stream to be validated.
+    * @return the outcome, with the byte offset of any error found
+    * @throws IOException
+    *            If the input stream can not be read.
+    */
+   public JSONValidation validate(InputStream is) throws IOException {
+      JSONInput input = input(is);
+      JSONValidation validation = validate(input);
+      input.checkReadError();
+      return validation;
+   }
+
+   /**
+    * Validates the supplied input. The content is read as by
+    * {@link #parse(JSONInput)}, so the same errors are reported (and the same
+    * leniencies allowed), but the tokenizer skips the values read rather than
+    * creating them, and no objects or arrays are built. Content other than an
+    * object or array (including no content) is reported as invalid. An error
+    * reading the input ends the validation too, and is kept by the input for
+    * the caller to rethrow (see {@link JSONInput#checkReadError()}).
+    * 
+    * @param input
+    *           The input to be validated.
+    * @return the outcome of the validation
+    */
+   private JSONValidation validate(JSONInput input) {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         return validate(jtok, input);
+      } finally {
+         release(jtok);
+      }
+   }
+
+   /**
+    * Validates the supplied input using the supplied tokenizer, noting where
+    * any error was found
+    * 
+    * @param jtok
+    *           The tokenizer obtained from {@link #acquire()}.
+    * @param input
+    *           The input to be validated.
+    * @return the outcome of the validation
+    */
+   private JSONValidation validate(JSONStreamTokenizer jtok,
+      JSONInput input) {
+      jtok.reset(input);
+      jtok._validating = true;
+      try {
+         JSON.validateValue(jtok);
+         return JSONValidation.VALID;
+      } catch (IOException e) {
+         // the location is taken before the tokenizer is released
+         return new JSONValidation(String.valueOf(e.getMessage()),
+            jtok.getOffset(), jtok.getLineNumber(), jtok.getColumnNumber());
+      } finally {
+         jtok._validating = false;
+      }
+   }
+
+   /**
+    * Validates the UTF-8 encoded file at the supplied path, reporting whether
+    * it parses as a {@link JSONObject} or {@link JSONArray} without building
+    * either. Larger files are memory mapped and scanned straight from the
+    * mapped pages.
+    * 
+    * @param path
+    *           The path of the file to be validated.
+    * @return the outcome, with the byte offset of any error found
+    * @throws IOException
+    *            If the file can not be opened or read.
+    */
+   public JSONValidation validate(Path path) throws IOException {
+      if (path == null) {
+         throw new NullPointerException("path cannot be null");
+      }
+      try (FileChannel channel = FileChannel.open(path,
+         StandardOpenOption.READ)) {
+         JSONInput input = input(channel);
+         JSONValidation validation = validate(input);
+         input.checkReadError();
+         return validation;
+      }
+   }
+
+   /**
+    * Validates the supplied reader, reporting whether it parses as a
+    * {@link JSONObject} or {@link JSONArray} without building either.
+    * 
+    * @param reader
+    *           The reader to be validated.
+    * @return the outcome, with the character offset of any error found
+    * @throws IOException
+    *            If the reader can not be read.
+    */
+   public JSONValidation validate(Reader reader) throws IOException {
+      JSONStreamTokenizer jtok = acquire();
+      try {
+         JSONInput input = new JSONReaderInput(reader, jtok.readBuffer());
+         JSONValidation validation = validate(jtok, input);
+         input.checkReadError();
+         return validation;
+      } finally {
+         release(jtok);
+      }
+   }
+}
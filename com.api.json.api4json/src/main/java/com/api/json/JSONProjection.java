@@ -0,0 +1,282 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import com.api.json.JSONEventReader.Event;
+
+/**
+ * Set of paths selecting the parts of a JSON document to be materialized by
+ * {@link JSON#parse(java.io.Reader, JSONProjection)} and its variations. Only
+ * the {@link JSONObject}s and {@link JSONArray}s on the paths are built, and
+ * every other value is skipped without creating Strings or Numbers for it.
+ *
+ * Each path is a sequence of keys, each preceded by a slash (e.g.,
+ * "/entities/&#42;/entity"). A key of &#42; matches every key of an object or
+ * every element of an array, and a number matches the element of an array at
+ * that index. As in a JSON pointer, ~1 stands for a slash and ~0 for a tilde
+ * within a key. The value found at the end of a path is materialized in full.
+ * A value matched both by its key and by &#42; keeps the values selected by
+ * either path.
+ * Objects on a path keep only their keys on a path, and arrays keep only
+ * their elements on a path (so array indices may change). A projection is
+ * immutable and may be shared by any number of threads.
+ */
+public final class JSONProjection {
+
+   /**
+    * Step of the paths: the values selected below a matched key or element
+    */
+   private static final class Node {
+      // nodes for named keys or array indices, or null if there are none
+      private Map<String, Node> _children = null;
+      // node matching any key or element, or null
+      private Node _any = null;
+      // true if the value matched is materialized in full
+      private boolean _all = false;
+
+      /**
+       * Provides the node selecting within the value of the supplied key
+       * 
+       * @param key
+       *           the key of an object, or the index of an array element
+       * @return the node for the value, or null if it is not wanted
+       */
+      private Node child(String key) {
+         if (_children != null) {
+            Node node = _children.get(key);
+            if (node != null) {
+               return node;
+            }
+         }
+         return _any;
+      }
+   }
+
+   // marks a value not on any path
+   private static final Object SKIPPED = new Object();
+
+   private final Node _root = new Node();
+   private final String[] _paths;
+
+   /**
+    * Constructor
+    * 
+    * @param paths
+    *           the paths of the values to be materialized. An empty path (or
+    *           "/") selects the whole document.
+    * @throws IllegalArgumentException
+    *            If a path does not begin with a slash.
+    */
+   public JSONProjection(String... paths) {
+      if (paths == null) {
+         throw new NullPointerException("paths cannot be null");
+      }
+      _paths = paths.clone();
+      for (String path : _paths) {
+         if (path == null) {
+            throw new NullPointerException("path cannot be null");
+         }
+         Node node = _root;
+         if (!path.isEmpty() && !"/".equals(path)) {
+            if (path.charAt(0) != '/') {
+               throw new IllegalArgumentException(
+                  "Path \"" + path + "\" must begin with a slash");
+            }
+            for (String key : path.substring(1).split("/", -1)) {
+               node = add(node, key.replace("~1", "/").replace("~0", "~"));
+            }
+         }
+         node._all = true;
+      }
+      inherit(_root);
+   }
+
+   /**
+    * Adds the step for the supplied key below the supplied node
+    * 
+    * @param node
+    *           the node of the preceding step
+    * @param key
+    *           the key, index or * of the next step
+    * @return the node of the next step
+    */
+   private static Node add(Node node, String key) {
+      if ("*".equals(key)) {
+         if (node._any == null) {
+            node._any = new Node();
+         }
+         return node._any;
+      }
+      if (node._children == null) {
+         node._children = new HashMap<>();
+      }
+      return node._children.computeIfAbsent(key, k -> new Node());
+   }
+
+   /**
+    * Merges the steps matching any key into the steps for each named key below
+    * the supplied node, so a value matched by name also receives the values
+    * selected by the paths through &#42;
+    * 
+    * @param node
+    *           the node whose steps are to be merged
+    */
+   private static void inherit(Node node) {
+      if (node._children != null) {
+         for (Node child : node._children.values()) {
+            if (node._any != null) {
+               merge(child, node._any);
+            }
+            inherit(child);
+         }
+      }
+      if (node._any != null) {
+         inherit(node._any);
+      }
+   }
+
+   /**
+    * Adds copies of the steps below one node to another node
+    * 
+    * @param into
+    *           the node receiving the steps
+    * @param from
+    *           the node whose steps are copied
+    */
+   private static void merge(Node into, Node from) {
+      into._all |= from._all;
+      if (from._children != null) {
+         for (Map.Entry<String, Node> entry : from._children.entrySet()) {
+            merge(add(into, entry.getKey()), entry.getValue());
+         }
+      }
+      if (from._any != null) {
+         merge(add(into, "*"), from._any);
+      }
+   }
+
+   /**
+    * @return the paths of this projection
+    */
+   public String[] getPaths() {
+      return _paths.clone();
+   }
+
+   /**
+    * Reads the top level value from the supplied reader, materializing only
+    * the values on this projection's paths.
+    * 
+    * @param reader
+    *           the reader of the JSON content
+    * @return the projected {@link JSONObject} or {@link JSONArray}, or null if
+    *         there is no content
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   JSONArtifact read(JSONEventReader reader) throws IOException {
+      if (!reader.hasNext()) {
+         return null;
+      }
+      Event event = reader.next();
+      if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+         throw new IOException(
+            "Does not parse as a JSONObject or JSONArray. It is a " + event);
+      }
+      return (JSONArtifact) value(reader, _root);
+   }
+
+   /**
+    * Reads the value whose event was just read, materializing only the parts
+    * on the paths below the supplied node.
+    * 
+    * @param reader
+    *           the reader positioned at the start of a value
+    * @param node
+    *           the node of the paths reaching this value
+    * @return the projected value, or {@link #SKIPPED} if it is not wanted
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private Object value(JSONEventReader reader, Node node) throws IOException {
+      if (node._all) {
+         return reader.getValue();
+      }
+      switch (reader.getEvent()) {
+         case START_OBJECT: {
+            JSONObject jobj = new JSONObject();
+            while (reader.next() == Event.KEY_NAME) {
+               String key = reader.getString();
+               Node child = node.child(key);
+               if (child == null) {
+                  reader.skipValue();
+                  continue;
+               }
+               reader.next();
+               Object value = value(reader, child);
+               if (value != SKIPPED) {
+                  jobj.put(key, value);
+               }
+            }
+            return jobj;
+         }
+         case START_ARRAY: {
+            JSONArray array = new JSONArray();
+            for (int index = 0;; index++) {
+               Node child = (node._children == null ? node._any
+                  : node.child(Integer.toString(index)));
+               if (child == null) {
+                  if (reader.skipValue()) {
+                     continue;
+                  }
+                  // the array has ended
+                  reader.next();
+                  break;
+               }
+               if (reader.next() == Event.END_ARRAY) {
+                  break;
+               }
+               Object value = value(reader, child);
+               if (value != SKIPPED) {
+                  array.add(value);
+               }
+            }
+            return array;
+         }
+         default: {
+            // a scalar where the path expects more steps
+            return SKIPPED;
+         }
+      }
+   }
+
+   /**
+    * @see java.lang.Object#toString()
+    */
+   @Override
+   public String toString() {
+      return String.join(",", _paths);
+   }
+}
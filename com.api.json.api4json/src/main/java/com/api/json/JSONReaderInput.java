@@ -0,0 +1,285 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@link JSONInput} reading characters from a {@link Reader} through a
+ * buffer that is refilled as it is consumed, or directly from a char array.
+ * Quoted strings and words found within the buffer are copied from it in bulk.
+ */
+final class JSONReaderInput extends JSONInput {
+
+   static final int BUFFER_SIZE = 8192;
+
+   private final Reader _reader;
+   private final char[] _buf;
+   private int _pos = 0;
+   private int _end = 0;
+   private int _lastPos = 0;
+   // offset of the start of the buffer within the input
+   private long _base = 0L;
+
+   /**
+    * Constructor
+    * 
+    * @param reader
+    *           the reader containing JSON content
+    * @param buffer
+    *           buffer to receive characters from the reader (may be recycled
+    *           once this input is no longer used)
+    */
+   JSONReaderInput(Reader reader, char[] buffer) {
+      if (reader == null) {
+         throw new NullPointerException("reader cannot be null");
+      }
+      _reader = reader;
+      _buf = buffer;
+   }
+
+   /**
+    * Constructor reading the characters in the supplied range of an array. The
+    * array is read in place, not copied.
+    * 
+    * @param chars
+    *           array containing JSON content
+    * @param offset
+    *           index of the first character to be read
+    * @param length
+    *           number of characters to be read
+    */
+   JSONReaderInput(char[] chars, int offset, int length) {
+      if (chars == null) {
+         throw new NullPointerException("chars cannot be null");
+      }
+      if (offset < 0 || length < 0 || offset > chars.length - length) {
+         throw new IndexOutOfBoundsException("offset " + offset + ", length "
+            + length + " is outside of an array of length " + chars.length);
+      }
+      _reader = null;
+      _buf = chars;
+      _pos = offset;
+      _end = offset + length;
+      _lastPos = offset;
+      _base = -offset;
+   }
+
+   /**
+    * Refills the buffer from the reader, keeping the last character read so
+    * it may still be unread.
+    * 
+    * @return true if more characters are available
+    * @throws IOException
+    *            if unable to read from the reader
+    */
+   private boolean fill() throws IOException {
+      if (_reader == null) {
+         return false;
+      }
+      int keep = 0;
+      if (_end > 0) {
+         int discard = _end - 1;
+         if (_locating) {
+            // count the columns of the characters discarded
+            locateTo(discard);
+            _locatedPos -= discard;
+         }
+         _base += discard;
+         _buf[0] = _buf[discard];
+         keep = 1;
+      }
+      _pos = keep;
+      _end = keep;
+      int count = 0;
+      try {
+         while (count == 0) {
+            count = _reader.read(_buf, keep, _buf.length - keep);
+         }
+      } catch (IOException e) {
+         _readError = e;
+         throw e;
+      }
+      if (count < 0) {
+         return false;
+      }
+      _end = keep + count;
+      return true;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#locateTo(int)
+    */
+   @Override
+   void locateTo(int index) {
+      if (index > _locatedPos) {
+         _locatedColumn += index - _locatedPos;
+         _locatedPos = index;
+      }
+   }
+
+   /**
+    * @see com.api.json.JSONInput#offset()
+    */
+   @Override
+   long offset() {
+      return _base + _pos;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#position()
+    */
+   @Override
+   int position() {
+      return _pos;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#read()
+    */
+   @Override
+   int read() throws IOException {
+      if (_pos >= _end && !fill()) {
+         _lastPos = _pos;
+         _pastEnd++;
+         return EOF;
+      }
+      _lastPos = _pos;
+      return _buf[_pos++];
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readQuoted(int, com.api.json.JSONSymbols)
+    */
+   @Override
+   String readQuoted(int quote, JSONSymbols symbols) {
+      char[] buf = _buf;
+      for (int i = _pos; i < _end; i++) {
+         char ch = buf[i];
+         if (ch == quote) {
+            String value = (symbols == null ? new String(buf, _pos, i - _pos)
+               : symbols.lookup(buf, _pos, i - _pos));
+            _lastPos = i;
+            _pos = i + 1;
+            return value;
+         }
+         if (ch == '\\' || ch == '\n' || ch == '\r') {
+            break;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readRun(int[], int)
+    */
+   @Override
+   String readRun(int[] charTable, int mask) {
+      char[] buf = _buf;
+      int i = _pos;
+      while (i < _end && (charTable[buf[i]] & mask) != 0) {
+         i++;
+      }
+      if (i == _end && _reader != null) {
+         // the run may continue in the next buffer
+         return null;
+      }
+      String value = new String(buf, _lastPos, i - _lastPos);
+      _pos = i;
+      _lastPos = i - 1;
+      return value;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipBlanks()
+    */
+   @Override
+   int skipBlanks() {
+      // blanks beyond the buffer are read as tokens
+      char[] buf = _buf;
+      int i = _pos;
+      while (i < _end && (buf[i] == ' ' || buf[i] == '\t')) {
+         i++;
+      }
+      int count = i - _pos;
+      if (count > 0) {
+         _lastPos = i - 1;
+         _pos = i;
+      }
+      return count;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipQuotedRun(int)
+    */
+   @Override
+   int skipQuotedRun(int quote) {
+      char[] buf = _buf;
+      for (int i = _pos; i < _end; i++) {
+         char ch = buf[i];
+         if (ch == quote) {
+            int length = i - _pos;
+            _lastPos = i;
+            _pos = i + 1;
+            return length;
+         }
+         if (ch == '\\' || ch == '\n' || ch == '\r') {
+            break;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipRun(int[], int)
+    */
+   @Override
+   int skipRun(int[] charTable, int mask) {
+      char[] buf = _buf;
+      int i = _pos;
+      while (i < _end && (charTable[buf[i]] & mask) != 0) {
+         i++;
+      }
+      if (i == _end && _reader != null) {
+         // the run may continue in the next buffer
+         return -1;
+      }
+      int length = i - _lastPos;
+      _pos = i;
+      _lastPos = i - 1;
+      return length;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#unread()
+    */
+   @Override
+   void unread() {
+      if (_lastPos == _pos && _pastEnd > 0) {
+         // the end of the input was read
+         _pastEnd--;
+      }
+      _pos = _lastPos;
+   }
+}
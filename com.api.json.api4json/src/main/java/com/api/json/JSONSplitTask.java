@@ -0,0 +1,266 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import com.api.json.JSONEventReader.Event;
+
+/**
+ * Task parsing objects and arrays held in memory in parallel. The text of a
+ * large object or array is first scanned to find the extents of its nested
+ * objects and arrays without parsing them. Those at least
+ * {@link #SPLIT_SIZE} long are split the same way by tasks of their own,
+ * while the others are grouped into batches of about that size parsed by
+ * separate tasks. The values are then stitched into the object or array in
+ * their original order.
+ */
+final class JSONSplitTask extends RecursiveTask<Object[]> {
+
+   private static final long serialVersionUID = 1L;
+
+   /**
+    * Size (in characters or bytes) of the text below which an object or array
+    * is parsed by a single task
+    */
+   static final int SPLIT_SIZE = 1 << 17;
+
+   // objects and arrays parsed by this task
+   private final JSONExtent[] _extents;
+   // positions of their values within the enclosing object or array
+   private final int[] _indices;
+   // whether the single extent is the whole text
+   private final boolean _isText;
+
+   /**
+    * Constructor
+    * 
+    * @param extents
+    *           the objects and arrays to be parsed
+    * @param indices
+    *           positions of their values within the enclosing object or array
+    * @param isText
+    *           whether the single extent is the whole text, which may hold
+    *           white space around its object or array
+    */
+   private JSONSplitTask(JSONExtent[] extents, int[] indices,
+      boolean isText) {
+      _extents = extents;
+      _indices = indices;
+      _isText = isText;
+   }
+
+   /**
+    * Parses the top level object or array of the supplied text in parallel
+    * 
+    * @param source
+    *           the CharSequence, char[] or byte[] holding the text
+    * @param start
+    *           index of the first character or byte to be parsed
+    * @param end
+    *           index after the last character or byte to be parsed
+    * @param parser
+    *           parser whose configuration is used to read the text
+    * @param pool
+    *           pool running the tasks parsing the text
+    * @return the {@link JSONObject} or {@link JSONArray} parsed, or null if
+    *         there is no content
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   static JSONArtifact parse(Object source, int start, int end,
+      JSONParser parser, ForkJoinPool pool) throws IOException {
+      JSONExtent text = new JSONExtent(source, start, end, 1, 0, parser,
+         new JSONSymbols());
+      try {
+         return (JSONArtifact) pool.invoke(new JSONSplitTask(
+            new JSONExtent[] { text }, new int[] { 0 }, true))[0];
+      } catch (UncheckedIOException e) {
+         throw e.getCause();
+      }
+   }
+
+   /**
+    * Parses the objects and arrays of this task, splitting large ones
+    * 
+    * @see java.util.concurrent.RecursiveTask#compute()
+    */
+   @Override
+   protected Object[] compute() {
+      Object[] values = new Object[_extents.length];
+      try {
+         if (_isText) {
+            values[0] = parseText(_extents[0]);
+            return values;
+         }
+         JSONStreamTokenizer jtok = null;
+         for (int i = 0; i < values.length; i++) {
+            JSONExtent extent = _extents[i];
+            if (extent.length() >= SPLIT_SIZE) {
+               try (JSONEventReader reader = extent.reader()) {
+                  reader.next();
+                  values[i] = split(reader, extent);
+               }
+            } else {
+               // the batch is read with a single tokenizer
+               if (jtok == null) {
+                  jtok = extent.newTokenizer();
+               }
+               values[i] = extent.parse(jtok);
+            }
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      return values;
+   }
+
+   /**
+    * Creates and starts the task parsing a batch of objects and arrays
+    * 
+    * @param extents
+    *           the objects and arrays to be parsed
+    * @param indices
+    *           positions of their values
+    * @return the task started
+    */
+   private static JSONSplitTask fork(List<JSONExtent> extents,
+      List<Integer> indices) {
+      int[] positions = new int[indices.size()];
+      for (int i = 0; i < positions.length; i++) {
+         positions[i] = indices.get(i);
+      }
+      JSONSplitTask task = new JSONSplitTask(
+         extents.toArray(new JSONExtent[extents.size()]), positions, false);
+      task.fork();
+      return task;
+   }
+
+   /**
+    * Parses the object or array of the whole text, which is split if large
+    * 
+    * @param text
+    *           extent of the whole text
+    * @return the {@link JSONObject} or {@link JSONArray} parsed, or null if
+    *         there is no content
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private static JSONArtifact parseText(JSONExtent text) throws IOException {
+      try (JSONEventReader reader = text.reader()) {
+         if (!reader.hasNext()) {
+            return null;
+         }
+         Event event = reader.next();
+         if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+            throw new IOException(
+               "Does not parse as a JSONObject or JSONArray. It is a "
+                  + event);
+         }
+         if (text.length() >= SPLIT_SIZE) {
+            return split(reader, text);
+         }
+         if (event == Event.START_OBJECT) {
+            return reader.getObject();
+         }
+         return reader.getArray();
+      }
+   }
+
+   /**
+    * Reads the object or array just started, parsing its nested objects and
+    * arrays in separate tasks
+    * 
+    * @param reader
+    *           reader whose current event is {@link Event#START_OBJECT} or
+    *           {@link Event#START_ARRAY}
+    * @param extent
+    *           the extent being read
+    * @return the {@link JSONObject} or {@link JSONArray} read
+    * @throws IOException
+    *            If a parsing error occurs.
+    */
+   private static JSONArtifact split(JSONEventReader reader,
+      JSONExtent extent) throws IOException {
+      boolean isObject = (reader.getEvent() == Event.START_OBJECT);
+      Event end = isObject ? Event.END_OBJECT : Event.END_ARRAY;
+      List<String> keys = new ArrayList<>();
+      List<Object> values = new ArrayList<>();
+      List<JSONSplitTask> tasks = new ArrayList<>();
+      List<JSONExtent> batch = new ArrayList<>();
+      List<Integer> indices = new ArrayList<>();
+      int batchSize = 0;
+      Event event;
+      while ((event = reader.next()) != end) {
+         if (event == Event.KEY_NAME) {
+            keys.add(reader.getString());
+         } else if (event == Event.START_OBJECT
+            || event == Event.START_ARRAY) {
+            JSONExtent nested = reader.skip(extent);
+            if (nested.length() >= SPLIT_SIZE) {
+               tasks.add(fork(List.of(nested), List.of(values.size())));
+            } else {
+               batch.add(nested);
+               indices.add(values.size());
+               batchSize += nested.length();
+               if (batchSize >= SPLIT_SIZE) {
+                  tasks.add(fork(batch, indices));
+                  batch.clear();
+                  indices.clear();
+                  batchSize = 0;
+               }
+            }
+            // replaced once its task completes
+            values.add(null);
+         } else {
+            values.add(reader.getValue());
+         }
+      }
+      if (!batch.isEmpty()) {
+         tasks.add(fork(batch, indices));
+      }
+      for (JSONSplitTask task : tasks) {
+         Object[] parsed = task.join();
+         for (int i = 0; i < parsed.length; i++) {
+            values.set(task._indices[i], parsed[i]);
+         }
+      }
+      if (isObject) {
+         JSONObject jobj = new JSONObject();
+         for (int i = 0; i < values.size(); i++) {
+            jobj.put(keys.get(i), values.get(i));
+         }
+         return jobj;
+      }
+      JSONArray array = new JSONArray(values.size());
+      for (Object value : values) {
+         array.add(value);
+      }
+      return array;
+   }
+}
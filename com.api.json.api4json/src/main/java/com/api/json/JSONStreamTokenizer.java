@@ -23,7 +23,6 @@
 package com.api.json;
 
 import java.io.IOException;
-import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StreamTokenizer;
 
@@ -67,21 +66,75 @@ public class JSONStreamTokenizer {
    // state trackers
    boolean _atEOL = false;
    boolean _eolSignificant = false;
+   boolean _inUse = false;
    boolean _isPushedBack = false;
    boolean _lowerCaseMode = false;
    int _nextChar = -1;
+   // true when words that are numbers are returned as TT_NUMBER
+   boolean _scanNumbers = false;
+   // true if the TT_NUMBER just read has no fraction, so _lval holds it
+   boolean _isIntegral = false;
+   long _lval = 0L;
+   // true if the TT_NUMBER just read has a fraction or exponent
+   boolean _isDecimal = false;
+   // how TT_NUMBER values are represented by the parsers using this tokenizer
+   JSONParser.NumberPolicy _numberPolicy = JSONParser.NumberPolicy.DOUBLE;
+   // true while the quoted string to be read next is an object's key
+   boolean _keyExpected = false;
+   // keys recently read, reused for repeated keys (null to not reuse them)
+   JSONSymbols _symbols = null;
+   // String values shared with other tokenizers (null to not reuse them)
+   JSONStringPool _stringPool = null;
+   // true when the line and column are kept as each character is read, and
+   // false when they are computed from the input's position only once needed
+   boolean _trackLocation = true;
+   // true when quoted strings and words are skipped to validate the input,
+   // without creating Strings for them
+   boolean _validating = false;
+   // true if the TT_WORD just skipped while validating is null
+   boolean _nullWord = false;
+   // most objects and arrays the parsers using this tokenizer may nest
+   int _maxDepth = JSONParser.DEFAULT_MAX_DEPTH;
+   // one-based line and the column within it of the character last read
+   int _line = 1;
+   int _column = 0;
 
-   PushbackReader _reader = null;
+   // largest value buffer kept when a tokenizer is recycled
+   private static final int MAX_RETAINED_VALUE = 8192;
+   // most significant digits held exactly by a long
+   private static final int MAX_LONG_DIGITS = 18;
+   // most significant digits held exactly by a double
+   private static final int MAX_DOUBLE_DIGITS = 15;
+   // powers of ten held exactly by a double
+   private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6,
+      1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+      1e19, 1e20, 1e21, 1e22 };
+
+   JSONInput _input = null;
+   // recycled buffer for reader based inputs
+   char[] _readBuffer = null;
    StringBuilder _currentValue = new StringBuilder();
-   int[] _charTable = new int[65536];
+   int[] _charTable = null;
+   // true while _charTable is a precompiled table shared with other tokenizers
+   boolean _sharedTable = false;
 
    // compatibility variables
    public double nval = 0.0d;
    public String sval = null;
    public int ttype = TT_UNKNOWN;
-   
-   public static int LN_CNTR = 0;
-   public static int LN_OFFSET = 1;
+
+   /**
+    * @deprecated use {@link JSON#LN_CNTR} to index the location supplied to
+    *             {@link #nextToken(Integer[])}
+    */
+   @Deprecated
+   public static int LN_CNTR = JSON.LN_CNTR;
+   /**
+    * @deprecated use {@link JSON#LN_OFFSET} to index the location supplied to
+    *             {@link #nextToken(Integer[])}
+    */
+   @Deprecated
+   public static int LN_OFFSET = JSON.LN_OFFSET;
 
    /**
     * Constructs the JST from a {@link java.io.Reader}. There is no constructor for
@@ -92,6 +145,7 @@ public class JSONStreamTokenizer {
     *          the reader to be read containing JSON content.
     */
    public JSONStreamTokenizer(Reader r) {
+      _charTable = new int[65536];
       resetSyntax();
       whitespaceChars(0x0000, SPC);
       wordChars('A', 'Z');
@@ -100,7 +154,66 @@ public class JSONStreamTokenizer {
       parseNumbers();
       quoteChar(SQTE);
       quoteChar(DQTE);
-      _reader = new PushbackReader(r, 2);
+      _input = new JSONReaderInput(r, new char[JSONReaderInput.BUFFER_SIZE]);
+   }
+
+   /**
+    * Constructs a JST without a reader that uses the supplied precompiled
+    * character table. The table is shared, not copied, so it must not be
+    * modified by the caller. Any later syntax change on this tokenizer (e.g.,
+    * {@link #wordChars(int, int)}) first makes a private copy of the table.
+    * Use {@link #reset(JSONInput)} to supply the input to be tokenized.
+    * 
+    * @param charTable
+    *                  the precompiled, shared character lookup table
+    */
+   JSONStreamTokenizer(int[] charTable) {
+      _charTable = charTable;
+      _sharedTable = true;
+   }
+
+   /**
+    * Makes sure this tokenizer owns its character table before the table is
+    * modified, so shared precompiled tables are never changed.
+    */
+   private void ownCharTable() {
+      if (_sharedTable) {
+         _charTable = _charTable.clone();
+         _sharedTable = false;
+      }
+   }
+
+   /**
+    * Counts the character just read in the column, when the location is
+    * tracked
+    */
+   private void advanceColumn() {
+      if (_trackLocation) {
+         _column++;
+      }
+   }
+
+   /**
+    * Counts the supplied number of characters just read in the column, when
+    * the location is tracked
+    * 
+    * @param count
+    *              number of characters read
+    */
+   private void advanceColumn(int count) {
+      if (_trackLocation) {
+         _column += count;
+      }
+   }
+
+   /**
+    * Uncounts the character just unread from the column, when the location is
+    * tracked
+    */
+   private void backUpColumn() {
+      if (_trackLocation && _column > 0) {
+         _column--;
+      }
    }
 
    /**
@@ -120,23 +233,20 @@ public class JSONStreamTokenizer {
    /**
     * Determine if we are parsing a number
     * 
-    * @param location line number and line offset values
     * @return true if we are parsing a number
     * @throws IOException
     *                     if unable to read from the reader
     */
-   private boolean checkForNumber(Integer[] location) throws IOException {
+   private boolean checkForNumber() throws IOException {
       if ((_charTable[_nextChar] & _IS_NUMERIC) != 0) {
          if (_nextChar == HYP) {
             _nextChar = readNextChar();
-            location[LN_OFFSET] = location[LN_OFFSET]+1;
+            advanceColumn();
             // if next character isn't a number
             if ((_charTable[_nextChar] & _IS_NUMERIC) == 0) {
                // return hyphen as part of a string
-               _reader.unread(_nextChar);
-               if (location[LN_OFFSET] > 0) {
-                  location[LN_OFFSET] = location[LN_OFFSET]-1;
-               }
+               _input.unread();
+               backUpColumn();
                ttype = HYP;
                return true;
             }
@@ -149,12 +259,10 @@ public class JSONStreamTokenizer {
             // accumulate digits while looking for decimal point
             _currentValue.append((char) _nextChar);
             _nextChar = readNextChar();
-            location[LN_OFFSET] = location[LN_OFFSET]+1;
+            advanceColumn();
             if (_nextChar == EOF) {
-               _reader.unread(_nextChar);
-               if (location[LN_OFFSET] > 0) {
-                  location[LN_OFFSET] = location[LN_OFFSET]-1;
-               }
+               _input.unread();
+               backUpColumn();
                try {
                   nval = Double.valueOf(_currentValue.toString());
                   _currentValue.setLength(0);
@@ -167,10 +275,8 @@ public class JSONStreamTokenizer {
             }
             // if this is not a number
             if ((_charTable[_nextChar] & _IS_NUMERIC) == 0 && _nextChar != HYP) {
-               _reader.unread(_nextChar);
-               if (location[LN_OFFSET] > 0) {
-                  location[LN_OFFSET] = location[LN_OFFSET]-1;
-               }
+               _input.unread();
+               backUpColumn();
                try {
                   nval = Double.valueOf(_currentValue.toString());
                   _currentValue.setLength(0);
@@ -187,10 +293,8 @@ public class JSONStreamTokenizer {
             }
             if (decimalCount > 1) {
                // this is part of a word with multiple decimal points
-               _reader.unread(_nextChar);
-               if (location[LN_OFFSET] > 0) {
-                  location[LN_OFFSET] = location[LN_OFFSET]-1;
-               }
+               _input.unread();
+               backUpColumn();
                break;
             }
             // keep accumulating digits and decimal point
@@ -203,23 +307,38 @@ public class JSONStreamTokenizer {
    /**
     * Determine if we have reached quoted content
     * 
-    * @param location line number and line offset
     * @return true if we have reached quoted content
     * @throws IOException
     *                     if unable to read from the reader
     */
-   private boolean checkForQuotedWord(Integer[] location) throws IOException {
+   private boolean checkForQuotedWord() throws IOException {
       if ((_charTable[_nextChar] & _IS_QUOTE) != 0) {
          ttype = _nextChar; // save quote
+         if (_validating) {
+            skipQuotedWord();
+            return true;
+         }
+         // repeated keys and values are taken from their tables
+         JSONSymbols symbols = (_keyExpected ? _symbols : _stringPool);
+         // take strings without escapes straight from the input
+         String quoted = _input.readQuoted(ttype, symbols);
+         if (quoted != null) {
+            advanceColumn(quoted.length() + 1);
+            sval = quoted;
+            if (_lowerCaseMode) {
+               sval = sval.toLowerCase();
+            }
+            return true;
+         }
          int _lookAhead = readNextChar();
-         location[LN_OFFSET] = location[LN_OFFSET]+1;
+         advanceColumn();
          // process quoted string, addressing escaped characters and octal
          // codes
          while (_lookAhead != ttype && _lookAhead != NLN && _lookAhead != CRT && _lookAhead != EOF) {
             // handle escaped content
             if (_lookAhead == BSH) {
                _nextChar = readNextChar();
-               location[LN_OFFSET] = location[LN_OFFSET]+1;
+               advanceColumn();
                // process other escaped characters
                switch (_nextChar) {
                case 't': {
@@ -258,16 +377,16 @@ public class JSONStreamTokenizer {
                   // part of unicode so need to read next 4 digits
                   int d1, d2, d3, d4 = 0;
                   d1 = readNextChar();
-                  location[LN_OFFSET] = location[LN_OFFSET]+1;
+                  advanceColumn();
                   if (isHexChar(d1)) {
                      d2 = readNextChar();
-                     location[LN_OFFSET] = location[LN_OFFSET]+1;
+                     advanceColumn();
                      if (isHexChar(d2)) {
                         d3 = readNextChar();
-                        location[LN_OFFSET] = location[LN_OFFSET]+1;
+                        advanceColumn();
                         if (isHexChar(d3)) {
                            d4 = readNextChar();
-                           location[LN_OFFSET] = location[LN_OFFSET]+1;
+                           advanceColumn();
                            if (isHexChar(d4)) {
                               char[] cBuf = new char[4];
                               cBuf[0] = (char) d1;
@@ -291,22 +410,24 @@ public class JSONStreamTokenizer {
                }
                } // end switch on escaped character
                _lookAhead = readNextChar();
-               location[LN_OFFSET] = location[LN_OFFSET]+1;
+               advanceColumn();
             } else { // end dealing with escaped value
                _nextChar = _lookAhead;
                _lookAhead = readNextChar();
-               location[LN_OFFSET] = location[LN_OFFSET]+1;
+               advanceColumn();
             }
             _currentValue.append((char) _nextChar);
          } // end while looking for matching quote or EOL
          if (_lookAhead != ttype) {
             // hit EOL, not matching quote
-            _reader.unread(_lookAhead);
-            if (location[LN_OFFSET] > 0) {
-               location[LN_OFFSET] = location[LN_OFFSET]-1;
-            }
+            _input.unread();
+            backUpColumn();
+         }
+         if (symbols != null) {
+            sval = symbols.lookup(_currentValue, 0, _currentValue.length());
+         } else {
+            sval = _currentValue.toString();
          }
-         sval = _currentValue.toString();
          if (_lowerCaseMode) {
             sval = sval.toLowerCase();
          }
@@ -319,34 +440,48 @@ public class JSONStreamTokenizer {
     * Determine if we have reached a word. Note: this is used for detecting boolean
     * and null values.
     * 
-    * @param location line number and line offset
     * @return true if we find unquoted words
     * @throws IOException
     *                     if unable to read from the reader
     */
-   private boolean checkForWord(Integer[] location) throws IOException {
+   private boolean checkForWord() throws IOException {
       if ((_charTable[_nextChar] & _IS_WORD) != 0) {
+         if (_scanNumbers && (_nextChar == HYP || _nextChar == DPT
+            || (_nextChar >= '0' && _nextChar <= '9'))) {
+            return scanNumber();
+         }
+         if (_validating) {
+            skipWord();
+            return true;
+         }
+         // take words found within the input's buffer straight from it
+         String word = _input.readRun(_charTable, _IS_NUMERIC | _IS_WORD);
+         if (word != null) {
+            advanceColumn(word.length() - 1);
+            sval = word;
+            if (_lowerCaseMode) {
+               sval = sval.toLowerCase();
+            }
+            ttype = TT_WORD;
+            return true;
+         }
          // keep reading until we hit EOF, whitespace
          while ((_charTable[_nextChar] & (_IS_NUMERIC | _IS_WORD)) != 0) {
             _currentValue.append((char) _nextChar);
             _nextChar = readNextChar();
-            location[LN_OFFSET] = location[LN_OFFSET]+1;
+            advanceColumn();
             if (_nextChar == EOF) {
                // reached end of file
-               _reader.unread(_nextChar);
-               if (location[LN_OFFSET] > 0) {
-                  location[LN_OFFSET] = location[LN_OFFSET]-1;
-               }
+               _input.unread();
+               backUpColumn();
                sval = _currentValue.toString();
                _currentValue.setLength(0);
                ttype = TT_WORD;
                return true;
             }
          }
-         _reader.unread(_nextChar);
-         if (location[LN_OFFSET] > 0) {
-            location[LN_OFFSET] = location[LN_OFFSET]-1;
-         }
+         _input.unread();
+         backUpColumn();
          sval = _currentValue.toString();
          _currentValue.setLength(0);
          if (_lowerCaseMode) {
@@ -358,6 +493,163 @@ public class JSONStreamTokenizer {
       return false;
    }
 
+   /**
+    * Scans a word starting with a digit, minus sign or decimal point, which is
+    * returned as a TT_NUMBER when it is a number. Digits are accumulated
+    * directly into a long, so integers are read exactly and without creating a
+    * String. Numbers with a fraction or exponent are converted exactly from
+    * their digits when both fit within a double, and otherwise by
+    * {@link Double#parseDouble(String)}. As with {@link Double#valueOf(String)},
+    * leading zeros, a leading or trailing decimal point and a plus sign
+    * following the exponent marker are accepted. Anything else is returned as
+    * a TT_WORD.
+    * 
+    * @return true as a number or word has been read
+    * @throws IOException
+    *                     if unable to read from the reader
+    */
+   private boolean scanNumber() throws IOException {
+      int ch = _nextChar;
+      boolean negative = (ch == HYP);
+      boolean valid = true;
+      boolean hasPoint = false;
+      boolean hasExponent = false;
+      boolean expNegative = false;
+      int digits = 0;
+      int expDigits = 0;
+      int exponent = 0;
+      // exact value of an integer, accumulated negatively to reach Long.MIN_VALUE
+      long exact = 0L;
+      boolean overflow = false;
+      long limit = (negative ? Long.MIN_VALUE : -Long.MAX_VALUE);
+      // leading significant digits, and the power of ten they are scaled by
+      long significand = 0L;
+      int sigDigits = 0;
+      int scale = 0;
+      boolean truncated = false;
+      if (negative) {
+         _currentValue.append((char) ch);
+         ch = readNextChar();
+         advanceColumn();
+      }
+      while (true) {
+         if (ch >= '0' && ch <= '9') {
+            int digit = ch - '0';
+            if (hasExponent) {
+               expDigits++;
+               if (exponent < 100000) {
+                  exponent = exponent * 10 + digit;
+               }
+            } else {
+               digits++;
+               if (!hasPoint && !overflow) {
+                  if (exact < limit / 10 || exact * 10 < limit + digit) {
+                     overflow = true;
+                  } else {
+                     exact = exact * 10 - digit;
+                  }
+               }
+               if (sigDigits < MAX_LONG_DIGITS) {
+                  if (significand > 0L || digit > 0) {
+                     significand = significand * 10 + digit;
+                     sigDigits++;
+                  }
+                  if (hasPoint) {
+                     scale--;
+                  }
+               } else {
+                  truncated = true;
+                  if (!hasPoint) {
+                     scale++;
+                  }
+               }
+            }
+         } else if (ch == DPT && !hasPoint && !hasExponent) {
+            hasPoint = true;
+         } else if ((ch == 'e' || ch == 'E') && !hasExponent && digits > 0) {
+            hasExponent = true;
+            // a sign may follow, even though a plus sign is not a word character
+            int sign = readNextChar();
+            if (sign == HYP || sign == '+') {
+               expNegative = (sign == HYP);
+               _currentValue.append((char) ch);
+               ch = sign;
+               advanceColumn();
+            } else {
+               _input.unread();
+            }
+         } else if (ch != EOF && (_charTable[ch] & (_IS_NUMERIC | _IS_WORD)) != 0) {
+            // part of a word starting with digits
+            valid = false;
+         } else {
+            break;
+         }
+         _currentValue.append((char) ch);
+         ch = readNextChar();
+         advanceColumn();
+      }
+      _input.unread();
+      backUpColumn();
+      if (_validating) {
+         sval = null;
+         _nullWord = false;
+         ttype = (valid && digits > 0 && (!hasExponent || expDigits > 0)
+            ? TT_NUMBER : TT_WORD);
+         return true;
+      }
+      if (!valid || digits == 0 || (hasExponent && expDigits == 0)) {
+         sval = _currentValue.toString();
+         if (_lowerCaseMode) {
+            sval = sval.toLowerCase();
+         }
+         ttype = TT_WORD;
+         return true;
+      }
+      ttype = TT_NUMBER;
+      sval = null;
+      _isDecimal = hasPoint || hasExponent;
+      if (!hasPoint && !hasExponent && !overflow) {
+         _isIntegral = true;
+         _lval = (negative ? exact : -exact);
+         nval = (double) _lval;
+         return true;
+      }
+      int power = scale + (expNegative ? -exponent : exponent);
+      double value;
+      if (!truncated && sigDigits <= MAX_DOUBLE_DIGITS && power >= -22
+         && power <= 22) {
+         // both are exact, so the result is correctly rounded
+         value = (power < 0 ? significand / POW10[-power]
+            : significand * POW10[power]);
+         if (negative) {
+            value = -value;
+         }
+      } else if (significand == 0L && !truncated) {
+         value = (negative ? -0.0d : 0.0d);
+      } else {
+         value = Double.parseDouble(_currentValue.toString());
+      }
+      nval = value;
+      // as in JSON.getNumber, only a decimal point ensures it remains a double,
+      // but it must also be within the range of a long
+      _lval = (long) value;
+      _isIntegral = !hasPoint && value - (double) _lval == 0.0d
+         && value < 0x1p63;
+      return true;
+   }
+
+   /**
+    * Sets whether words that are numbers are returned as TT_NUMBER, with their
+    * value in {@link #nval} (and when they have no fraction, exactly in a
+    * long), rather than as TT_WORD
+    * 
+    * @param flag
+    *             whether or not to scan words for numbers
+    */
+   void scanNumbers(boolean flag) {
+      _scanNumbers = flag;
+   }
+
    /**
     * Sets reporting when end of line is detected
     * 
@@ -369,43 +661,73 @@ public class JSONStreamTokenizer {
 
    }
 
+   /**
+    * Provides the column within the line of the character last read. When the
+    * location is not tracked it is computed from the input's position.
+    * 
+    * @return the column of the character last read
+    */
+   public int getColumnNumber() {
+      if (!_trackLocation && _input != null) {
+         return _input.locatedColumn();
+      }
+      return _column;
+   }
+
+   /**
+    * Provides the line of the character last read. When the location is not
+    * tracked it is computed from the input's position.
+    * 
+    * @return the one-based line of the character last read
+    */
+   public int getLineNumber() {
+      if (!_trackLocation && _input != null) {
+         return _input._locatedLine;
+      }
+      return _line;
+   }
+
+   /**
+    * Provides the number of characters (or bytes, for UTF-8 encoded input)
+    * read from the input, which is known without tracking the line and column
+    * 
+    * @return the offset of the next character to be read
+    */
+   public long getOffset() {
+      return (_input == null ? 0L : _input.offset());
+   }
+
    /**
     * Handles an encountered end of line that can be signaled as /r, /r/n, or /n
     * 
-    * @param location
-    *                 where we are in the input stream
     * @return true if an end of line was processed
     * @throws IOException
     *                     if unable to read from the reader
     */
-   boolean handleEndOfLine(Integer[] location) throws IOException {
+   boolean handleEndOfLine() throws IOException {
       if (_nextChar == CRT) {
          // skip /n if there is one, else push back
          _nextChar = readNextChar();
-         location[LN_OFFSET] = location[LN_OFFSET]+1;
+         advanceColumn();
          if (_nextChar != NLN) {
-            _reader.unread(_nextChar);
-            if (location[LN_OFFSET] > 0) {
-               location[LN_OFFSET] = location[LN_OFFSET]-1;
-            }
+            _input.unread();
+            backUpColumn();
          } else {
             // eat the newline
-            location[LN_CNTR] = location[LN_CNTR]+1;
-            location[LN_OFFSET] = 0;
+            newLine();
          }
          if (_eolSignificant) {
             ttype = TT_EOL;
             return true;
          }
       } else if (_nextChar == NLN) {
-         location[LN_CNTR] = location[LN_CNTR]+1;
-         location[LN_OFFSET] = 0;
+         newLine();
          if (_eolSignificant) {
             ttype = TT_EOL;
             return true;
          }
          _nextChar = readNextChar();
-         location[LN_OFFSET] = location[LN_OFFSET]+1;
+         advanceColumn();
          if (_nextChar == EOF) {
             ttype = TT_EOF;
             return true;
@@ -427,18 +749,68 @@ public class JSONStreamTokenizer {
                (0x61 <= test && test <= 0x66) );
    }
 
+   /**
+    * Sets the location of the character last read, when the input begins part
+    * way through a larger text. When the location is not tracked, the line and
+    * column are later computed from this location.
+    * 
+    * @param line
+    *             the line of the character last read
+    * @param column
+    *             the column of the character last read
+    */
+   void locate(int line, int column) {
+      _line = line;
+      _column = column;
+      if (!_trackLocation && _input != null) {
+         _input.startLocating(line, column);
+      }
+   }
+
+   /**
+    * Moves the tracked location to the supplied line and column, after the
+    * characters in between were read by a caller scanning the input directly.
+    * When the location is not tracked, the input's lazily computed location is
+    * anchored there instead.
+    * 
+    * @param line
+    *             the line of the character last read
+    * @param column
+    *             the column of the character last read
+    */
+   void moveTo(int line, int column) {
+      if (_trackLocation) {
+         _line = line;
+         _column = column;
+      } else if (_input != null) {
+         _input.anchor(line, column);
+      }
+   }
+
+   /**
+    * Counts a new line. When the location is not tracked, the input's lazily
+    * computed location is anchored at the start of the new line instead, so
+    * lines are counted exactly as when tracked.
+    */
+   void newLine() {
+      if (_trackLocation) {
+         _line++;
+         _column = 0;
+      } else if (_input != null) {
+         _input.anchor(_input._locatedLine + 1, 0);
+      }
+   }
+
    /**
     * Discovers the next token in the reader and returns its type (ttype). If a
     * number is detected, it is returned as a double in the nval. If a word or
     * quoted word is detected, it is returned in the sval.
     * 
-    * @param location
-    *                 where we are reading from the input stream
     * @return the type of next token encountered in the reader
     * @throws IOException
     *                     if unable to read from the reader
     */
-   public int nextToken(Integer[] location) throws IOException {
+   public int nextToken() throws IOException {
       if (_isPushedBack) {
          _isPushedBack = false;
          return ttype;
@@ -446,34 +818,33 @@ public class JSONStreamTokenizer {
       _currentValue.setLength(0);
       sval = null;
       _nextChar = readNextChar();
-      location[LN_OFFSET] = location[LN_OFFSET] + 1;
+      advanceColumn();
       
       ttype = _nextChar;
       if (checkEOF()) {
          return ttype;
       }
-      if (skipNewLines(location)) {
-         location[LN_CNTR] = location[LN_CNTR]+1;
-         location[LN_OFFSET] = 0;
-         if (ttype == SPC) {
+      if (skipNewLines()) {
+         newLine();
+         if (ttype == SPC || ttype == TT_EOF) {
             return ttype;
          }
       }
-      if (skipWhitespace(location)) {
+      if (skipWhitespace()) {
          return ttype;
       }
       // have first non-whitespace character
       // check if number encountered
-      if (checkForNumber(location)) {
+      if (checkForNumber()) {
          return ttype;
       }
       // if we got here, we are accumulating a word
-      if (checkForWord(location)) {
+      if (checkForWord()) {
          return ttype;
       }
 
       // if we got here, we should check for quoted word
-      if (checkForQuotedWord(location)) {
+      if (checkForQuotedWord()) {
          return ttype;
       }
 
@@ -481,6 +852,51 @@ public class JSONStreamTokenizer {
       return ttype;
    }
 
+   /**
+    * Discovers the next token in the reader, keeping the supplied location in
+    * step with the location tracked by this tokenizer.
+    * 
+    * @param location
+    *                 line (at {@link JSON#LN_CNTR}) and column (at
+    *                 {@link JSON#LN_OFFSET}) of the input, updated as it is read
+    * @return the type of next token encountered in the reader
+    * @throws IOException
+    *                     if unable to read from the reader
+    * @deprecated use {@link #nextToken()} along with {@link #getLineNumber()}
+    *             and {@link #getColumnNumber()}, which avoid boxing the
+    *             location on every token
+    */
+   @Deprecated
+   public int nextToken(Integer[] location) throws IOException {
+      moveTo(location[JSON.LN_CNTR], location[JSON.LN_OFFSET]);
+      int tokType = nextToken();
+      location[JSON.LN_CNTR] = getLineNumber();
+      location[JSON.LN_OFFSET] = getColumnNumber();
+      return tokType;
+   }
+
+   /**
+    * Determines whether the supplied character may be part of a word or number
+    * 
+    * @param ch
+    *           The character to be tested
+    * @return true if the character is flagged as a word or numeric character
+    */
+   boolean isWordChar(int ch) {
+      return ch >= 0 && (_charTable[ch] & (_IS_NUMERIC | _IS_WORD)) != 0;
+   }
+
+   /**
+    * Determines whether the supplied character is whitespace
+    * 
+    * @param ch
+    *           The character to be tested
+    * @return true if the character is flagged as whitespace
+    */
+   boolean isWhitespaceChar(int ch) {
+      return ch >= 0 && (_charTable[ch] & _IS_WHITESPACE) != 0;
+   }
+
    /**
     * Sets the supplied character as ordinary in the character lookup table
     * 
@@ -488,6 +904,7 @@ public class JSONStreamTokenizer {
     *           The character to be tested
     */
    public void ordinaryChar(int ch) {
+      ownCharTable();
       _charTable[ch] = _IS_ORDINARY;
    }
 
@@ -501,6 +918,7 @@ public class JSONStreamTokenizer {
     *            ending, higher value character
     */
    public void ordinaryChars(int low, int hi) {
+      ownCharTable();
       for (int i = low; i <= hi; i++) {
          // clear any previous flags
          _charTable[i] = _IS_ORDINARY;
@@ -512,6 +930,7 @@ public class JSONStreamTokenizer {
     * characters, along with the decimal point and minus sign. TODO: add plus sign?
     */
    public void parseNumbers() {
+      ownCharTable();
       // use OR because NUMERIC characters can also be wordChars
       for (int i = 0x0030; i < 0x003a; i++) {
          _charTable[i] |= _IS_NUMERIC;
@@ -541,6 +960,7 @@ public class JSONStreamTokenizer {
     *           The character defining a quote character
     */
    public void quoteChar(int ch) {
+      ownCharTable();
       _charTable[ch] = _IS_QUOTE;
    }
 
@@ -552,10 +972,54 @@ public class JSONStreamTokenizer {
     *                     if unable to read from the reader
     */
    private int readNextChar() throws IOException {
-      if (_reader == null) {
+      if (_input == null) {
          throw new IllegalStateException();
       }
-      return _reader.read();
+      return _input.read();
+   }
+
+   /**
+    * Provides the buffer used to read from a {@link Reader}, recycled across
+    * the sources read by this tokenizer.
+    * 
+    * @return buffer for a {@link JSONReaderInput}
+    */
+   char[] readBuffer() {
+      if (_readBuffer == null) {
+         _readBuffer = new char[JSONReaderInput.BUFFER_SIZE];
+      }
+      return _readBuffer;
+   }
+
+   /**
+    * Prepares this tokenizer to read a new source, clearing all state left
+    * from any prior source while keeping the character table and syntax
+    * settings. This allows a tokenizer to be recycled across parses rather
+    * than being rebuilt for each one.
+    * 
+    * @param input
+    *          the input to be read containing JSON content, or null to
+    *          release the prior input
+    */
+   void reset(JSONInput input) {
+      _atEOL = false;
+      _isPushedBack = false;
+      _nextChar = -1;
+      if (_currentValue.capacity() > MAX_RETAINED_VALUE) {
+         // don't hold on to the buffer used for an unusually large value
+         _currentValue = new StringBuilder();
+      } else {
+         _currentValue.setLength(0);
+      }
+      nval = 0.0d;
+      _lval = 0L;
+      _isIntegral = false;
+      _isDecimal = false;
+      _keyExpected = false;
+      sval = null;
+      ttype = TT_UNKNOWN;
+      _input = input;
+      locate(1, 0);
    }
 
    /**
@@ -563,6 +1027,11 @@ public class JSONStreamTokenizer {
     * and double byte characters as parts of words.
     */
    public void resetSyntax() {
+      if (_sharedTable) {
+         // every entry is overwritten below so there is no need to copy
+         _charTable = new int[65536];
+         _sharedTable = false;
+      }
       // allow for double byte characters to be digits later
       for (int i = 0; i < _charTable.length; i++) {
          if (i > 255) {
@@ -575,19 +1044,112 @@ public class JSONStreamTokenizer {
       }
    }
 
+   /**
+    * Skips the spaces and tabs following the space or tab just returned as a
+    * token, so runs of indentation are not tokenized a character at a time
+    * 
+    * @throws IOException
+    *                     if unable to read from the reader
+    */
+   void skipBlanks() throws IOException {
+      if (!_isPushedBack && _input != null) {
+         advanceColumn(_input.skipBlanks());
+      }
+   }
+
+   /**
+    * Skips the remainder of a quoted string whose opening quote is in ttype,
+    * ending it where {@link #checkForQuotedWord()} would but without creating
+    * a String for its content.
+    * 
+    * @throws IOException
+    *                     if unable to read from the reader
+    */
+   private void skipQuotedWord() throws IOException {
+      sval = null;
+      int length = _input.skipQuotedRun(ttype);
+      if (length >= 0) {
+         advanceColumn(length + 1);
+         return;
+      }
+      int lookAhead = readNextChar();
+      advanceColumn();
+      while (lookAhead != ttype && lookAhead != NLN && lookAhead != CRT && lookAhead != EOF) {
+         if (lookAhead == BSH) {
+            int escaped = readNextChar();
+            advanceColumn();
+            if (escaped == 'u') {
+               // up to 4 hex digits of the unicode escape
+               for (int i = 0; i < 4; i++) {
+                  int digit = readNextChar();
+                  advanceColumn();
+                  if (!isHexChar(digit)) {
+                     break;
+                  }
+               }
+            }
+         }
+         lookAhead = readNextChar();
+         advanceColumn();
+      }
+      if (lookAhead != ttype) {
+         // hit EOL, not matching quote
+         _input.unread();
+         backUpColumn();
+      }
+   }
+
+   /**
+    * Skips the remainder of a word whose first character is in _nextChar,
+    * ending it where {@link #checkForWord()} would but without creating a
+    * String for it. As a key can not be null, whether the word is null is
+    * noted in _nullWord.
+    * 
+    * @throws IOException
+    *                     if unable to read from the reader
+    */
+   private void skipWord() throws IOException {
+      sval = null;
+      ttype = TT_WORD;
+      _nullWord = false;
+      if (!_keyExpected) {
+         int length = _input.skipRun(_charTable, _IS_NUMERIC | _IS_WORD);
+         if (length >= 0) {
+            advanceColumn(length - 1);
+            return;
+         }
+      }
+      // count the characters matching null
+      int matched = 0;
+      while ((_charTable[_nextChar] & (_IS_NUMERIC | _IS_WORD)) != 0) {
+         if (matched >= 0 && matched < 4 && _nextChar == "null".charAt(matched)) {
+            matched++;
+         } else {
+            matched = -1;
+         }
+         _nextChar = readNextChar();
+         advanceColumn();
+         if (_nextChar == EOF) {
+            break;
+         }
+      }
+      _input.unread();
+      backUpColumn();
+      _nullWord = (matched == 4);
+   }
+
    /**
     * Reads and eats a new line ('/n') character, setting ttype as the next,
     * non-new line character or the end of file character.
     * 
-    * @param location line count and line offset
     * @return true if new lines or end of file was detected
     * @throws IOException
     */
-   private boolean skipNewLines(Integer[] location) throws IOException {
+   private boolean skipNewLines() throws IOException {
       if (_nextChar == NLN) {
          // skip newlines
          _nextChar = readNextChar();
-         location[LN_OFFSET] = location[LN_OFFSET]+1;
+         advanceColumn();
          if (_nextChar == EOF) {
             ttype = TT_EOF;
             return true;
@@ -606,14 +1168,14 @@ public class JSONStreamTokenizer {
     * @throws IOException
     *                     if unable to read from the reader
     */
-   private boolean skipWhitespace(Integer[] location) throws IOException {
+   private boolean skipWhitespace() throws IOException {
       while ((_charTable[_nextChar] & _IS_WHITESPACE) != 0) {
          // handle newline combinations /r, /r/n, /n
-         if (handleEndOfLine(location)) {
+         if (handleEndOfLine()) {
             return true;
          } // else this is just whitespace so keep reading
          _nextChar = readNextChar();
-         location[LN_OFFSET] = location[LN_OFFSET]+1;
+         advanceColumn();
       }
       return false;
    }
@@ -666,6 +1228,7 @@ public class JSONStreamTokenizer {
     *            ending, higher range of whitespace characters
     */
    public void whitespaceChars(int low, int hi) {
+      ownCharTable();
       for (int i = low; i <= hi; i++) {
          _charTable[i] = _IS_WHITESPACE;
       }
@@ -681,6 +1244,7 @@ public class JSONStreamTokenizer {
     *            ending, higher character range of word characters
     */
    public void wordChars(int low, int hi) {
+      ownCharTable();
       for (int i = low; i <= hi; i++) {
          // use OR because wordChars can also be NUMERIC
          _charTable[i] |= _IS_WORD;
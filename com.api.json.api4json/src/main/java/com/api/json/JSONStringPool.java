@@ -0,0 +1,225 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of the short String values read by the parsers given it (see
+ * {@link JSONParser#JSONParser(JSONParser.NumberPolicy, JSONStringPool)}), so
+ * values repeated within and across documents (e.g., timestamps, enumerated
+ * values and other short tokens) are held only once by the objects and arrays
+ * parsed. Values are matched directly against the buffer being read, so a
+ * value already in the pool is found without creating anything.
+ * <p>
+ * The pool holds a fixed number of values. It is divided into small sets of
+ * slots selected by the hash of a value, and when a set is full the value
+ * replaced is chosen by the clock algorithm, so values found since the hand
+ * last passed them are kept. A pool may be shared by any number of parsers
+ * and threads without locking, as a value is only taken from the pool once
+ * its characters have been compared.
+ */
+public final class JSONStringPool extends JSONSymbols {
+
+   /**
+    * Number of values held by a pool unless otherwise specified
+    */
+   public static final int DEFAULT_CAPACITY = 4096;
+   /**
+    * Length of the longest value held by a pool unless otherwise specified
+    */
+   public static final int DEFAULT_MAX_LENGTH = 32;
+
+   // number of slots in each set
+   private static final int WAYS = 4;
+
+   // whether the value in each slot has been found since the hand passed it
+   private final boolean[] _referenced;
+   // slot of each set to be considered next for replacement
+   private final byte[] _hands;
+   private final LongAdder _hits = new LongAdder();
+   private final LongAdder _misses = new LongAdder();
+
+   /**
+    * Constructor for a pool of {@link #DEFAULT_CAPACITY} values of up to
+    * {@link #DEFAULT_MAX_LENGTH} characters
+    */
+   public JSONStringPool() {
+      this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+   }
+
+   /**
+    * Constructor
+    * 
+    * @param capacity
+    *           the number of values held, which is rounded up to a power of two
+    *           of at least 4
+    * @param maxLength
+    *           the length of the longest value held, as longer values are
+    *           unlikely to repeat
+    * @throws IllegalArgumentException
+    *            If the capacity is not positive or above 2^30, or the length
+    *            is negative.
+    */
+   public JSONStringPool(int capacity, int maxLength) {
+      super(size(capacity), WAYS, maxLength);
+      if (maxLength < 0) {
+         throw new IllegalArgumentException(
+            "maxLength " + maxLength + " can not be negative");
+      }
+      _referenced = new boolean[_symbols.length];
+      _hands = new byte[_symbols.length / WAYS];
+   }
+
+   /**
+    * Determines the number of slots needed to hold the supplied number of
+    * values
+    * 
+    * @param capacity
+    *           the number of values to be held
+    * @return the number of slots in the pool
+    */
+   private static int size(int capacity) {
+      if (capacity <= 0 || capacity > 1 << 30) {
+         throw new IllegalArgumentException(
+            "capacity " + capacity + " must be from 1 to 2^30");
+      }
+      int size = WAYS;
+      while (size < capacity) {
+         size <<= 1;
+      }
+      return size;
+   }
+
+   /**
+    * Removes all values from the pool and resets its hit and miss counts
+    */
+   @Override
+   public void clear() {
+      super.clear();
+      Arrays.fill(_referenced, false);
+      _hits.reset();
+      _misses.reset();
+   }
+
+   /**
+    * @see com.api.json.JSONSymbols#found(int)
+    */
+   @Override
+   void found(int slot) {
+      _referenced[slot] = true;
+      _hits.increment();
+   }
+
+   /**
+    * @return the number of values held by the pool
+    */
+   public int getCapacity() {
+      return _symbols.length;
+   }
+
+   /**
+    * @return the number of values found in the pool, so no String was created
+    *         for them
+    */
+   public long getHits() {
+      return _hits.sum();
+   }
+
+   /**
+    * @return the length of the longest value held by the pool
+    */
+   public int getMaxLength() {
+      return _maxLength;
+   }
+
+   /**
+    * @return the number of values not found in the pool, so they were added to
+    *         it (values longer than {@link #getMaxLength()} are not counted)
+    */
+   public long getMisses() {
+      return _misses.sum();
+   }
+
+   /**
+    * Provides the String from the pool equal to the supplied String, adding
+    * the supplied String to the pool if it is not found (e.g., so values put
+    * into a {@link JSONObject} are shared with those parsed)
+    * 
+    * @param value
+    *           the String to be found
+    * @return the String from the pool, or the supplied String if it was not
+    *         found
+    */
+   public String intern(String value) {
+      if (value == null) {
+         throw new NullPointerException("value cannot be null");
+      }
+      return lookup(value, 0, value.length());
+   }
+
+   /**
+    * @see com.api.json.JSONSymbols#store(int, int, java.lang.String)
+    */
+   @Override
+   String store(int set, int hash, String symbol) {
+      _misses.increment();
+      return super.store(set, hash, symbol);
+   }
+
+   /**
+    * @return a description of the size and effectiveness of the pool
+    */
+   @Override
+   public String toString() {
+      return "JSONStringPool[capacity=" + getCapacity() + ", maxLength="
+         + _maxLength + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+   }
+
+   /**
+    * Chooses the slot of the supplied set to receive a value not found in the
+    * pool by advancing the set's clock hand past the values found since it
+    * last passed them
+    * 
+    * @see com.api.json.JSONSymbols#victim(int)
+    */
+   @Override
+   int victim(int set) {
+      int hand = _hands[set / WAYS];
+      int slot = set + hand;
+      // the second pass finds a value, unless other threads keep finding them
+      for (int i = 0; i < 2 * WAYS; i++) {
+         slot = set + hand;
+         hand = (hand + 1) & (WAYS - 1);
+         if (_symbols[slot] == null || !_referenced[slot]) {
+            break;
+         }
+         _referenced[slot] = false;
+      }
+      _referenced[slot] = false;
+      _hands[set / WAYS] = (byte) hand;
+      return slot;
+   }
+}
@@ -0,0 +1,275 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Table of the Strings recently read by a tokenizer, so a String repeated
+ * across the objects of a document (e.g., the keys of the records of an
+ * array) is represented by the same String rather than a new copy each time.
+ * Strings are matched directly against the buffer being read, so one already
+ * in the table is found without creating anything. The table has a fixed
+ * number of slots, grouped into sets of one or more slots selected by the
+ * hash of a String, so it never grows however many distinct Strings are read.
+ * When a set is full, the String in its first slot is replaced, though
+ * subclasses may choose otherwise.
+ * <p>
+ * Tables may be read and updated by several threads without locking, as a
+ * String is only taken from the table once its characters have been compared
+ * (so a slot updated concurrently at worst causes a String to be created).
+ */
+class JSONSymbols {
+
+   // number of slots in the table of keys read by a tokenizer
+   static final int SIZE = 1024;
+   // longest key held in the table of keys read by a tokenizer
+   static final int MAX_LENGTH = 64;
+
+   // slots of the table, and the hashes of the Strings they hold
+   final String[] _symbols;
+   final int[] _hashes;
+   // number of slots in each set (a power of two)
+   final int _ways;
+   // mask selecting the first slot of a set from a hash
+   private final int _mask;
+   // longest String held in the table
+   final int _maxLength;
+
+   /**
+    * Constructor for the table of keys read by a tokenizer, with a single
+    * slot per set
+    */
+   JSONSymbols() {
+      this(SIZE, 1, MAX_LENGTH);
+   }
+
+   /**
+    * Constructor
+    * 
+    * @param size
+    *           number of slots in the table (a power of two)
+    * @param ways
+    *           number of slots in each set (a power of two no larger than the
+    *           size)
+    * @param maxLength
+    *           longest String held in the table
+    */
+   JSONSymbols(int size, int ways, int maxLength) {
+      _symbols = new String[size];
+      _hashes = new int[size];
+      _ways = ways;
+      _mask = (size - 1) & -ways;
+      _maxLength = maxLength;
+   }
+
+   /**
+    * Removes all Strings from the table
+    */
+   void clear() {
+      Arrays.fill(_symbols, null);
+   }
+
+   /**
+    * Records that the String in the supplied slot was found. By default
+    * nothing is recorded.
+    * 
+    * @param slot
+    *           index of the slot holding the String found
+    */
+   void found(int slot) {
+   }
+
+   /**
+    * Provides the String for the supplied characters, reusing the String from
+    * the table when it holds the same characters.
+    * 
+    * @param chars
+    *           buffer holding the characters
+    * @param start
+    *           index of the first character
+    * @param length
+    *           number of characters
+    * @return String holding the characters
+    */
+   String lookup(char[] chars, int start, int length) {
+      if (length > _maxLength) {
+         return new String(chars, start, length);
+      }
+      int hash = 0;
+      for (int i = start; i < start + length; i++) {
+         hash = 31 * hash + chars[i];
+      }
+      int set = set(hash);
+      for (int slot = set; slot < set + _ways; slot++) {
+         String symbol = _symbols[slot];
+         if (symbol != null && _hashes[slot] == hash
+            && symbol.length() == length) {
+            int i = 0;
+            while (i < length && symbol.charAt(i) == chars[start + i]) {
+               i++;
+            }
+            if (i == length) {
+               found(slot);
+               return symbol;
+            }
+         }
+      }
+      return store(set, hash, new String(chars, start, length));
+   }
+
+   /**
+    * Provides the String for the supplied UTF-8 encoded bytes, reusing the
+    * String from the table when it holds the same characters. Only ASCII
+    * Strings are held in the table.
+    * 
+    * @param bytes
+    *           buffer holding the UTF-8 encoded bytes
+    * @param start
+    *           index of the first byte
+    * @param length
+    *           number of bytes
+    * @return String holding the decoded characters, or null if the bytes are
+    *         not all ASCII so the caller must decode them
+    */
+   String lookup(byte[] bytes, int start, int length) {
+      if (length > _maxLength) {
+         return null;
+      }
+      int hash = 0;
+      for (int i = start; i < start + length; i++) {
+         int b = bytes[i];
+         if (b < 0) {
+            return null;
+         }
+         hash = 31 * hash + b;
+      }
+      int set = set(hash);
+      for (int slot = set; slot < set + _ways; slot++) {
+         String symbol = _symbols[slot];
+         if (symbol != null && _hashes[slot] == hash
+            && symbol.length() == length) {
+            int i = 0;
+            while (i < length && symbol.charAt(i) == bytes[start + i]) {
+               i++;
+            }
+            if (i == length) {
+               found(slot);
+               return symbol;
+            }
+         }
+      }
+      // ASCII bytes are their own characters
+      return store(set, hash,
+         new String(bytes, start, length, StandardCharsets.ISO_8859_1));
+   }
+
+   /**
+    * Provides the String for the supplied characters, reusing the String from
+    * the table when it holds the same characters.
+    * 
+    * @param chars
+    *           sequence holding the characters
+    * @param start
+    *           index of the first character
+    * @param end
+    *           index after the last character
+    * @return String holding the characters
+    */
+   String lookup(CharSequence chars, int start, int end) {
+      int length = end - start;
+      if (length > _maxLength) {
+         return chars.subSequence(start, end).toString();
+      }
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+         hash = 31 * hash + chars.charAt(i);
+      }
+      int set = set(hash);
+      for (int slot = set; slot < set + _ways; slot++) {
+         String symbol = _symbols[slot];
+         if (symbol != null && _hashes[slot] == hash
+            && symbol.length() == length) {
+            int i = 0;
+            while (i < length && symbol.charAt(i) == chars.charAt(start + i)) {
+               i++;
+            }
+            if (i == length) {
+               found(slot);
+               return symbol;
+            }
+         }
+      }
+      return store(set, hash, chars.subSequence(start, end).toString());
+   }
+
+   /**
+    * Determines the set for the supplied hash, spreading its higher bits so
+    * Strings differing only in their last characters use different sets
+    * 
+    * @param hash
+    *           the String hash code of a String
+    * @return index of the first slot of the set for the String
+    */
+   private int set(int hash) {
+      return (hash ^ (hash >>> 10)) & _mask;
+   }
+
+   /**
+    * Records the supplied String in the table, in place of a String held in
+    * its set
+    * 
+    * @param set
+    *           index of the first slot of the set for the String
+    * @param hash
+    *           the String hash code of the String
+    * @param symbol
+    *           the String to be recorded
+    * @return the String recorded
+    */
+   String store(int set, int hash, String symbol) {
+      int slot = victim(set);
+      _symbols[slot] = symbol;
+      _hashes[slot] = hash;
+      return symbol;
+   }
+
+   /**
+    * Chooses the slot of the supplied set to receive a String not found in
+    * the table. By default an empty slot is chosen, or else the first slot.
+    * 
+    * @param set
+    *           index of the first slot of the set
+    * @return index of the slot to receive the String
+    */
+   int victim(int set) {
+      for (int slot = set; slot < set + _ways; slot++) {
+         if (_symbols[slot] == null) {
+            return slot;
+         }
+      }
+      return set;
+   }
+}
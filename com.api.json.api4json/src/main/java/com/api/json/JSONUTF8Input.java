@@ -0,0 +1,537 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JSONInput} scanning UTF-8 encoded bytes directly. ASCII bytes (all of
+ * the JSON syntax) are returned as is, multi-byte sequences are only decoded
+ * where they occur, and quoted strings without escapes are decoded in bulk.
+ * Strings, indentation and skipped values are scanned eight bytes at a time
+ * by the {@link JSONByteScanner}.
+ * Malformed sequences are read as the Unicode replacement character, as an
+ * {@link java.io.InputStreamReader} would. Bytes held in buffers without an
+ * accessible array (e.g., direct or memory mapped buffers) are copied through
+ * a small window rather than all at once.
+ */
+final class JSONUTF8Input extends JSONInput {
+
+   /**
+    * Supplies the successive buffers holding the bytes to be read
+    */
+   interface Source {
+
+      /**
+       * Provides the next buffer of bytes to be read. An empty buffer may be
+       * returned when no bytes are available yet, in which case the input
+       * reads as ended until a later call finds more.
+       * 
+       * @return the next buffer of bytes, an empty buffer if none are
+       *         available yet, or null if there are no more
+       * @throws IOException
+       *            if unable to obtain the next buffer
+       */
+      ByteBuffer next() throws IOException;
+   }
+
+   static final int WINDOW_SIZE = 8192;
+   private static final int REPLACEMENT = 0xFFFD;
+
+   private byte[] _buf;
+   private int _pos;
+   private int _end;
+   private int _lastPos;
+   // offset of the start of the window within the input
+   private long _base;
+   // low surrogate still to be returned for a 4 byte sequence, or -1
+   private int _pendingLow = -1;
+   private int _lastPendingLow = -1;
+   // buffer whose remaining bytes are to be copied into the window, or null
+   private ByteBuffer _current = null;
+   // supplier of further buffers, or null once all have been read
+   private Source _source = null;
+
+   /**
+    * Constructor reading bytes from the supplied array
+    * 
+    * @param bytes
+    *           array containing UTF-8 encoded JSON content
+    * @param offset
+    *           index of the first byte to be read
+    * @param length
+    *           number of bytes to be read
+    */
+   JSONUTF8Input(byte[] bytes, int offset, int length) {
+      if (bytes == null) {
+         throw new NullPointerException("bytes cannot be null");
+      }
+      if (offset < 0 || length < 0 || offset > bytes.length - length) {
+         throw new IndexOutOfBoundsException("offset " + offset + ", length "
+            + length + " is outside of an array of length " + bytes.length);
+      }
+      _buf = bytes;
+      _pos = offset;
+      _end = offset + length;
+      _lastPos = offset;
+      _base = -offset;
+   }
+
+   /**
+    * Constructor reading the bytes between the position and limit of the
+    * supplied buffer. The position of the supplied buffer is not changed.
+    * 
+    * @param buffer
+    *           buffer containing UTF-8 encoded JSON content
+    */
+   JSONUTF8Input(ByteBuffer buffer) {
+      if (buffer == null) {
+         throw new NullPointerException("buffer cannot be null");
+      }
+      if (buffer.hasArray()) {
+         _buf = buffer.array();
+         _pos = buffer.arrayOffset() + buffer.position();
+         _end = buffer.arrayOffset() + buffer.limit();
+      } else {
+         _buf = new byte[WINDOW_SIZE];
+         _pos = 0;
+         _end = 0;
+         _current = buffer.duplicate();
+      }
+      _lastPos = _pos;
+      _base = -_pos;
+   }
+
+   /**
+    * Constructor reading the bytes remaining in each of the buffers provided
+    * by the supplied source, in turn, as if they were one sequence of bytes.
+    * 
+    * @param source
+    *           supplier of the buffers containing UTF-8 encoded JSON content
+    */
+   JSONUTF8Input(Source source) {
+      if (source == null) {
+         throw new NullPointerException("source cannot be null");
+      }
+      _buf = new byte[WINDOW_SIZE];
+      _pos = 0;
+      _end = 0;
+      _lastPos = 0;
+      _source = source;
+   }
+
+   /**
+    * Reads the continuation byte of a multi-byte sequence if there is one.
+    * 
+    * @return the 6 bits carried by the continuation byte, or -1 if the next
+    *         byte is not a continuation byte (it is left unread)
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   private int continuation() throws IOException {
+      if (_pos >= _end && !fill()) {
+         return -1;
+      }
+      int b = _buf[_pos];
+      if ((b & 0xC0) != 0x80) {
+         return -1;
+      }
+      _pos++;
+      return b & 0x3F;
+   }
+
+   /**
+    * Decodes a multi-byte sequence given its leading byte
+    * 
+    * @param lead
+    *           the leading byte of the sequence (already consumed)
+    * @return the decoded character (the high surrogate for supplementary
+    *         characters), or the replacement character if malformed
+    * @throws IOException
+    *            if unable to read from the underlying source
+    */
+   private int decode(int lead) throws IOException {
+      if (lead >= 0xC2 && lead <= 0xDF) {
+         int b1 = continuation();
+         if (b1 < 0) {
+            return REPLACEMENT;
+         }
+         return ((lead & 0x1F) << 6) | b1;
+      }
+      if (lead >= 0xE0 && lead <= 0xEF) {
+         int b1 = continuation();
+         int b2 = (b1 < 0 ? -1 : continuation());
+         if (b2 < 0) {
+            return REPLACEMENT;
+         }
+         int ch = ((lead & 0x0F) << 12) | (b1 << 6) | b2;
+         if (ch < 0x800 || Character.isSurrogate((char) ch)) {
+            return REPLACEMENT;
+         }
+         return ch;
+      }
+      if (lead >= 0xF0 && lead <= 0xF4) {
+         int b1 = continuation();
+         int b2 = (b1 < 0 ? -1 : continuation());
+         int b3 = (b2 < 0 ? -1 : continuation());
+         if (b3 < 0) {
+            return REPLACEMENT;
+         }
+         int cp = ((lead & 0x07) << 18) | (b1 << 12) | (b2 << 6) | b3;
+         if (cp < 0x10000 || cp > Character.MAX_CODE_POINT) {
+            return REPLACEMENT;
+         }
+         _pendingLow = Character.lowSurrogate(cp);
+         return Character.highSurrogate(cp);
+      }
+      return REPLACEMENT;
+   }
+
+   /**
+    * Moves the next window of bytes from the source buffers into the window,
+    * keeping the bytes of the last character read so it may still be unread.
+    * 
+    * @return true if more bytes are available
+    * @throws IOException
+    *            if unable to obtain the next source buffer
+    */
+   private boolean fill() throws IOException {
+      while (_current == null || !_current.hasRemaining()) {
+         if (_source == null) {
+            return false;
+         }
+         try {
+            _current = _source.next();
+         } catch (IOException e) {
+            _readError = e;
+            throw e;
+         }
+         if (_current == null) {
+            _source = null;
+         } else if (!_current.hasRemaining()) {
+            // more bytes may be supplied later
+            return false;
+         }
+      }
+      if (_locating) {
+         // count the columns of the characters discarded
+         locateTo(_lastPos);
+         _locatedPos -= _lastPos;
+      }
+      _base += _lastPos;
+      int keep = _end - _lastPos;
+      System.arraycopy(_buf, _lastPos, _buf, 0, keep);
+      _pos -= _lastPos;
+      _lastPos = 0;
+      int count = Math.min(_buf.length - keep, _current.remaining());
+      _current.get(_buf, keep, count);
+      _end = keep + count;
+      return true;
+   }
+
+   /**
+    * Determines whether more bytes may follow those in the window
+    * 
+    * @return true if there may be bytes still to be moved into the window
+    */
+   private boolean hasMoreSource() {
+      return _source != null || (_current != null && _current.hasRemaining());
+   }
+
+   /**
+    * @see com.api.json.JSONInput#locateTo(int)
+    */
+   @Override
+   void locateTo(int index) {
+      if (index > _locatedPos) {
+         _locatedColumn += JSONByteScanner.countChars(_buf, _locatedPos, index);
+         _locatedPos = index;
+      }
+   }
+
+   /**
+    * Excludes the low surrogate of the character last decoded until it has
+    * been read.
+    * 
+    * @see com.api.json.JSONInput#locatedColumn()
+    */
+   @Override
+   int locatedColumn() {
+      return super.locatedColumn() - (_pendingLow >= 0 ? 1 : 0);
+   }
+
+   /**
+    * @see com.api.json.JSONInput#offset()
+    */
+   @Override
+   long offset() {
+      return _base + _pos;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#position()
+    */
+   @Override
+   int position() {
+      return _pos;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#read()
+    */
+   @Override
+   int read() throws IOException {
+      _lastPendingLow = _pendingLow;
+      if (_pendingLow >= 0) {
+         _lastPos = _pos;
+         int ch = _pendingLow;
+         _pendingLow = -1;
+         return ch;
+      }
+      if (_pos >= _end && !fill()) {
+         _lastPos = _pos;
+         _pastEnd++;
+         return EOF;
+      }
+      _lastPos = _pos;
+      int b = _buf[_pos++];
+      if (b >= 0) {
+         return b;
+      }
+      return decode(b & 0xFF);
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readQuoted(int, com.api.json.JSONSymbols)
+    */
+   @Override
+   String readQuoted(int quote, JSONSymbols symbols) throws IOException {
+      if (_pendingLow >= 0) {
+         return null;
+      }
+      byte[] buf = _buf;
+      int i = JSONByteScanner.indexOfQuoteEnd(buf, _pos, _end, quote);
+      if (i == _end || buf[i] != quote) {
+         // escaped characters or a line end
+         return null;
+      }
+      String value = (symbols == null ? null
+         : symbols.lookup(buf, _pos, i - _pos));
+      if (value == null) {
+         // multi-byte sequences never contain ASCII so decode in bulk
+         value = new String(buf, _pos, i - _pos, StandardCharsets.UTF_8);
+      }
+      _lastPos = i;
+      _lastPendingLow = -1;
+      _pos = i + 1;
+      return value;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#readRun(int[], int)
+    */
+   @Override
+   String readRun(int[] charTable, int mask) {
+      int start = _lastPos;
+      if (_pendingLow >= 0 || _pos != start + 1) {
+         // the run started with a multi-byte character
+         return null;
+      }
+      byte[] buf = _buf;
+      int i = _pos;
+      while (i < _end) {
+         int b = buf[i];
+         if (b < 0) {
+            // leave multi-byte characters to be decoded one at a time
+            return null;
+         }
+         if ((charTable[b] & mask) == 0) {
+            break;
+         }
+         i++;
+      }
+      if (i == _end && hasMoreSource()) {
+         // the run may continue in the next window
+         return null;
+      }
+      String value = new String(buf, start, i - start,
+         StandardCharsets.ISO_8859_1);
+      _pos = i;
+      _lastPos = i - 1;
+      _lastPendingLow = -1;
+      return value;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipBlanks()
+    */
+   @Override
+   int skipBlanks() {
+      if (_pendingLow >= 0) {
+         return 0;
+      }
+      // blanks beyond the window are read as tokens
+      int i = JSONByteScanner.indexOfNonBlank(_buf, _pos, _end);
+      int count = i - _pos;
+      if (count > 0) {
+         _lastPos = i - 1;
+         _lastPendingLow = -1;
+         _pos = i;
+      }
+      return count;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipQuotedRun(int)
+    */
+   @Override
+   int skipQuotedRun(int quote) {
+      if (_pendingLow >= 0) {
+         return -1;
+      }
+      byte[] buf = _buf;
+      int i = JSONByteScanner.indexOfQuoteEnd(buf, _pos, _end, quote);
+      if (i == _end || buf[i] != quote) {
+         // escaped characters or a line end
+         return -1;
+      }
+      int length = JSONByteScanner.countChars(buf, _pos, i);
+      _lastPos = i;
+      _lastPendingLow = -1;
+      _pos = i + 1;
+      return length;
+   }
+
+   /**
+    * Skips the remainder of an object or array as
+    * {@link JSONInput#skipValue(int, int, JSONStreamTokenizer)} does, but
+    * passes over the bytes between quotes, brackets and line ends eight at a
+    * time, counting the characters skipped in bulk.
+    * 
+    * @see com.api.json.JSONInput#skipValue(int, int, JSONStreamTokenizer)
+    */
+   @Override
+   void skipValue(int open, int close, JSONStreamTokenizer jtok)
+      throws IOException {
+      int depth = 1;
+      int line = jtok.getLineNumber();
+      int offset = jtok.getColumnNumber();
+      boolean quoted = false;
+      while (depth > 0) {
+         if (_pendingLow >= 0) {
+            // the low surrogate of the character last decoded
+            read();
+            offset++;
+            continue;
+         }
+         if (_pos >= _end && !fill()) {
+            _lastPos = _pos;
+            jtok.moveTo(line, offset + 1);
+            throw unterminated(open, jtok);
+         }
+         byte[] buf = _buf;
+         int i = (quoted ? JSONByteScanner.indexOfQuoteEnd(buf, _pos, _end, '"')
+            : JSONByteScanner.indexOfStructure(buf, _pos, _end, open, close));
+         offset += JSONByteScanner.countChars(buf, _pos, i);
+         if (i == _end) {
+            // keep the last byte skipped when the window is refilled
+            _lastPos = i - 1;
+            _lastPendingLow = -1;
+            _pos = i;
+            continue;
+         }
+         int ch = buf[i];
+         _lastPos = i;
+         _lastPendingLow = -1;
+         _pos = i + 1;
+         offset++;
+         if (ch == '\n' || ch == '\r') {
+            // as counted by the tokenizer
+            line++;
+            offset = 0;
+         } else if (quoted) {
+            if (ch == '\\') {
+               read();
+               offset++;
+            } else {
+               quoted = false;
+            }
+         } else if (ch == '"') {
+            quoted = true;
+         } else if (ch == open) {
+            depth++;
+         } else {
+            depth--;
+         }
+      }
+      jtok.moveTo(line, offset);
+   }
+
+   /**
+    * @see com.api.json.JSONInput#skipRun(int[], int)
+    */
+   @Override
+   int skipRun(int[] charTable, int mask) {
+      int start = _lastPos;
+      if (_pendingLow >= 0 || _pos != start + 1) {
+         // the run started with a multi-byte character
+         return -1;
+      }
+      byte[] buf = _buf;
+      int i = _pos;
+      while (i < _end) {
+         int b = buf[i];
+         if (b < 0) {
+            // leave multi-byte characters to be decoded one at a time
+            return -1;
+         }
+         if ((charTable[b] & mask) == 0) {
+            break;
+         }
+         i++;
+      }
+      if (i == _end && hasMoreSource()) {
+         // the run may continue in the next window
+         return -1;
+      }
+      _pos = i;
+      _lastPos = i - 1;
+      _lastPendingLow = -1;
+      return i - start;
+   }
+
+   /**
+    * @see com.api.json.JSONInput#unread()
+    */
+   @Override
+   void unread() {
+      if (_lastPos == _pos && _lastPendingLow < 0 && _pastEnd > 0) {
+         // the end of the input was read
+         _pastEnd--;
+      }
+      _pos = _lastPos;
+      _pendingLow = _lastPendingLow;
+   }
+}
@@ -0,0 +1,266 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link JSONOutput} encoding the characters written straight to UTF-8 bytes,
+ * collected in a byte array recycled across the serializations on a thread.
+ * The bytes are passed to an {@link OutputStream} or {@link ByteBuffer} each
+ * time the array fills, or when serializing to a byte array, the array grows
+ * until the text is complete. An array grown beyond {@link #MAX_RETAINED}
+ * bytes is not kept for the next serialization. Unpaired surrogates are
+ * encoded as '?', as by {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+final class JSONUTF8Output extends JSONOutput {
+
+   /**
+    * Number of bytes collected before they are passed to the destination
+    */
+   static final int BUFFER_SIZE = 8192;
+
+   /**
+    * Largest array kept for the next serialization on the thread
+    */
+   static final int MAX_RETAINED = 1 << 20;
+
+   // output recycled by the serializations on each thread
+   private static final ThreadLocal<JSONUTF8Output> OUTPUTS = ThreadLocal
+      .withInitial(JSONUTF8Output::new);
+
+   private byte[] _buf = new byte[BUFFER_SIZE];
+   private int _count = 0;
+   // high surrogate awaiting the low surrogate of its pair, or 0
+   private char _high = 0;
+   // destination of the bytes, the array growing when neither is set
+   private OutputStream _os = null;
+   private ByteBuffer _buffer = null;
+   private int _start = 0;
+
+   /**
+    * Obtains an output for the current thread collecting the bytes in a
+    * growing array, read with {@link #toByteArray()}. The thread's recycled
+    * output is used unless it is already busy, in which case a new output is
+    * created.
+    * 
+    * @return output ready to be written, to be released once the
+    *         serialization is complete
+    */
+   static JSONUTF8Output acquire() {
+      JSONUTF8Output output = OUTPUTS.get();
+      if (output._inUse) {
+         output = new JSONUTF8Output();
+      }
+      output._inUse = true;
+      return output;
+   }
+
+   /**
+    * Obtains an output for the current thread writing to the remaining space
+    * of the supplied buffer
+    * 
+    * @param buffer
+    *           the buffer receiving the bytes
+    * @return output ready to be written, to be released once the
+    *         serialization is complete
+    * @see #acquire()
+    */
+   static JSONUTF8Output acquire(ByteBuffer buffer) {
+      JSONUTF8Output output = acquire();
+      output._buffer = buffer;
+      output._start = buffer.position();
+      return output;
+   }
+
+   /**
+    * Obtains an output for the current thread writing to the supplied stream
+    * 
+    * @param os
+    *           the stream receiving the bytes
+    * @return output ready to be written, to be released once the
+    *         serialization is complete
+    * @see #acquire()
+    */
+   static JSONUTF8Output acquire(OutputStream os) {
+      JSONUTF8Output output = acquire();
+      output._os = os;
+      return output;
+   }
+
+   /**
+    * @see java.lang.Appendable#append(char)
+    */
+   @Override
+   public Appendable append(char c) throws IOException {
+      if (_high != 0) {
+         char high = _high;
+         _high = 0;
+         if (Character.isLowSurrogate(c)) {
+            int cp = Character.toCodePoint(high, c);
+            reserve(4);
+            _buf[_count++] = (byte) (0xF0 | (cp >> 18));
+            _buf[_count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            _buf[_count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            _buf[_count++] = (byte) (0x80 | (cp & 0x3F));
+            return this;
+         }
+         reserve(1);
+         _buf[_count++] = '?';
+      }
+      if (c < 0x80) {
+         reserve(1);
+         _buf[_count++] = (byte) c;
+      } else if (c < 0x800) {
+         reserve(2);
+         _buf[_count++] = (byte) (0xC0 | (c >> 6));
+         _buf[_count++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)) {
+         _high = c;
+      } else if (Character.isLowSurrogate(c)) {
+         reserve(1);
+         _buf[_count++] = '?';
+      } else {
+         reserve(3);
+         _buf[_count++] = (byte) (0xE0 | (c >> 12));
+         _buf[_count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+         _buf[_count++] = (byte) (0x80 | (c & 0x3F));
+      }
+      return this;
+   }
+
+   /**
+    * @see java.lang.Appendable#append(java.lang.CharSequence, int, int)
+    */
+   @Override
+   public Appendable append(CharSequence csq, int start, int end)
+      throws IOException {
+      if (csq == null) {
+         csq = "null";
+      }
+      int i = start;
+      while (i < end) {
+         char ch = csq.charAt(i);
+         if (ch >= 0x80 || _high != 0) {
+            append(ch);
+            i++;
+            continue;
+         }
+         // copies the run of ASCII characters fitting in the array
+         reserve(1);
+         byte[] buf = _buf;
+         int count = _count;
+         int stop = Math.min(end, i + buf.length - count);
+         do {
+            buf[count++] = (byte) ch;
+         } while (++i < stop && (ch = csq.charAt(i)) < 0x80);
+         _count = count;
+      }
+      return this;
+   }
+
+   /**
+    * Passes the bytes collected to the destination, or grows the array when
+    * there is none
+    * 
+    * @throws IOException
+    *            if unable to write to the stream
+    * @throws BufferOverflowException
+    *            if the bytes do not fit in the buffer, whose position is
+    *            restored
+    */
+   private void drain() throws IOException {
+      if (_os != null) {
+         _os.write(_buf, 0, _count);
+         _count = 0;
+      } else if (_buffer != null) {
+         if (_buffer.remaining() < _count) {
+            _buffer.position(_start);
+            throw new BufferOverflowException();
+         }
+         _buffer.put(_buf, 0, _count);
+         _count = 0;
+      } else {
+         _buf = Arrays.copyOf(_buf, _buf.length * 2);
+      }
+   }
+
+   /**
+    * Passes on the bytes still held, encoding a final unpaired surrogate.
+    * When collecting the bytes in a growing array, they remain in the array.
+    * 
+    * @see com.api.json.JSONOutput#flush()
+    */
+   @Override
+   void flush() throws IOException {
+      if (_high != 0) {
+         _high = 0;
+         reserve(1);
+         _buf[_count++] = '?';
+      }
+      if (_os != null || _buffer != null) {
+         drain();
+      }
+   }
+
+   /**
+    * @see com.api.json.JSONOutput#release()
+    */
+   @Override
+   void release() {
+      if (_buf.length > MAX_RETAINED) {
+         _buf = new byte[BUFFER_SIZE];
+      }
+      _count = 0;
+      _high = 0;
+      _os = null;
+      _buffer = null;
+      _inUse = false;
+   }
+
+   /**
+    * Makes room in the array for the supplied number of bytes
+    * 
+    * @param count
+    *           number of bytes about to be written
+    * @throws IOException
+    *            if unable to write to the stream
+    */
+   private void reserve(int count) throws IOException {
+      if (_count + count > _buf.length) {
+         drain();
+      }
+   }
+
+   /**
+    * @return a copy of the bytes collected in the growing array
+    */
+   byte[] toByteArray() {
+      return Arrays.copyOf(_buf, _count);
+   }
+}
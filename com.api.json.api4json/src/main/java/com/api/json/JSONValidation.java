@@ -0,0 +1,114 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+/**
+ * Outcome of validating JSON content with
+ * {@link JSONParser#validate(CharSequence)} (or
+ * {@link JSON#validate(CharSequence)}). Valid content reports no message, and
+ * invalid content reports the error the parser would have thrown along with
+ * the offset, line and column at which it was found.
+ */
+public final class JSONValidation {
+
+   /**
+    * The outcome of validating content without errors
+    */
+   public static final JSONValidation VALID = new JSONValidation(null, -1L,
+      0, 0);
+
+   private final String _message;
+   private final long _offset;
+   private final int _line;
+   private final int _column;
+
+   /**
+    * Constructor
+    * 
+    * @param message
+    *           the error found, or null if the content is valid
+    * @param offset
+    *           the number of characters (or bytes, for UTF-8 encoded input)
+    *           read when the error was found
+    * @param line
+    *           the line on which the error was found
+    * @param column
+    *           the column at which the error was found
+    */
+   JSONValidation(String message, long offset, int line, int column) {
+      _message = message;
+      _offset = offset;
+      _line = line;
+      _column = column;
+   }
+
+   /**
+    * @return the column at which the error was found, or 0 if the content is
+    *         valid
+    */
+   public int getColumnNumber() {
+      return _column;
+   }
+
+   /**
+    * @return the line on which the error was found, or 0 if the content is
+    *         valid
+    */
+   public int getLineNumber() {
+      return _line;
+   }
+
+   /**
+    * @return the message of the error found, or null if the content is valid
+    */
+   public String getMessage() {
+      return _message;
+   }
+
+   /**
+    * @return the number of characters (or bytes, for UTF-8 encoded input) read
+    *         when the error was found, or -1 if the content is valid
+    */
+   public long getOffset() {
+      return _offset;
+   }
+
+   /**
+    * @return true if the content is valid
+    */
+   public boolean isValid() {
+      return _message == null;
+   }
+
+   /**
+    * @see java.lang.Object#toString()
+    */
+   @Override
+   public String toString() {
+      if (_message == null) {
+         return "valid";
+      }
+      return "invalid at offset " + _offset + ": " + _message;
+   }
+}
@@ -0,0 +1,131 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link JSONOutput} passing the characters written to a {@link Writer}
+ * through a buffer of {@link #BUFFER_SIZE} characters. Strings are copied into
+ * the buffer in bulk rather than a character at a time.
+ */
+final class JSONWriterOutput extends JSONOutput {
+
+   /**
+    * Number of characters collected before they are written to the writer
+    */
+   static final int BUFFER_SIZE = 8192;
+
+   // output recycled by the serializations on each thread
+   private static final ThreadLocal<JSONWriterOutput> OUTPUTS = ThreadLocal
+      .withInitial(JSONWriterOutput::new);
+
+   private final char[] _buf = new char[BUFFER_SIZE];
+   private int _count = 0;
+   private Writer _writer = null;
+
+   /**
+    * Obtains an output for the current thread writing to the supplied writer.
+    * The thread's recycled output is used unless it is already busy (e.g., a
+    * serialization started by the writer itself), in which case a new output
+    * is created.
+    * 
+    * @param writer
+    *           the writer receiving the characters
+    * @return output ready to be written, to be released once the
+    *         serialization is complete
+    */
+   static JSONWriterOutput acquire(Writer writer) {
+      JSONWriterOutput output = OUTPUTS.get();
+      if (output._inUse) {
+         output = new JSONWriterOutput();
+      }
+      output._inUse = true;
+      output._writer = writer;
+      return output;
+   }
+
+   /**
+    * @see java.lang.Appendable#append(char)
+    */
+   @Override
+   public Appendable append(char c) throws IOException {
+      if (_count == _buf.length) {
+         flush();
+      }
+      _buf[_count++] = c;
+      return this;
+   }
+
+   /**
+    * @see java.lang.Appendable#append(java.lang.CharSequence, int, int)
+    */
+   @Override
+   public Appendable append(CharSequence csq, int start, int end)
+      throws IOException {
+      if (csq == null) {
+         csq = "null";
+      }
+      while (start < end) {
+         if (_count == _buf.length) {
+            flush();
+         }
+         int count = Math.min(end - start, _buf.length - _count);
+         if (csq instanceof String) {
+            ((String) csq).getChars(start, start + count, _buf, _count);
+         } else if (csq instanceof StringBuilder) {
+            ((StringBuilder) csq).getChars(start, start + count, _buf, _count);
+         } else {
+            for (int i = 0; i < count; i++) {
+               _buf[_count + i] = csq.charAt(start + i);
+            }
+         }
+         _count += count;
+         start += count;
+      }
+      return this;
+   }
+
+   /**
+    * @see com.api.json.JSONOutput#flush()
+    */
+   @Override
+   void flush() throws IOException {
+      if (_count > 0) {
+         _writer.write(_buf, 0, _count);
+         _count = 0;
+      }
+   }
+
+   /**
+    * @see com.api.json.JSONOutput#release()
+    */
+   @Override
+   void release() {
+      _writer = null;
+      _count = 0;
+      _inUse = false;
+   }
+}
@@ -22,9 +22,19 @@
 
 package com.api.json.api4json;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 import com.api.json.JSON;
@@ -120,4 +130,212 @@ public class TestJSON {
          Assert.fail("Failed to parse: "+testVal+" due to embedded carriage returns. "+e.getLocalizedMessage());
       }
    }
+
+   @Test
+   public void testEscape() throws Exception {
+      // strings are escaped in one pass, matching the expanded forms
+      JSONArray array = new JSONArray();
+      array.add("plain text");
+      array.add("q\"b\\s/n\nr\rt\tb\bf\fc\u0001d\u007f");
+      array.add("é™蒜😀");
+      array.add("");
+      JSONObject jobj = new JSONObject();
+      jobj.put("k\"\n™", array);
+      String expected = "{\"k\\\"\\n\\u2122\":[\"plain text\","
+         + "\"q\\\"b\\\\s/n\\nr\\rt\\tb\\u0008f\\u000cc\\u0001d\\u007f\","
+         + "\"\\u00e9\\u2122\\u849c\\ud83d\\ude00\",\"\"]}";
+      Assert.assertEquals(expected, jobj.toString());
+      Assert.assertEquals(jobj, JSON.parse(expected));
+      try {
+         JSON.escapeSolidus(true);
+         Assert.assertEquals(expected.replace("s/n", "s\\/n"), jobj.toString());
+      } finally {
+         JSON.escapeSolidus(false);
+      }
+   }
+
+   @Test
+   public void testEscapeUnicode() throws Exception {
+      // characters beyond ASCII may be output as they are
+      JSONArray array = new JSONArray();
+      array.add("é™蒜😀 مرحبا");
+      array.add("a\u2028b\u2029c");
+      array.add("q\"\n\u0001\ud83d!\ude00");
+      try {
+         JSON.escapeUnicode(false);
+         String expected = "[\"é™蒜😀 مرحبا\",\"a\\u2028b\\u2029c\",\"q\\\"\\n\\u0001\\ud83d!\\ude00\"]";
+         Assert.assertEquals(expected, array.toString());
+         ByteArrayOutputStream os = new ByteArrayOutputStream();
+         array.serialize(os);
+         Assert.assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), os.toByteArray());
+         Assert.assertEquals(array, JSON.parse(os.toByteArray()));
+         JSON.escapeLineSeparators(false);
+         Assert.assertTrue(array.toString().contains("\"a\u2028b\u2029c\""));
+         Assert.assertEquals(array, JSON.parse(array.toString()));
+      } finally {
+         JSON.escapeUnicode(true);
+         JSON.escapeLineSeparators(true);
+      }
+      Assert.assertTrue(array.toString().startsWith("[\"\\u00e9\\u2122\\u849c\\ud83d\\ude00 \\u0645"));
+   }
+
+   @Test
+   public void testSerialize() throws Exception {
+      // text streamed to writers and output streams matches the String forms
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      StringBuilder big = new StringBuilder();
+      while (big.length() < 3 * 8192) {
+         big.append("long text \"quoted\" ™蒜肉 ");
+      }
+      JSONObject built = new JSONObject();
+      built.put("big", big.toString());
+      built.put("array", JSON.parse("[1, 2.5, true, null, {\"a\": []}, {}]"));
+      built.put("empty", new JSONObject());
+      for (JSONArtifact artifact : new JSONArtifact[] { JSON.parse(bytes),
+         JSON.parseLazy(bytes), built, (JSONArtifact) built.get("array"),
+         new JSONArray() }) {
+         for (boolean verbose : new boolean[] { false, true }) {
+            String expected = verbose ? artifact.serialize(true) : artifact.toString();
+            StringWriter writer = new StringWriter();
+            artifact.serialize(writer, verbose);
+            Assert.assertEquals(expected, writer.toString());
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            artifact.serialize(os, verbose);
+            Assert.assertEquals(expected, new String(os.toByteArray(), StandardCharsets.UTF_8));
+         }
+         StringWriter writer = new StringWriter();
+         artifact.serialize(writer);
+         Assert.assertEquals(artifact.serialize(), writer.toString());
+      }
+   }
+
+   @Test
+   public void testSerializeToBytes() throws Exception {
+      // text encoded straight to UTF-8 matches the encoded String forms
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      JSONArray array = new JSONArray();
+      array.add("é™蒜😀 مرحبا");
+      array.add("unpaired \ud83d and \ude00");
+      array.add(JSON.parseLazy(bytes));
+      for (boolean unicode : new boolean[] { true, false }) {
+         try {
+            JSON.escapeUnicode(unicode);
+            for (boolean verbose : new boolean[] { false, true }) {
+               byte[] expected = array.serialize(verbose).getBytes(StandardCharsets.UTF_8);
+               Assert.assertArrayEquals(expected, array.serializeToBytes(verbose));
+               ByteBuffer buffer = ByteBuffer.allocate(expected.length + 10);
+               buffer.put((byte) '#');
+               Assert.assertEquals(expected.length, array.serializeTo(buffer, verbose));
+               Assert.assertEquals(expected.length + 1, buffer.position());
+               Assert.assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, expected.length + 1));
+            }
+            Assert.assertArrayEquals(array.toString().getBytes(StandardCharsets.UTF_8), array.serializeToBytes());
+         } finally {
+            JSON.escapeUnicode(true);
+         }
+      }
+
+      // the buffer's position is unchanged when the text does not fit
+      ByteBuffer buffer = ByteBuffer.allocate(bytes.length / 2);
+      buffer.put((byte) '#');
+      try {
+         array.serializeTo(buffer);
+         Assert.fail("Expected a BufferOverflowException");
+      } catch (BufferOverflowException e) {
+         Assert.assertEquals(1, buffer.position());
+      }
+      Assert.assertEquals(2, new JSONObject().serializeTo(ByteBuffer.allocate(2)));
+   }
+
+   @Test
+   public void testSerializeNested() throws Exception {
+      // deeply nested content is written once into a single buffer
+      int depth = 400;
+      JSONArray root = new JSONArray();
+      JSONArray array = root;
+      StringBuilder expected = new StringBuilder();
+      for (int i = 0; i < depth; i++) {
+         JSONObject jobj = new JSONObject();
+         JSONArray child = new JSONArray();
+         jobj.put("k", child);
+         array.add(i);
+         array.add(jobj);
+         array = child;
+         expected.append('[').append(i).append(",{\"k\":");
+      }
+      expected.append("[]");
+      for (int i = 0; i < depth; i++) {
+         expected.append("}]");
+      }
+      Assert.assertEquals(expected.toString(), root.toString());
+      StringBuilder sb = new StringBuilder("prefix ");
+      root.write(sb, 0, 0);
+      Assert.assertEquals("prefix " + expected, sb.toString());
+      String verbose = root.serialize(true);
+      Assert.assertEquals(verbose, JSON.parse(verbose).serialize(true));
+      Assert.assertEquals(root, JSON.parse(verbose));
+   }
+
+   @Test
+   public void testOtherArtifact() throws Exception {
+      // an artifact implemented elsewhere is written through its own formatting
+      StringBuilder sb = new StringBuilder("prefix ");
+      new Point().write(sb, 0, 0);
+      Assert.assertEquals("prefix {\"x\":1}", sb.toString());
+      // and encoded from its String form
+      byte[] expected = "{\"x\":1}".getBytes(StandardCharsets.UTF_8);
+      Assert.assertArrayEquals(expected, new Point().serializeToBytes());
+      ByteBuffer buffer = ByteBuffer.allocate(10);
+      buffer.put((byte) '#');
+      Assert.assertEquals(expected.length, new Point().serializeTo(buffer, true));
+      Assert.assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, expected.length + 1));
+      try {
+         new Point().serializeTo(buffer);
+         Assert.fail("Expected a BufferOverflowException");
+      } catch (BufferOverflowException e) {
+         Assert.assertEquals(expected.length + 1, buffer.position());
+      }
+   }
+
+   /**
+    * Artifact implementing only the methods required before the default ones
+    * were added
+    */
+   private static class Point implements JSONArtifact {
+
+      @Override
+      public String serialize() {
+         return serialize(false);
+      }
+
+      @Override
+      public String serialize(boolean verbose) {
+         return toString(new StringBuilder(), 0, 0);
+      }
+
+      @Override
+      public void serialize(OutputStream os) throws IOException {
+         serialize(os, false);
+      }
+
+      @Override
+      public void serialize(OutputStream os, boolean verbose) throws IOException {
+         os.write(serialize(verbose).getBytes(StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public void serialize(Writer writer) throws IOException {
+         serialize(writer, false);
+      }
+
+      @Override
+      public void serialize(Writer writer, boolean verbose) throws IOException {
+         writer.write(serialize(verbose));
+      }
+
+      @Override
+      public String toString(StringBuilder sb, int indent, int incr) {
+         return sb.append("{\"x\":1}").toString();
+      }
+   }
 }
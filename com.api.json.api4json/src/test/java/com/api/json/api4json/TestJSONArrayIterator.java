@@ -0,0 +1,160 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json.api4json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONArrayIterator;
+import com.api.json.JSONArtifact;
+import com.api.json.JSONObject;
+
+/**
+ * JUnit test for iterating and streaming the elements of a top level array
+ */
+public class TestJSONArrayIterator {
+
+   /**
+    * Generates a large array of records as it is read, so the whole document
+    * is never held in memory
+    */
+   private static class RecordStream extends InputStream {
+
+      private final int _count;
+      private int _index = -1;
+      private byte[] _chunk = "[".getBytes(StandardCharsets.UTF_8);
+      private int _pos = 0;
+      boolean _closed = false;
+
+      RecordStream(int count) {
+         _count = count;
+      }
+
+      @Override
+      public int read() {
+         if (_pos == _chunk.length) {
+            _index++;
+            if (_index > _count) {
+               return -1;
+            }
+            String text = (_index == _count ? "]"
+               : (_index > 0 ? "," : "") + "\n {\"id\":" + _index
+                  + ",\"name\":\"record " + _index + "\",\"tags\":[\"a\",\"b\"]}");
+            _chunk = text.getBytes(StandardCharsets.UTF_8);
+            _pos = 0;
+         }
+         return _chunk[_pos++];
+      }
+
+      @Override
+      public void close() {
+         _closed = true;
+      }
+   }
+
+   @Test
+   public void test() throws Exception {
+      // stream a document far larger than any one of its records
+      RecordStream input = new RecordStream(200000);
+      long sum = 0L;
+      try (Stream<JSONObject> records = JSON.streamArray(input)) {
+         sum = records.mapToLong(record -> (Long) record.get("id")).sum();
+      }
+      Assert.assertTrue(input._closed);
+      Assert.assertEquals(199999L * 200000L / 2L, sum);
+
+      // elements match those of the parsed array
+      Path path = Paths.get("src/test/resources/ExampleWCSWorkspace.json");
+      JSONArray entities = (JSONArray) JSONObject.parse(path).get("entities");
+      List<JSONArtifact> elements = new ArrayList<>();
+      try (JSONArrayIterator it = JSON.iterateArray(new StringReader(entities.toString()))) {
+         while (it.hasNext()) {
+            elements.add(it.next());
+         }
+         Assert.assertFalse(it.hasNext());
+      }
+      Assert.assertEquals(entities, elements);
+
+      // nested arrays may be iterated but not streamed as objects
+      try (JSONArrayIterator it = JSON.iterateArray(new StringReader("[[1],{\"a\":[2]}, [] ]"))) {
+         Assert.assertEquals("[1]", it.next().toString());
+         Assert.assertEquals("{\"a\":[2]}", it.next().toString());
+         Assert.assertEquals("[]", it.next().toString());
+         Assert.assertFalse(it.hasNext());
+      }
+      try (Stream<JSONObject> records = JSON.streamArray(new StringReader("[{}, []]"))) {
+         records.count();
+         Assert.fail("Expected an UncheckedIOException for an array element");
+      } catch (UncheckedIOException e) {
+         Assert.assertTrue(e.getCause().getMessage(),
+            e.getCause().getMessage().startsWith("Array element is not a JSONObject"));
+      }
+
+      // empty arrays and closing early
+      try (JSONArrayIterator it = JSON.iterateArray(new StringReader(" [ ] "))) {
+         Assert.assertFalse(it.hasNext());
+      }
+      input = new RecordStream(10);
+      try (Stream<JSONObject> records = JSON.streamArray(input)) {
+         Assert.assertEquals(3L, records.limit(3).count());
+      }
+      Assert.assertTrue(input._closed);
+
+      // errors
+      try {
+         JSON.iterateArray(new ByteArrayInputStream("{\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+         Assert.fail("Expected an IOException for an object");
+      } catch (IOException e) {
+         Assert.assertEquals("Does not parse as a JSONArray. It is a START_OBJECT", e.getMessage());
+      }
+      try (JSONArrayIterator it = JSON.iterateArray(new StringReader("[{\"a\":1}, 2]"))) {
+         it.next();
+         it.next();
+         Assert.fail("Expected an UncheckedIOException for a number");
+      } catch (UncheckedIOException e) {
+         Assert.assertEquals("Array element is not a JSONObject or JSONArray. It is a VALUE_NUMBER on line 1, column 11",
+            e.getCause().getMessage());
+      }
+      try (JSONArrayIterator it = JSON.iterateArray(new StringReader("[{\"a\":1} {\"a\":2}]"))) {
+         it.next();
+         it.hasNext();
+         Assert.fail("Expected an UncheckedIOException for a missing comma");
+      } catch (UncheckedIOException e) {
+         Assert.assertTrue(e.getCause().getMessage(),
+            e.getCause().getMessage().startsWith("Array missing comma delimiter in line 1"));
+      }
+   }
+}
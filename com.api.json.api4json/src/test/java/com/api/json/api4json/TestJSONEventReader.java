@@ -0,0 +1,234 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json.api4json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONEventReader;
+import com.api.json.JSONEventReader.Event;
+import com.api.json.JSONHandler;
+import com.api.json.JSONObject;
+
+/**
+ * JUnit test for the {@link JSONEventReader} pull parser
+ */
+public class TestJSONEventReader {
+
+   @Test
+   public void test() throws Exception {
+      String text = "{\"a\":[1,2.5,\"s\"],\"b\":{\"c\":true,\"d\":null},\"e\":false}";
+      List<Event> events = new ArrayList<>();
+      List<String> strings = new ArrayList<>();
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader(text))) {
+         while (reader.hasNext()) {
+            Event event = reader.next();
+            events.add(event);
+            if (event == Event.KEY_NAME || event == Event.VALUE_STRING
+               || event == Event.VALUE_NUMBER) {
+               strings.add(reader.getString());
+            }
+            if (event == Event.VALUE_NUMBER) {
+               Assert.assertEquals(reader.getString().indexOf('.') < 0,
+                  reader.isIntegralNumber());
+            }
+         }
+      }
+      Assert.assertArrayEquals(new Event[] { Event.START_OBJECT, Event.KEY_NAME,
+         Event.START_ARRAY, Event.VALUE_NUMBER, Event.VALUE_NUMBER,
+         Event.VALUE_STRING, Event.END_ARRAY, Event.KEY_NAME, Event.START_OBJECT,
+         Event.KEY_NAME, Event.VALUE_TRUE, Event.KEY_NAME, Event.VALUE_NULL,
+         Event.END_OBJECT, Event.KEY_NAME, Event.VALUE_FALSE, Event.END_OBJECT },
+         events.toArray());
+      Assert.assertEquals("[a, 1, 2.5, s, b, c, d, e]", strings.toString());
+
+      // materialize one subtree and skip another
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader(text))) {
+         Assert.assertEquals(Event.START_OBJECT, reader.next());
+         Assert.assertEquals(Event.KEY_NAME, reader.next());
+         Assert.assertEquals(Event.START_ARRAY, reader.next());
+         reader.skipArray();
+         Assert.assertEquals(Event.KEY_NAME, reader.next());
+         Assert.assertEquals(Event.START_OBJECT, reader.next());
+         JSONObject b = reader.getObject();
+         Assert.assertEquals("{\"c\":true,\"d\":null}", b.toString());
+         Assert.assertEquals(Event.KEY_NAME, reader.next());
+         Assert.assertEquals("e", reader.getString());
+         Assert.assertEquals(Event.VALUE_FALSE, reader.next());
+         Assert.assertEquals(Event.END_OBJECT, reader.next());
+         Assert.assertFalse(reader.hasNext());
+      }
+
+      // concatenated documents
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader("{\"x\":1}\n[2]{\"x\":3}"))) {
+         List<Object> values = new ArrayList<>();
+         while (reader.hasNext()) {
+            reader.next();
+            values.add(reader.getValue());
+         }
+         Assert.assertEquals("[{\"x\":1}, [2], {\"x\":3}]", values.toString());
+      }
+
+      // constant memory walk of a large document, materializing one entity at a time
+      Path path = Paths.get("src/test/resources/ExampleWCSWorkspace.json");
+      JSONArray expected = (JSONArray) JSONObject.parse(path).get("entities");
+      int count = 0;
+      try (JSONEventReader reader = JSON.createEventReader(path)) {
+         while (reader.hasNext()) {
+            Event event = reader.next();
+            if (event == Event.KEY_NAME && reader.getDepth() == 1
+               && "entities".equals(reader.getString())) {
+               Assert.assertEquals(Event.START_ARRAY, reader.next());
+               while (reader.next() == Event.START_OBJECT) {
+                  Assert.assertEquals(expected.get(count++), reader.getObject());
+               }
+            }
+         }
+      }
+      Assert.assertEquals(expected.size(), count);
+
+      // errors match those of JSON.parse
+      String msg = "{type: ORDERING_DISABLED, message: EscalationNotice failed with status 400.}";
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader(msg))) {
+         while (reader.hasNext()) {
+            reader.next();
+         }
+         Assert.fail("Expected an IOException for a missing comma");
+      } catch (IOException e) {
+         Assert.assertEquals("Missing comma delimiter or an unquoted string value on line 1, near column 58",
+            e.getLocalizedMessage());
+      }
+   }
+
+   @Test
+   public void testHandler() throws Exception {
+      // sum selected numeric fields without building any objects
+      String text = "[{\"id\":\"a\",\"count\":3,\"ms\":1.5},{\"id\":\"b\",\"count\":-4,\"ms\":2.25,\"tags\":[\"x\",true,null]},"
+         + "{\"id\":\"c\",\"count\":1000,\"ms\":1e2}]";
+      long[] counts = new long[1];
+      double[] millis = new double[1];
+      StringBuilder trace = new StringBuilder();
+      JSON.parse(new StringReader(text), new JSONHandler() {
+         private String _key = null;
+
+         @Override
+         public void key(String key) {
+            _key = key;
+         }
+
+         @Override
+         public void startObject() {
+            trace.append('{');
+         }
+
+         @Override
+         public void endObject() {
+            trace.append('}');
+         }
+
+         @Override
+         public void startArray() {
+            trace.append('[');
+         }
+
+         @Override
+         public void endArray() {
+            trace.append(']');
+         }
+
+         @Override
+         public void value(long value) {
+            if ("count".equals(_key)) {
+               counts[0] += value;
+            } else {
+               millis[0] += value;
+            }
+         }
+
+         @Override
+         public void value(double value) {
+            millis[0] += value;
+         }
+
+         @Override
+         public void value(boolean value) {
+            trace.append(value);
+         }
+
+         @Override
+         public void nullValue() {
+            trace.append("null");
+         }
+      });
+      Assert.assertEquals(999L, counts[0]);
+      Assert.assertEquals(103.75d, millis[0], 0.0d);
+      Assert.assertEquals("[{}{[truenull]}{}]", trace.toString());
+
+      // handlers see the same content as the tree built by JSON.parse
+      Path path = Paths.get("src/test/resources/ExampleWCSWorkspace.json");
+      int[] keys = new int[1];
+      JSON.parse(path, new JSONHandler() {
+         @Override
+         public void key(String key) {
+            keys[0]++;
+         }
+      });
+      int[] expected = new int[1];
+      try (JSONEventReader reader = JSON.createEventReader(path)) {
+         while (reader.hasNext()) {
+            if (reader.next() == Event.KEY_NAME) {
+               expected[0]++;
+            }
+         }
+      }
+      Assert.assertTrue(keys[0] > 0);
+      Assert.assertEquals(expected[0], keys[0]);
+      int[] byteKeys = new int[1];
+      JSON.parse(Files.readAllBytes(path), new JSONHandler() {
+         @Override
+         public void key(String key) {
+            byteKeys[0]++;
+         }
+      });
+      Assert.assertEquals(expected[0], byteKeys[0]);
+
+      // errors match those of JSON.parse
+      String msg = "{type: ORDERING_DISABLED, message: EscalationNotice failed with status 400.}";
+      try {
+         JSON.parse(msg, new JSONHandler() {
+         });
+         Assert.fail("Expected an IOException for a missing comma");
+      } catch (IOException e) {
+         Assert.assertEquals("Missing comma delimiter or an unquoted string value on line 1, near column 58",
+            e.getLocalizedMessage());
+      }
+   }
+}
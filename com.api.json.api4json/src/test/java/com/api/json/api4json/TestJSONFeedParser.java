@@ -0,0 +1,196 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json.api4json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONArtifact;
+import com.api.json.JSONEventReader;
+import com.api.json.JSONEventReader.Event;
+import com.api.json.JSONFeedParser;
+import com.api.json.JSONObject;
+
+/**
+ * JUnit test for the non-blocking {@link JSONFeedParser}
+ */
+public class TestJSONFeedParser {
+
+   @Test
+   public void test() throws Exception {
+      // documents fed in chunks of any size are read as when parsed at once
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      JSONArtifact expected = JSON.parse(bytes);
+      for (int size : new int[] { 1, 7, 100, 8192, bytes.length }) {
+         JSONFeedParser parser = JSON.createFeedParser();
+         JSONArtifact artifact = null;
+         ByteBuffer buffer = ByteBuffer.allocate(size);
+         for (int i = 0; i < bytes.length; i += size) {
+            // the buffer is reused for each chunk
+            buffer.clear();
+            buffer.put(bytes, i, Math.min(size, bytes.length - i)).flip();
+            parser.feed(buffer);
+            Assert.assertFalse(buffer.hasRemaining());
+            JSONArtifact value = parser.nextArtifact();
+            if (value != null) {
+               Assert.assertNull(artifact);
+               artifact = value;
+            }
+         }
+         parser.endOfInput();
+         if (artifact == null) {
+            artifact = parser.nextArtifact();
+         }
+         Assert.assertEquals(expected, artifact);
+         Assert.assertNull(parser.nextArtifact());
+      }
+
+      // events fed a byte at a time are those of an event reader
+      String text = "{\"a\":[1,2.5,\"s\\\"q\"],\"b\":{\"c\":true,\"d\":null},\"e\":false,\n\"f\":\"héllo 😀\"}";
+      List<Event> events = new ArrayList<>();
+      List<Object> values = new ArrayList<>();
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader(text))) {
+         while (reader.hasNext()) {
+            events.add(reader.next());
+            if (reader.getEvent() == Event.KEY_NAME) {
+               values.add(reader.getString());
+            } else if (reader.getEvent().name().startsWith("VALUE_")) {
+               values.add(reader.getValue());
+            }
+         }
+      }
+      JSONFeedParser parser = JSON.createFeedParser();
+      List<Event> fed = new ArrayList<>();
+      List<Object> fedValues = new ArrayList<>();
+      byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+      for (int i = 0; i <= utf8.length; i++) {
+         if (i < utf8.length) {
+            parser.feed(utf8, i, 1);
+         } else {
+            parser.endOfInput();
+         }
+         Event event;
+         while ((event = parser.next()) != null && event != Event.NEED_MORE_INPUT) {
+            fed.add(event);
+            if (event == Event.KEY_NAME) {
+               fedValues.add(parser.getString());
+            } else if (event.name().startsWith("VALUE_")) {
+               fedValues.add(parser.getValue());
+            }
+         }
+      }
+      Assert.assertEquals(events, fed);
+      Assert.assertEquals(values, fedValues);
+      Assert.assertEquals("héllo 😀", fedValues.get(fedValues.size() - 1));
+      Assert.assertEquals(2, parser.getLineNumber());
+
+      // a number is only read once the byte following it has been fed
+      parser = JSON.createFeedParser();
+      parser.feed("[12".getBytes(StandardCharsets.UTF_8), 0, 3);
+      Assert.assertEquals(Event.START_ARRAY, parser.next());
+      Assert.assertEquals(Event.NEED_MORE_INPUT, parser.next());
+      Assert.assertEquals(Event.NEED_MORE_INPUT, parser.next());
+      parser.feed("34, 5".getBytes(StandardCharsets.UTF_8), 0, 5);
+      Assert.assertEquals(Event.VALUE_NUMBER, parser.next());
+      Assert.assertEquals(1234L, parser.getLong());
+      Assert.assertEquals(Event.NEED_MORE_INPUT, parser.next());
+      parser.feed("]".getBytes(StandardCharsets.UTF_8), 0, 1);
+      Assert.assertEquals(Event.VALUE_NUMBER, parser.next());
+      Assert.assertEquals(5L, parser.getLong());
+      Assert.assertEquals(Event.END_ARRAY, parser.next());
+      Assert.assertEquals(Event.NEED_MORE_INPUT, parser.next());
+      parser.endOfInput();
+      Assert.assertNull(parser.next());
+      try {
+         parser.feed(new byte[1], 0, 1);
+         Assert.fail("Expected an IllegalStateException");
+      } catch (IllegalStateException e) {
+         // expected
+      }
+
+      // a final number is read once the end of the input is signaled
+      parser = JSON.createFeedParser();
+      parser.feed(ByteBuffer.wrap("42".getBytes(StandardCharsets.UTF_8)));
+      Assert.assertEquals(Event.NEED_MORE_INPUT, parser.next());
+      parser.endOfInput();
+      Assert.assertEquals(Event.VALUE_NUMBER, parser.next());
+      Assert.assertEquals(42L, parser.getNumber());
+      Assert.assertNull(parser.next());
+   }
+
+   @Test
+   public void testArtifacts() throws Exception {
+      // successive top level values are read as each is completed
+      JSONFeedParser parser = JSON.createFeedParser();
+      parser.feed(ByteBuffer.wrap("{\"a\": [1, {\"b\": \"c\"}]}\n[tr".getBytes(StandardCharsets.UTF_8)));
+      JSONObject jobj = (JSONObject) parser.nextArtifact();
+      Assert.assertEquals(JSON.parse("{\"a\": [1, {\"b\": \"c\"}]}"), jobj);
+      Assert.assertNull(parser.nextArtifact());
+      parser.feed(ByteBuffer.wrap("ue, null]\n".getBytes(StandardCharsets.UTF_8)));
+      JSONArray array = (JSONArray) parser.nextArtifact();
+      Assert.assertEquals(2, array.size());
+      Assert.assertEquals(Boolean.TRUE, array.get(0));
+      Assert.assertNull(array.get(1));
+      parser.endOfInput();
+      Assert.assertNull(parser.nextArtifact());
+
+      // truncated content is reported once the end of the input is signaled
+      parser = JSON.createFeedParser();
+      parser.feed(ByteBuffer.wrap("{\"a\": [1,".getBytes(StandardCharsets.UTF_8)));
+      Assert.assertNull(parser.nextArtifact());
+      parser.endOfInput();
+      try {
+         parser.nextArtifact();
+         Assert.fail("Expected an IOException");
+      } catch (IOException e) {
+         Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Unterminated object on line 1"));
+      }
+
+      // the remainder of an object or array is read by nextArtifact()
+      parser = JSON.createFeedParser();
+      parser.feed(ByteBuffer.wrap("[1]".getBytes(StandardCharsets.UTF_8)));
+      Assert.assertEquals(Event.START_ARRAY, parser.next());
+      try {
+         parser.getValue();
+         Assert.fail("Expected an IllegalStateException");
+      } catch (IllegalStateException e) {
+         // expected
+      }
+      try {
+         parser.nextArtifact();
+         Assert.fail("Expected an IllegalStateException");
+      } catch (IllegalStateException e) {
+         // expected
+      }
+   }
+}
@@ -0,0 +1,128 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.api.json.api4json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONArtifact;
+import com.api.json.JSONLines;
+import com.api.json.JSONObject;
+
+/**
+ * JUnit test for reading and writing JSON Lines
+ */
+public class TestJSONLines {
+
+   @Test
+   public void test() throws Exception {
+      List<JSONArtifact> records = new ArrayList<>();
+      for (int i = 0; i < 50000; i++) {
+         JSONObject record = new JSONObject();
+         record.put("id", i);
+         record.put("message", "line " + i + "\nwith \"quotes\"");
+         if (i % 10 == 0) {
+            JSONArray tags = new JSONArray();
+            tags.add("t" + i);
+            records.add(tags);
+         } else {
+            records.add(record);
+         }
+      }
+      // include a lazily parsed document whose text spans lines
+      records.add(JSON.parseLazy("{\"a\":\n  {\"b\" : [1,\r\n 2]}}"));
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      JSONLines.write(os, records);
+      byte[] bytes = os.toByteArray();
+      String text = new String(bytes, StandardCharsets.UTF_8);
+      Assert.assertEquals(records.size(), text.split("\n").length);
+      Assert.assertTrue(text.startsWith("[\"t0\"]\n{\"id\":1,\"message\":\"line 1\\nwith \\\"quotes\\\"\"}\n"));
+
+      // read one at a time
+      try (Stream<JSONArtifact> read = JSONLines.read(new ByteArrayInputStream(bytes))) {
+         Assert.assertEquals(records, read.collect(Collectors.toList()));
+      }
+
+      // read in parallel, in order or as parsed
+      Path path = Files.createTempFile("TestJSONLines", ".jsonl");
+      try {
+         Files.write(path, bytes);
+         try (Stream<JSONArtifact> read = JSONLines.read(path)) {
+            Assert.assertEquals(records, read.collect(Collectors.toList()));
+         }
+         ForkJoinPool pool = new ForkJoinPool(4);
+         try {
+            try (Stream<JSONArtifact> read = JSONLines.read(path, pool, true)) {
+               Assert.assertEquals(records, read.collect(Collectors.toList()));
+            }
+            try (Stream<JSONArtifact> read = JSONLines.read(new ByteArrayInputStream(bytes), pool, false)) {
+               List<JSONArtifact> unordered = read.collect(Collectors.toList());
+               Assert.assertEquals(records.size(), unordered.size());
+               Assert.assertEquals(new HashSet<>(records), new HashSet<>(unordered));
+            }
+
+            // errors report the line of the document in error
+            byte[] bad = (text + "{\"id\":1}\n{\"id\" 2}\n").getBytes(StandardCharsets.UTF_8);
+            try (Stream<JSONArtifact> read = JSONLines.read(new ByteArrayInputStream(bad), pool, true)) {
+               read.count();
+               Assert.fail("Expected an UncheckedIOException");
+            } catch (UncheckedIOException e) {
+               Assert.assertEquals("Expected ':'; found: -2 on line " + (records.size() + 2) + ", column 6",
+                  e.getCause().getMessage());
+            }
+         } finally {
+            pool.shutdown();
+         }
+      } finally {
+         Files.delete(path);
+      }
+
+      // concatenated documents, blank lines and CRLF line ends
+      try (Stream<JSONArtifact> read = JSONLines.read(
+         new ByteArrayInputStream("{\"a\":1}{\"a\":2}[3]\r\n\r\n  {\"a\":4}".getBytes(StandardCharsets.UTF_8)))) {
+         Assert.assertEquals("[{\"a\":1}, {\"a\":2}, [3], {\"a\":4}]", read.collect(Collectors.toList()).toString());
+      }
+      try (Stream<JSONArtifact> read = JSONLines.read(new ByteArrayInputStream("{}\n\"text\"\n".getBytes(StandardCharsets.UTF_8)))) {
+         read.count();
+         Assert.fail("Expected an UncheckedIOException");
+      } catch (UncheckedIOException e) {
+         Assert.assertTrue(e.getCause().getMessage(),
+            e.getCause().getMessage().startsWith("Document is not a JSONObject or JSONArray. It is a VALUE_STRING"));
+      }
+   }
+}
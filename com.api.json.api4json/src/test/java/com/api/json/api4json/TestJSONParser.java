@@ -0,0 +1,896 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json.api4json;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONArtifact;
+import com.api.json.JSONEventReader;
+import com.api.json.JSONFeedParser;
+import com.api.json.JSONNumber;
+import com.api.json.JSONObject;
+import com.api.json.JSONParser;
+import com.api.json.JSONProjection;
+import com.api.json.JSONStringPool;
+import com.api.json.JSONValidation;
+
+/**
+ * JUnit test for reusing a {@link JSONParser} across calls and threads
+ */
+public class TestJSONParser {
+
+   @Test
+   public void test() throws Exception {
+      JSONParser parser = new JSONParser();
+      // the same parser (and recycled tokenizer) must give the same results
+      for (int i = 0; i < 100; i++) {
+         JSONObject obj = (JSONObject) parser
+            .parse("{\"id\":" + i + ",\"name\":\"n" + i + "\",\"tags\":[true,null]}");
+         Assert.assertEquals(Long.valueOf(i), obj.get("id"));
+         Assert.assertEquals("n" + i, obj.get("name"));
+         JSONArray tags = (JSONArray) obj.get("tags");
+         Assert.assertEquals(Boolean.TRUE, tags.get(0));
+         Assert.assertNull(tags.get(1));
+      }
+      // a failed parse must not leave state behind for the next one
+      try {
+         parser.parse("{\"a\":1 \"b\":2}");
+         Assert.fail("Expected an IOException for a missing comma");
+      } catch (IOException e) {
+         ; // expected
+      }
+      Assert.assertEquals("{\"b\":2}", parser.parse("{\"b\":2}").toString());
+
+      // share one parser across threads
+      ExecutorService pool = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<String>> results = new ArrayList<>();
+         for (int i = 0; i < 200; i++) {
+            final String text = "[{\"k\":\"v" + i + "\"}," + i + "]";
+            results.add(pool.submit(new Callable<String>() {
+               @Override
+               public String call() throws Exception {
+                  return parser.parse(text).toString();
+               }
+            }));
+         }
+         for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals("[{\"k\":\"v" + i + "\"}," + i + "]",
+               results.get(i).get());
+         }
+      } finally {
+         pool.shutdown();
+      }
+   }
+
+   @Test
+   public void testBytes() throws Exception {
+      String[] names = { "jsonParseTestObject.json", "jsonParseTestObjectCR.json",
+         "ExampleWCSWorkspace.json" };
+      for (String name : names) {
+         String filename = "src/test/resources/" + name;
+         JSONArtifact expected = JSON.parse(new FileInputStream(filename));
+         byte[] bytes = Files.readAllBytes(Paths.get(filename));
+         Assert.assertEquals(name, expected, JSON.parse(bytes));
+         // a range within a larger array
+         byte[] padded = new byte[bytes.length + 6];
+         System.arraycopy(bytes, 0, padded, 3, bytes.length);
+         Assert.assertEquals(name, expected, JSON.parse(padded, 3, bytes.length));
+         // a buffer without an accessible array is read through a window
+         ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+         direct.put(bytes).flip();
+         Assert.assertEquals(name, expected, JSON.parse(direct));
+         Assert.assertEquals(name, 0, direct.position());
+         // larger files are memory mapped
+         Assert.assertEquals(name, expected, JSON.parse(Paths.get(filename)));
+      }
+      Assert.assertEquals(JSON.parse(Paths.get("src/test/resources/ExampleWCSWorkspace.json")),
+         JSONObject.parse(Paths.get("src/test/resources/ExampleWCSWorkspace.json")));
+      // multi-byte, supplementary and escaped characters in keys and values
+      String text = "{\"k\u00e9y\":\"\u2122\u849c\u8089 \ud83d\ude00\",\"esc\":\"a\\\"b\\n\\u00e9\"}";
+      JSONObject obj = (JSONObject) JSON
+         .parse(text.getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(JSON.parse(text), obj);
+      Assert.assertEquals("\u2122\u849c\u8089 \ud83d\ude00", obj.get("k\u00e9y"));
+      Assert.assertEquals("a\"b\n\u00e9", obj.get("esc"));
+      // a stream is decoded from its bytes as they arrive, a few at a time
+      byte[] streamed = text.getBytes(StandardCharsets.UTF_8);
+      Assert.assertEquals(obj, JSON.parse(trickle(streamed)));
+      try (JSONEventReader reader = JSON.createEventReader(trickle(streamed))) {
+         reader.next();
+         reader.next();
+         reader.next();
+         Assert.assertEquals("\u2122\u849c\u8089 \ud83d\ude00", reader.getString());
+      }
+      streamed = "[\"\u00e9\u2122\ud83d\ude00\" 2]".getBytes(StandardCharsets.UTF_8);
+      Assert.assertEquals(JSON.validate(streamed).getOffset(), JSON.validate(trickle(streamed)).getOffset());
+      // errors are reported at the same location as for characters
+      String msg = "{type: ORDERING_DISABLED, message: EscalationNotice failed with status 400.}";
+      try {
+         JSON.parse(msg.getBytes(StandardCharsets.UTF_8));
+         Assert.fail("Expected an IOException for a missing comma");
+      } catch (IOException e) {
+         Assert.assertEquals("Missing comma delimiter or an unquoted string value on line 1, near column 58",
+            e.getLocalizedMessage());
+      }
+      // strings, indentation and skipped values are scanned a word of bytes at
+      // a time, so quotes, escapes and multi-byte characters are placed at
+      // every offset within a word
+      String[] pieces = { "a", "\u00e9", "\u2122", "\ud83d\ude00", "\\\"", "\\u00e9" };
+      Path path = Files.createTempFile("TestJSONParser", ".json");
+      try {
+         for (int length = 0; length < 20; length++) {
+            for (String piece : pieces) {
+               StringBuilder sb = new StringBuilder("{\"a\": [\"");
+               for (int i = 0; i < length; i++) {
+                  sb.append('x');
+               }
+               sb.append(piece).append("\", ");
+               for (int i = 0; i < length; i++) {
+                  sb.append(' ');
+               }
+               sb.append("{\"b\": [\"").append(piece).append("\"]}],\n\"c\": 1}");
+               text = sb.toString();
+               byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+               Assert.assertEquals(text, JSON.parse(text), JSON.parse(bytes));
+               Assert.assertTrue(text, JSON.validate(bytes).isValid());
+               // skipping the array ends at the same location as for characters
+               Files.write(path, bytes);
+               try (JSONEventReader chars = JSON.createEventReader(new StringReader(text));
+                  JSONEventReader utf8 = JSON.createEventReader(path)) {
+                  for (JSONEventReader reader : Arrays.asList(chars, utf8)) {
+                     reader.next();
+                     reader.next();
+                     Assert.assertTrue(reader.skipValue());
+                     Assert.assertEquals(JSONEventReader.Event.KEY_NAME, reader.next());
+                  }
+                  Assert.assertEquals(text, chars.getLineNumber(), utf8.getLineNumber());
+                  Assert.assertEquals(text, chars.getColumnNumber(), utf8.getColumnNumber());
+               }
+            }
+         }
+      } finally {
+         Files.delete(path);
+      }
+   }
+
+   @Test
+   public void testChars() throws Exception {
+      String[] names = { "jsonParseTestObject.json", "ExampleWCSWorkspace.json" };
+      for (String name : names) {
+         String text = new String(Files.readAllBytes(Paths.get("src/test/resources/" + name)),
+            StandardCharsets.UTF_8);
+         JSONArtifact expected = JSON.parse(new StringReader(text));
+         Assert.assertEquals(name, expected, JSON.parse(text));
+         Assert.assertEquals(name, expected, JSON.parse(new StringBuilder(text)));
+         char[] padded = ("  " + text + "  ").toCharArray();
+         Assert.assertEquals(name, expected, JSON.parse(padded, 2, text.length()));
+      }
+      String text = "[true,false,null,12,-3.5,abc,\"x\\ty\"]";
+      JSONArray array = (JSONArray) JSON.parse(text.toCharArray());
+      Assert.assertEquals(JSON.parse(new StringReader(text)), array);
+      Assert.assertEquals("abc", array.get(5));
+      Assert.assertEquals("x\ty", array.get(6));
+   }
+
+   @Test
+   public void testLazy() throws Exception {
+      String text = "{\"id\":7,\"big\":{ \"x\" : [1, 2, {\"y\":\"\\\"}\"}] },\n\"list\":[ {\"z\":null} ]}";
+      JSONObject eager = (JSONObject) JSON.parse(text);
+      JSONObject lazy = (JSONObject) JSON.parseLazy(text);
+      Assert.assertEquals(Long.valueOf(7), lazy.get("id"));
+      // untouched subtrees serialize their original text
+      Assert.assertEquals("{\"big\":{ \"x\" : [1, 2, {\"y\":\"\\\"}\"}] },\"id\":7,\"list\":[ {\"z\":null} ]}",
+         lazy.toString());
+      JSONArray list = (JSONArray) lazy.get("list");
+      Assert.assertEquals(1, list.size());
+      Assert.assertEquals("{\"big\":{ \"x\" : [1, 2, {\"y\":\"\\\"}\"}] },\"id\":7,\"list\":[{\"z\":null}]}",
+         lazy.toString());
+      Assert.assertEquals(eager.serialize(true), lazy.serialize(true));
+      Assert.assertEquals(eager, lazy);
+      Assert.assertEquals(eager.toString(), lazy.toString());
+
+      // the same from bytes, and for a larger document
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      JSONArtifact expected = JSON.parse(bytes);
+      Assert.assertEquals(expected, JSON.parseLazy(bytes));
+      Assert.assertEquals(expected, new JSONParser().parseLazy(new String(bytes, StandardCharsets.UTF_8).toCharArray()));
+      // verbatim copies keep the original key order, but the content is the same
+      Assert.assertEquals(expected, JSON.parse(JSON.parseLazy(bytes).toString()));
+
+      // errors in a subtree are reported once it is accessed, as JSON.parse would
+      JSONObject bad = (JSONObject) JSON.parseLazy("{\"a\":1,\n\"b\":{\"c\" 2}}");
+      Assert.assertEquals(Long.valueOf(1), bad.get("a"));
+      try {
+         bad.get("b").hashCode();
+         Assert.fail("Expected an error parsing b");
+      } catch (UncheckedIOException e) {
+         Assert.assertEquals("Expected ':'; found: -2 on line 2, column 9", e.getCause().getLocalizedMessage());
+      }
+      try {
+         JSON.parse("{\"a\":1,\n\"b\":{\"c\" 2}}");
+         Assert.fail("Expected an error parsing b");
+      } catch (IOException e) {
+         Assert.assertEquals("Expected ':'; found: -2 on line 2, column 9", e.getLocalizedMessage());
+      }
+      // the error is reported again on every later access, with no partial content
+      JSONObject partial = (JSONObject) JSON.parseLazy("{\"x\":{\"a\":1,\"b\":2 \"c\":3},\"y\":[1,2 3]}");
+      for (String key : new String[] { "x", "y" }) {
+         Object subtree = partial.get(key);
+         String message = null;
+         for (int i = 0; i < 3; i++) {
+            try {
+               if (subtree instanceof JSONObject) {
+                  ((JSONObject) subtree).size();
+               } else {
+                  ((JSONArray) subtree).size();
+               }
+               Assert.fail("Expected an error parsing " + key);
+            } catch (UncheckedIOException e) {
+               if (message == null) {
+                  message = e.getCause().getLocalizedMessage();
+               }
+               Assert.assertEquals(message, e.getCause().getLocalizedMessage());
+            }
+         }
+         try {
+            subtree.toString();
+            Assert.fail("Expected an error serializing " + key);
+         } catch (UncheckedIOException e) {
+            Assert.assertEquals(message, e.getCause().getLocalizedMessage());
+         }
+      }
+      // but unterminated subtrees are found right away
+      try {
+         JSON.parseLazy("{\"a\":[1,{\"b\":2}");
+         Assert.fail("Expected an unterminated array");
+      } catch (IOException e) {
+         Assert.assertTrue(e.getLocalizedMessage().startsWith("Unterminated object on line 1"));
+      }
+   }
+
+   @Test
+   public void testLocationPolicy() throws Exception {
+      JSONParser parser = new JSONParser(JSONParser.NumberPolicy.DOUBLE, null,
+         JSONParser.LocationPolicy.OFFSET);
+      Assert.assertEquals(JSONParser.LocationPolicy.OFFSET, parser.getLocationPolicy());
+      Assert.assertEquals(JSONParser.LocationPolicy.LINE_COLUMN,
+         new JSONParser().getLocationPolicy());
+      // content is read the same without tracking its location
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      String text = new String(bytes, StandardCharsets.UTF_8);
+      JSONArtifact expected = JSON.parse(bytes);
+      Assert.assertEquals(expected, parser.parse(bytes));
+      Assert.assertEquals(expected, parser.parse(text));
+      Assert.assertEquals(expected, parser.parse(new StringReader(text)));
+
+      // the line and column of an error computed from the offset are those the
+      // tokenizer counts while tracking them, for every kind of input
+      JSONParser tracking = new JSONParser(JSONParser.NumberPolicy.DOUBLE, null,
+         JSONParser.LocationPolicy.LINE_COLUMN);
+      StringBuilder sb = new StringBuilder("[\n");
+      for (int i = 0; i < 2000; i++) {
+         sb.append("  {\"k\": ").append(i).append("},\n");
+      }
+      sb.append("  {\"k\" 1}\n]");
+      String[] bad = {
+         "{\n  \"a\": \"\u00e9\ud83d\ude00\",\n  \"b\": 2 \"c\": 3\n}",
+         "[1,\n2 3]",
+         "{\r\n  \"a\": 1,\r\n  \"b\" 2\r\n}",
+         "[1,\r2,\r\"x\" 3]",
+         "[\"\ud83d\ude00\" \"\ud83d\ude00\"]",
+         "{\"a\": 1,\n\n  \"b\"\t2}",
+         "[1, 2",
+         sb.toString()
+      };
+      for (String invalid : bad) {
+         byte[] utf8 = invalid.getBytes(StandardCharsets.UTF_8);
+         String message = parseError(tracking, invalid);
+         Assert.assertNotNull(invalid, message);
+         Assert.assertEquals(message, parseError(parser, invalid));
+         Assert.assertEquals(message, parseError(parser, utf8));
+         Assert.assertEquals(message, parseError(parser, new StringReader(invalid)));
+         Assert.assertEquals(message, parseError(parser, new ByteArrayInputStream(utf8)));
+      }
+
+      // an event reader reports the offset read, and the line and column a
+      // tracking reader reports
+      try (JSONEventReader reader = parser.createEventReader("[1,\n 22]");
+            JSONEventReader expecting = tracking.createEventReader("[1,\n 22]")) {
+         reader.next();
+         reader.next();
+         Assert.assertEquals(2L, reader.getOffset());
+         reader.next();
+         expecting.next();
+         expecting.next();
+         expecting.next();
+         Assert.assertEquals(2, reader.getLineNumber());
+         Assert.assertEquals(expecting.getLineNumber(), reader.getLineNumber());
+         Assert.assertEquals(expecting.getColumnNumber(), reader.getColumnNumber());
+         Assert.assertEquals(7L, reader.getOffset());
+      }
+   }
+
+   /**
+    * Provides a stream of the supplied bytes whose next read fails once they
+    * have all been read
+    */
+   private static InputStream failing(byte[] bytes) {
+      return new InputStream() {
+         private int _pos = 0;
+
+         @Override
+         public int read() throws IOException {
+            if (_pos == bytes.length) {
+               throw new IOException("Connection reset");
+            }
+            return bytes[_pos++] & 0xFF;
+         }
+      };
+   }
+
+   /**
+    * Provides a stream of the supplied bytes returning at most 3 bytes from
+    * each read, so multi-byte characters are split across reads.
+    */
+   private static InputStream trickle(byte[] bytes) {
+      return new ByteArrayInputStream(bytes) {
+         @Override
+         public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 3));
+         }
+      };
+   }
+
+   /**
+    * Parses the given text, byte array, Reader or InputStream and returns the
+    * message of the error reported, or null when it is read.
+    */
+   private static String parseError(JSONParser parser, Object input) {
+      try {
+         if (input instanceof String) {
+            parser.parse((String) input);
+         } else if (input instanceof byte[]) {
+            parser.parse((byte[]) input);
+         } else if (input instanceof Reader) {
+            parser.parse((Reader) input);
+         } else {
+            parser.parse((InputStream) input);
+         }
+         return null;
+      } catch (IOException e) {
+         return e.getMessage();
+      }
+   }
+
+   @Test
+   public void testMaxDepth() throws Exception {
+      Assert.assertEquals(JSONParser.DEFAULT_MAX_DEPTH, new JSONParser().getMaxDepth());
+      // nesting far beyond what recursion on the stack allows is read
+      int depth = 200000;
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < depth; i++) {
+         sb.append(i % 2 == 0 ? "[" : "{\"a\":");
+      }
+      sb.append("1");
+      for (int i = depth - 1; i >= 0; i--) {
+         sb.append(i % 2 == 0 ? "]" : "}");
+      }
+      String deep = sb.toString();
+      JSONParser unlimited = new JSONParser(JSONParser.NumberPolicy.DOUBLE, null,
+         JSONParser.LocationPolicy.LINE_COLUMN, Integer.MAX_VALUE);
+      Object value = unlimited.parse(deep);
+      for (int i = 0; i < depth; i++) {
+         value = (i % 2 == 0 ? ((JSONArray) value).get(0) : ((JSONObject) value).get("a"));
+      }
+      Assert.assertEquals(Long.valueOf(1L), value);
+
+      // the default limit rejects it
+      try {
+         JSON.parse(deep);
+         Assert.fail("Expected an IOException for exceeding the maximum depth");
+      } catch (IOException e) {
+         Assert.assertEquals("Nesting exceeds the maximum depth of 1000 on line 1, column 3001",
+            e.getMessage());
+      }
+      JSONParser shallow = new JSONParser(JSONParser.NumberPolicy.DOUBLE, null,
+         JSONParser.LocationPolicy.LINE_COLUMN, 2);
+      Assert.assertEquals("[[1],{\"a\":2}]", shallow.parse("[[1],{\"a\":2}]").toString());
+      try {
+         shallow.parse("[[1],{\"a\":[]}]");
+         Assert.fail("Expected an IOException for exceeding the maximum depth");
+      } catch (IOException e) {
+         Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Nesting exceeds the maximum depth of 2"));
+      }
+      // the limit also applies to the events read
+      try (JSONEventReader reader = shallow.createEventReader("[[[1]]]")) {
+         Assert.assertEquals(JSONEventReader.Event.START_ARRAY, reader.next());
+         Assert.assertEquals(JSONEventReader.Event.START_ARRAY, reader.next());
+         reader.next();
+         Assert.fail("Expected an IOException for exceeding the maximum depth");
+      } catch (IOException e) {
+         Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Nesting exceeds the maximum depth of 2"));
+      }
+      try {
+         new JSONParser(JSONParser.NumberPolicy.DOUBLE, null, JSONParser.LocationPolicy.LINE_COLUMN, 0);
+         Assert.fail("Expected an IllegalArgumentException");
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+   @Test
+   public void testNumbers() throws Exception {
+      JSONArray array = (JSONArray) JSON.parse("[0,-0,7,-12,9223372036854775807,-9223372036854775808,"
+         + "9223372036854775808,9007199254740993,1.5,-0.25,1e2,1E+2,1e-2,2.5e3,.5,5.,007,0.1,"
+         + "123456789012345678901234.5,1e400,3.141592653589793238,-0.0]");
+      Object[] expected = { 0L, 0L, 7L, -12L, Long.MAX_VALUE, Long.MIN_VALUE, 9223372036854775808.0d,
+         9007199254740993L, 1.5d, -0.25d, 100L, 100L, 0.01d, 2500.0d, 0.5d, 5.0d, 7L, 0.1d,
+         123456789012345678901234.5d, Double.POSITIVE_INFINITY, Math.PI, -0.0d };
+      Assert.assertEquals(Arrays.asList(expected), array);
+
+      // words that are not numbers remain Strings
+      array = (JSONArray) JSON.parse("[1x, -, NaN, 1e, 2nd, 1.2.3, 1e+5, -1E-5]");
+      Assert.assertEquals(Arrays.asList("1x", "-", "NaN", "1e", "2nd", "1.2.3", 100000L, -1.0E-5d), array);
+
+      // fractions and exponents are converted exactly
+      Random random = new Random(42L);
+      StringBuilder sb = new StringBuilder("[");
+      List<Double> values = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+         double value = Double.longBitsToDouble(random.nextLong());
+         if (Double.isNaN(value) || Double.isInfinite(value)) {
+            continue;
+         }
+         String text = (i % 2 == 0 ? Double.toString(value) : String.format("%.6e", value));
+         values.add(Double.parseDouble(text));
+         sb.append(text).append(',');
+         double small = random.nextInt(1000000) / 1000.0d;
+         values.add(small);
+         sb.append(small).append(',');
+      }
+      sb.setCharAt(sb.length() - 1, ']');
+      array = (JSONArray) JSON.parse(sb.toString());
+      Assert.assertEquals(values.size(), array.size());
+      for (int i = 0; i < values.size(); i++) {
+         Assert.assertEquals(values.get(i), ((Number) array.get(i)).doubleValue(), 0.0d);
+      }
+
+      // the event reader provides the values without boxing them
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader("[9007199254740993, 2.5e-3]"))) {
+         reader.next();
+         reader.next();
+         Assert.assertTrue(reader.isIntegralNumber());
+         Assert.assertEquals(9007199254740993L, reader.getLong());
+         Assert.assertEquals("9007199254740993", reader.getString());
+         reader.next();
+         Assert.assertFalse(reader.isIntegralNumber());
+         Assert.assertEquals(0.0025d, reader.getDouble(), 0.0d);
+      }
+   }
+
+   @Test
+   public void testNumberPolicy() throws Exception {
+      String text = "{\"id\":12345678901234567890123,\"big\":9223372036854775808,\"n\":42,"
+         + "\"price\":0.10,\"e\":1.50E+3,\"tiny\":1e-400}";
+
+      // exact numbers keep every digit
+      JSONParser exact = new JSONParser(JSONParser.NumberPolicy.EXACT);
+      Assert.assertEquals(JSONParser.NumberPolicy.EXACT, exact.getNumberPolicy());
+      JSONObject jobj = (JSONObject) exact.parse(text);
+      Assert.assertEquals(new BigInteger("12345678901234567890123"), jobj.get("id"));
+      Assert.assertEquals(new BigInteger("9223372036854775808"), jobj.get("big"));
+      Assert.assertEquals(42L, jobj.get("n"));
+      Assert.assertEquals(new BigDecimal("0.10"), jobj.get("price"));
+      Assert.assertEquals(new BigDecimal("1.50E+3"), jobj.get("e"));
+      Assert.assertEquals(new BigDecimal("1e-400"), jobj.get("tiny"));
+      Assert.assertEquals(jobj, exact.parse(jobj.toString()));
+
+      // lazy numbers keep their text, and are only converted when asked
+      JSONParser lazy = new JSONParser(JSONParser.NumberPolicy.LAZY);
+      jobj = (JSONObject) lazy.parse(text);
+      JSONNumber id = (JSONNumber) jobj.get("id");
+      Assert.assertEquals("12345678901234567890123", id.toString());
+      Assert.assertEquals(new BigInteger("12345678901234567890123"), id.bigIntegerValue());
+      Assert.assertTrue(id.isInteger());
+      Assert.assertEquals(42L, ((JSONNumber) jobj.get("n")).longValue());
+      Assert.assertEquals(1500, ((JSONNumber) jobj.get("e")).intValue());
+      Assert.assertEquals(0.1d, ((JSONNumber) jobj.get("price")).doubleValue(), 0.0d);
+      Assert.assertEquals(JSONNumber.valueOf("1.5e3"), jobj.get("e"));
+      Assert.assertEquals(JSONNumber.valueOf("1.5e3").hashCode(), jobj.get("e").hashCode());
+      // and are serialized byte for byte
+      Assert.assertEquals("{\"big\":9223372036854775808,\"e\":1.50E+3,\"id\":12345678901234567890123,"
+         + "\"n\":42,\"price\":0.10,\"tiny\":1e-400}", jobj.toString());
+      // including those in objects read lazily
+      JSONArray array = (JSONArray) lazy.parseLazy(("[" + text + "]").getBytes(StandardCharsets.UTF_8));
+      jobj = (JSONObject) array.get(0);
+      Assert.assertEquals("1.50E+3", jobj.get("e").toString());
+      try (JSONEventReader reader = lazy.createEventReader(text)) {
+         reader.next();
+         reader.next();
+         Assert.assertEquals(JSONEventReader.Event.VALUE_NUMBER, reader.next());
+         Assert.assertEquals("12345678901234567890123", reader.getString());
+         Assert.assertEquals(id, reader.getNumber());
+      }
+
+      // exact values may be stored without being converted to doubles
+      jobj = new JSONObject();
+      jobj.put("big", new BigInteger("123456789012345678901234567890"));
+      jobj.put("dec", new BigDecimal("0.1000000000000000000001"));
+      jobj.put("lazy", JSONNumber.valueOf("98765432109876543210"));
+      array = new JSONArray();
+      array.add(new BigInteger("18446744073709551615"));
+      jobj.put("array", array);
+      Assert.assertEquals("{\"array\":[18446744073709551615],\"big\":123456789012345678901234567890,"
+         + "\"dec\":0.1000000000000000000001,\"lazy\":98765432109876543210}", jobj.toString());
+      for (String invalid : new String[] { "12abc", "+5", ".5", "5.", "01", "-", "1e", "1.5e+" }) {
+         try {
+            JSONNumber.valueOf(invalid);
+            Assert.fail("Expected a NumberFormatException for " + invalid);
+         } catch (NumberFormatException e) {
+            // expected
+         }
+      }
+
+      // numbers accepted beyond the JSON grammar are written as JSON numbers
+      String loose = "[.5,5.,-.5,01,-00.25,5.e3,0,-0.0,1E+2]";
+      array = (JSONArray) lazy.parse(loose);
+      String canonical = "[0.5,5.0,-0.5,1,-0.25,5.0e3,0,-0.0,1E+2]";
+      Assert.assertEquals(canonical, array.toString());
+      Assert.assertEquals(canonical, lazy.parse(canonical).toString());
+      Assert.assertEquals(JSON.parse(loose), JSON.parse(array.toString()));
+      Assert.assertEquals(0.5d, ((JSONNumber) array.get(0)).doubleValue(), 0.0d);
+      Assert.assertFalse(((JSONNumber) array.get(1)).isInteger());
+
+      // the default policy is unchanged
+      jobj = (JSONObject) JSON.parse(text);
+      Assert.assertEquals(9223372036854775808.0d, jobj.get("big"));
+      Assert.assertEquals(1500.0d, jobj.get("e"));
+   }
+
+   @Test
+   public void testKeys() throws Exception {
+      // records share the Strings of their keys, however they are parsed
+      String filename = "src/test/resources/ExampleWCSWorkspace.json";
+      byte[] bytes = Files.readAllBytes(Paths.get(filename));
+      String text = new String(bytes, StandardCharsets.UTF_8);
+      JSONParser parser = new JSONParser();
+      List<JSONArtifact> parsed = new ArrayList<>();
+      parsed.add(parser.parse(bytes));
+      parsed.add(parser.parse(text));
+      parsed.add(parser.parse(new StringReader(text)));
+      parsed.add(parser.parseLazy(bytes));
+      parsed.add(parser.parseLazy(text.toCharArray()));
+      try (JSONEventReader reader = parser.createEventReader(text)) {
+         reader.next();
+         parsed.add(reader.getObject());
+      }
+      for (JSONArtifact artifact : parsed) {
+         Assert.assertEquals(parsed.get(0), artifact);
+         JSONArray entities = (JSONArray) ((JSONObject) artifact).get("entities");
+         Assert.assertTrue(entities.size() > 1);
+         List<String> keys = new ArrayList<>(((JSONObject) entities.get(0)).keySet());
+         for (Object entity : entities) {
+            for (String key : ((JSONObject) entity).keySet()) {
+               Assert.assertSame(key, keys.get(keys.indexOf(key)));
+            }
+         }
+      }
+
+      // keys with escapes or beyond the table's limits are read as before
+      StringBuilder sb = new StringBuilder("[");
+      for (int i = 0; i < 3000; i++) {
+         sb.append("{\"k").append(i % 1500).append("\":1,\"tab\\tkey\":2,\"")
+            .append(String.join("", Collections.nCopies(10, "long key "))).append("\":3,\"\u00e9t\u00e9\":4},");
+      }
+      sb.setCharAt(sb.length() - 1, ']');
+      JSONArray array = (JSONArray) parser.parse(sb.toString().getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(JSON.parse(new StringReader(sb.toString())), array);
+      for (int i = 0; i < 3000; i++) {
+         JSONObject jobj = (JSONObject) array.get(i);
+         Assert.assertEquals(4, jobj.size());
+         Assert.assertEquals(1L, jobj.get("k" + (i % 1500)));
+         Assert.assertEquals(2L, jobj.get("tab\tkey"));
+         Assert.assertEquals(4L, jobj.get("\u00e9t\u00e9"));
+      }
+      // escaped keys are shared too
+      List<String> first = new ArrayList<>(((JSONObject) array.get(0)).keySet());
+      for (String key : ((JSONObject) array.get(1)).keySet()) {
+         if (key.startsWith("tab")) {
+            Assert.assertSame(first.get(first.indexOf(key)), key);
+         }
+      }
+   }
+
+   @Test
+   public void testParseParallel() throws Exception {
+      // a document large enough to be split at several levels
+      StringBuilder sb = new StringBuilder("{\"name\": \"large\",\n\"records\": [\n");
+      for (int i = 0; i < 20000; i++) {
+         sb.append("{\"id\": ").append(i).append(", \"tags\": [\"a\", \"b\"], \"nested\": {\"x\": ")
+            .append(i / 7.0).append(", \"y\": [").append(i).append(", null, true]}, \"text\": \"n\\u00e9")
+            .append(i).append("\"},\n");
+      }
+      sb.append("[1, 2, {\"z\": \"\u00e9\"}], 42, \"last\"],\n\"index\": {");
+      for (int i = 0; i < 5000; i++) {
+         sb.append("\"k").append(i).append("\": {\"v\": [").append(i).append("]}, ");
+      }
+      sb.append("\"k0\": 0},\n\"count\": 20000}\n");
+      String text = sb.toString();
+      byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+      JSONObject expected = (JSONObject) JSON.parse(bytes);
+      ForkJoinPool pool = new ForkJoinPool(4);
+      try {
+         JSONObject jobj = (JSONObject) JSON.parseParallel(bytes, pool);
+         Assert.assertEquals(expected, jobj);
+         Assert.assertEquals(expected.toString(), jobj.toString());
+         Assert.assertEquals(20003, ((JSONArray) jobj.get("records")).size());
+         // duplicate keys keep the last value
+         Assert.assertEquals(0L, ((JSONObject) jobj.get("index")).get("k0"));
+         Assert.assertEquals(expected, JSON.parseParallel(text, pool));
+         Assert.assertEquals(expected, new JSONParser().parseParallel(text.toCharArray(), pool));
+         JSONParser exact = new JSONParser(JSONParser.NumberPolicy.EXACT);
+         Assert.assertEquals(exact.parse(bytes), exact.parseParallel(bytes, pool));
+         // small documents are parsed by a single task
+         Assert.assertEquals(JSON.parse("[1, {\"a\": 2}]"), JSON.parseParallel(" [1, {\"a\": 2}] ", pool));
+         Assert.assertEquals(new JSONArray(), JSON.parseParallel("[]", pool));
+
+         // errors report the same location as a sequential parse
+         String bad = text.replace("\"id\": 15000,", "\"id\": 15000");
+         String message = null;
+         try {
+            JSON.parse(bad);
+            Assert.fail("Expected an IOException");
+         } catch (IOException e) {
+            message = e.getMessage();
+         }
+         Assert.assertTrue(message, message.contains("line 15003"));
+         try {
+            JSON.parseParallel(bad.getBytes(StandardCharsets.UTF_8), pool);
+            Assert.fail("Expected an IOException");
+         } catch (IOException e) {
+            Assert.assertEquals(message, e.getMessage());
+         }
+         try {
+            JSON.parseParallel(text.substring(0, text.length() - 2), pool);
+            Assert.fail("Expected an IOException");
+         } catch (IOException e) {
+            // expected
+         }
+         try {
+            JSON.parseParallel("\"scalar\"", pool);
+            Assert.fail("Expected an IOException");
+         } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Does not parse as a JSONObject or JSONArray"));
+         }
+      } finally {
+         pool.shutdown();
+      }
+   }
+
+   @Test
+   public void testStringPool() throws Exception {
+      // documents parsed by parsers sharing a pool share their values
+      String filename = "src/test/resources/ExampleWCSWorkspace.json";
+      byte[] bytes = Files.readAllBytes(Paths.get(filename));
+      Assert.assertEquals(JSONStringPool.DEFAULT_CAPACITY, new JSONStringPool().getCapacity());
+      JSONStringPool pool = new JSONStringPool(1 << 14, 32);
+      JSONParser first = new JSONParser(JSONParser.NumberPolicy.DOUBLE, pool);
+      JSONParser second = new JSONParser(JSONParser.NumberPolicy.LAZY, pool);
+      Assert.assertSame(pool, second.getStringPool());
+      Assert.assertNull(new JSONParser().getStringPool());
+      JSONObject one = (JSONObject) first.parse(bytes);
+      long misses = pool.getMisses();
+      Assert.assertTrue(misses > 0);
+      JSONObject two = (JSONObject) second.parse(new String(bytes, StandardCharsets.UTF_8));
+      Assert.assertEquals(JSON.parse(bytes), one);
+      // nearly all of the second document's values are found
+      Assert.assertTrue(pool.getMisses() - misses < misses / 20);
+      Assert.assertTrue(pool.getHits() > misses);
+      JSONObject entity1 = (JSONObject) ((JSONArray) one.get("entities")).get(0);
+      JSONObject entity2 = (JSONObject) ((JSONArray) two.get("entities")).get(0);
+      Assert.assertEquals("2018-05-08T22:40:11.156Z", entity1.get("created"));
+      Assert.assertSame(entity1.get("created"), entity2.get("created"));
+      Assert.assertSame(entity1.get("created"), pool.intern(new String("2018-05-08T22:40:11.156Z")));
+      // long values are not pooled
+      Assert.assertNotSame(one.get("description"), two.get("description"));
+      Assert.assertTrue(pool.toString().startsWith("JSONStringPool[capacity=16384, maxLength=32, hits="));
+
+      // a small pool replaces values but reads every value correctly
+      pool = new JSONStringPool(3, 8);
+      Assert.assertEquals(4, pool.getCapacity());
+      Assert.assertEquals(8, pool.getMaxLength());
+      JSONParser parser = new JSONParser(JSONParser.NumberPolicy.DOUBLE, pool);
+      StringBuilder sb = new StringBuilder("[");
+      for (int i = 0; i < 1000; i++) {
+         sb.append("\"v").append(i % 37).append("\",\"hot\",\"esc\\u0041\",");
+      }
+      sb.setCharAt(sb.length() - 1, ']');
+      JSONArray array = (JSONArray) parser.parse(sb.toString());
+      Assert.assertEquals(JSON.parse(sb.toString()), array);
+      Assert.assertEquals(3000, pool.getHits() + pool.getMisses());
+      // the value found most often keeps its place
+      Assert.assertSame(array.get(1), array.get(2998));
+      pool.clear();
+      Assert.assertEquals(0L, pool.getHits() + pool.getMisses());
+      try {
+         new JSONStringPool(0, 8);
+         Assert.fail("Expected an IllegalArgumentException");
+      } catch (IllegalArgumentException e) {
+         // expected
+      }
+
+      // a pool may be shared across threads
+      JSONStringPool shared = new JSONStringPool(64, 32);
+      JSONParser sharing = new JSONParser(JSONParser.NumberPolicy.DOUBLE, shared);
+      JSONArtifact expected = JSON.parse(bytes);
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<JSONArtifact>> results = new ArrayList<>();
+         for (int i = 0; i < 16; i++) {
+            results.add(executor.submit(() -> sharing.parse(bytes)));
+         }
+         for (Future<JSONArtifact> result : results) {
+            Assert.assertEquals(expected, result.get());
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void testValidate() throws Exception {
+      // documents parsed without error are valid in every form
+      byte[] bytes = Files.readAllBytes(Paths.get("src/test/resources/ExampleWCSWorkspace.json"));
+      String text = new String(bytes, StandardCharsets.UTF_8);
+      Assert.assertSame(JSONValidation.VALID, JSON.validate(bytes));
+      Assert.assertSame(JSONValidation.VALID, JSON.validate(text));
+      Assert.assertSame(JSONValidation.VALID, JSON.validate(new StringReader(text)));
+      Assert.assertSame(JSONValidation.VALID, JSON.validate(new ByteArrayInputStream(bytes)));
+      Assert.assertSame(JSONValidation.VALID, JSON.validate(Paths.get("src/test/resources/ExampleWCSWorkspace.json")));
+      Assert.assertTrue(new JSONParser().validate(text.toCharArray()).isValid());
+      String lenient = "{\"a\": [1, -2.5e3, \"s\\\"\\u00e9\", true, null, word],\n\"b\": {\"c\": {}},}";
+      JSON.parse(lenient);
+      Assert.assertTrue(JSON.validate(lenient).isValid());
+
+      // errors are those thrown by the parser, located where they are found
+      String[] invalid = { "{\"a\": 1 \"b\": 2}", "[1, 2", "{\"a\" 1}", "{null: 1}",
+         "{[1]: 2}", "[1, :]", "{\"a\": [1,\n 2 3]}" };
+      for (String content : invalid) {
+         try {
+            JSON.parse(content);
+            Assert.fail("Expected an IOException for " + content);
+         } catch (IOException e) {
+            JSONValidation validation = JSON.validate(content);
+            Assert.assertFalse(validation.isValid());
+            Assert.assertEquals(e.getMessage(), validation.getMessage());
+            Assert.assertEquals(e.getMessage(), validation.getMessage(),
+               JSON.validate(content.getBytes(StandardCharsets.UTF_8)).getMessage());
+         }
+      }
+      JSONValidation validation = JSON.validate("{\"a\": 1,\n \"b\": 2 3}");
+      Assert.assertEquals(2, validation.getLineNumber());
+      Assert.assertEquals(18L, validation.getOffset());
+      Assert.assertTrue(validation.toString(), validation.toString().startsWith("invalid at offset 18: "));
+
+      // only an object or array is valid
+      Assert.assertEquals("Does not parse as a JSONObject or JSONArray. It has no content",
+         JSON.validate(" \n").getMessage());
+      Assert.assertFalse(JSON.validate("\"a\"").isValid());
+      Assert.assertFalse(JSON.validate("42").isValid());
+
+      // the parser's depth limit applies
+      Assert.assertFalse(new JSONParser(JSONParser.NumberPolicy.DOUBLE, null,
+         JSONParser.LocationPolicy.LINE_COLUMN, 2).validate("[[[1]]]").isValid());
+
+      // an error reading the input is thrown rather than reported as invalid
+      byte[] partial = "{\"a\": [1, 2".getBytes(StandardCharsets.UTF_8);
+      try {
+         JSON.validate(failing(partial));
+         Assert.fail("Expected an IOException reading the stream");
+      } catch (IOException e) {
+         Assert.assertEquals("Connection reset", e.getMessage());
+      }
+      try {
+         JSON.validate(new InputStreamReader(failing(partial), StandardCharsets.UTF_8));
+         Assert.fail("Expected an IOException reading the reader");
+      } catch (IOException e) {
+         Assert.assertEquals("Connection reset", e.getMessage());
+      }
+   }
+
+   @Test
+   public void testLineEnds() throws Exception {
+      // blank lines, and line ends standing in for commas, are read alike by
+      // every kind of parse
+      String[][] cases = { { "\n\n\t[1]", "[1]" },
+         { "\r\n\t {\"a\":\n\n\t1}", "{\"a\":1}" },
+         { "{\"a\"\n\n:1}", "{\"a\":1}" },
+         { "[1\n\n2]", "[1,2]" },
+         { "[1\n\n,2]", "[1,2]" },
+         { "{\"a\":1\n\n\"b\":2}", "{\"a\":1,\"b\":2}" },
+         { "{\"a\":1\r\n\t,\"b\":[\n\n]}", "{\"a\":1,\"b\":[]}" } };
+      JSONParser parser = new JSONParser();
+      for (String[] pair : cases) {
+         String text = pair[0];
+         JSONArtifact expected = JSON.parse(pair[1]);
+         Assert.assertEquals(text, expected, JSON.parse(text));
+         Assert.assertEquals(text, expected, JSON.parse(text.getBytes(StandardCharsets.UTF_8)));
+         Assert.assertTrue(text, JSON.validate(text).isValid());
+         Assert.assertEquals(text, expected, parser.parse(text, new JSONProjection("/*")));
+         JSONFeedParser feed = parser.createFeedParser();
+         feed.feed(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+         feed.endOfInput();
+         Assert.assertEquals(text, expected, feed.nextArtifact());
+         try (JSONEventReader reader = parser.createEventReader(text)) {
+            int values = 0;
+            while (reader.hasNext()) {
+               if (reader.next() == JSONEventReader.Event.VALUE_NUMBER) {
+                  values++;
+               }
+            }
+            Assert.assertEquals(text, pair[1].replaceAll("[^0-9]", "").length(), values);
+         }
+         try (JSONEventReader reader = parser.createEventReader(text)) {
+            if (reader.next() == JSONEventReader.Event.START_OBJECT) {
+               while (reader.next() == JSONEventReader.Event.KEY_NAME) {
+                  Assert.assertTrue(text, reader.skipValue());
+               }
+               Assert.assertEquals(text, JSONEventReader.Event.END_OBJECT, reader.getEvent());
+            } else {
+               while (reader.skipValue()) {
+                  // skip every element
+               }
+               Assert.assertEquals(text, JSONEventReader.Event.END_ARRAY, reader.next());
+            }
+         }
+      }
+   }
+}
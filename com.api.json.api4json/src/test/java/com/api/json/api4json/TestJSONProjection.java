@@ -0,0 +1,117 @@
+/**
+ * (c) Copyright 2018-2023 IBM Corporation
+ * 1 New Orchard Road, 
+ * Armonk, New York, 10504-1722
+ * United States
+ * +1 914 499 1900
+ * Nathaniel Mills wnm3@us.ibm.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.api.json.api4json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+import com.api.json.JSON;
+import com.api.json.JSONArray;
+import com.api.json.JSONEventReader;
+import com.api.json.JSONEventReader.Event;
+import com.api.json.JSONObject;
+import com.api.json.JSONProjection;
+
+/**
+ * JUnit test for parsing with a {@link JSONProjection}
+ */
+public class TestJSONProjection {
+
+   @Test
+   public void test() throws Exception {
+      String text = "{\"id\":7, \"skip\" : {\"a\":[1,{\"b\":\"]}\\\"\"}],\n\"c\":x},\n"
+         + "\"items\":[{\"name\":\"n1\",\"tags\":[\"t1\",\"t2\"],\"n\":1.5},\n {\"name\":\"n2\",\"n\":-2},\n \"word\", 3],"
+         + "\"a/b\":{\"~\":true}, \"last\":null}";
+      Assert.assertEquals(JSON.parse(text), JSON.parse(text, new JSONProjection("")));
+      Assert.assertEquals("{\"id\":7}", JSON.parse(text, new JSONProjection("/id")).toString());
+      Assert.assertEquals("{\"items\":[{\"name\":\"n1\"},{\"name\":\"n2\"}]}",
+         JSON.parse(text, new JSONProjection("/items/*/name")).toString());
+      Assert.assertEquals("{\"items\":[{\"tags\":[\"t2\"]},{}]}",
+         JSON.parse(new StringReader(text), new JSONProjection("/items/*/tags/1")).toString());
+      Assert.assertEquals("{\"items\":[{\"tags\":[\"t2\"]},{}]}",
+         JSON.parse(text.getBytes(StandardCharsets.UTF_8), new JSONProjection("/items/*/tags/1")).toString());
+      Assert.assertEquals("{\"items\":[{\"n\":1.5}]}",
+         JSON.parse(text, new JSONProjection("/items/0/n")).toString());
+      Assert.assertEquals("{\"a/b\":{\"~\":true},\"last\":null,\"skip\":{\"c\":\"x\"}}",
+         JSON.parse(text, new JSONProjection("/skip/c", "/a~1b/~0", "/last")).toString());
+      Assert.assertEquals("[{\"name\":\"n2\"},\"word\"]",
+         JSON.parse("[{\"name\":\"n1\"},{\"name\":\"n2\"},\"word\",3]", new JSONProjection("/1", "/2")).toString());
+
+      // overlapping paths through named keys and *
+      String nested = "{\"a\":{\"x\":1,\"y\":2},\"b\":{\"x\":3,\"y\":4}}";
+      Assert.assertEquals("{\"a\":{\"x\":1,\"y\":2},\"b\":{\"y\":4}}",
+         JSON.parse(nested, new JSONProjection("/a/x", "/*/y")).toString());
+      Assert.assertEquals(JSON.parse(nested), JSON.parse(nested, new JSONProjection("/*", "/a/x")));
+      Assert.assertEquals(JSON.parse(nested), JSON.parse(nested, new JSONProjection("/a/x", "/*")));
+      Assert.assertEquals("{\"arr\":[{\"q\":2},{\"p\":3,\"q\":4}]}",
+         JSON.parse("{\"arr\":[{\"p\":1,\"q\":2},{\"p\":3,\"q\":4}]}",
+            new JSONProjection("/arr/1/p", "/arr/*/q")).toString());
+      Assert.assertEquals("{\"a\":{\"x\":{\"m\":1,\"n\":2}}}",
+         JSON.parse("{\"a\":{\"x\":{\"m\":1,\"n\":2,\"o\":3}}}",
+            new JSONProjection("/a/*/m", "/*/x/n")).toString());
+
+      // extract one field of each entity of a workspace
+      Path path = Paths.get("src/test/resources/ExampleWCSWorkspace.json");
+      JSONArray entities = (JSONArray) JSONObject.parse(path).get("entities");
+      JSONArray expected = new JSONArray();
+      for (Object entity : entities) {
+         JSONObject projected = new JSONObject();
+         projected.put("entity", ((JSONObject) entity).get("entity"));
+         expected.add(projected);
+      }
+      JSONObject projected = (JSONObject) JSON.parse(path, new JSONProjection("/entities/*/entity"));
+      Assert.assertEquals(1, projected.size());
+      Assert.assertEquals(expected, projected.get("entities"));
+
+      // skipping values while reading events
+      try (JSONEventReader reader = JSON.createEventReader(new StringReader(text))) {
+         Assert.assertEquals(Event.START_OBJECT, reader.next());
+         int keys = 0;
+         while (reader.next() == Event.KEY_NAME) {
+            keys++;
+            Assert.assertTrue(reader.skipValue());
+         }
+         Assert.assertEquals(Event.END_OBJECT, reader.getEvent());
+         Assert.assertEquals(5, keys);
+         Assert.assertFalse(reader.hasNext());
+      }
+
+      // errors are still found in the values read
+      try {
+         JSON.parse("{\"a\":[1,2],\n\"b\":{\"c\" 2}}", new JSONProjection("/b"));
+         Assert.fail("Expected an error parsing b");
+      } catch (IOException e) {
+         Assert.assertEquals("Expected ':'; found: -2 on line 2, column 9", e.getLocalizedMessage());
+      }
+      try {
+         new JSONProjection("entities");
+         Assert.fail("Expected an invalid path");
+      } catch (IllegalArgumentException e) {
+         Assert.assertEquals("Path \"entities\" must begin with a slash", e.getLocalizedMessage());
+      }
+   }
+}